@@ -0,0 +1,113 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Decoding of retrieveTasks and retrieveSchedule responses through {@link LiveSchedService},
+ * including timestamp formatting. The upstream is replaced by canned payloads and caching is
+ * disabled, so every call decodes the full body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodeBenchmark {
+
+  private static final String CLIENT_ID = "bench";
+
+  @Param({"1000", "10000", "100000"})
+  public int rows;
+
+  private LiveSchedService service;
+  private UpstreamExecutor executor;
+
+  /**
+   * A RestTemplate that answers every GET with a prepared body.
+   */
+  private static final class CannedRestTemplate extends RestTemplate {
+    private final ResponseEntity<String> tasks;
+    private final ResponseEntity<String> schedule;
+
+    CannedRestTemplate(String tasks, String schedule) {
+      this.tasks = new ResponseEntity<>(tasks, HttpStatus.OK);
+      this.schedule = new ResponseEntity<>(schedule, HttpStatus.OK);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> getForEntity(String url, Class<T> responseType,
+                                              Object... uriVariables) {
+      return (ResponseEntity<T>) (url.contains("/retrieveSchedule") ? schedule : tasks);
+    }
+  }
+
+  @Setup(Level.Trial)
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    SyntheticData data = new SyntheticData(42);
+    RestTemplate restTemplate = new CannedRestTemplate(data.tasksJson(rows),
+        data.scheduleJson(rows));
+    RestTemplateBuilder builder = mock(RestTemplateBuilder.class);
+    when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
+    when(builder.build()).thenReturn(restTemplate);
+
+    executor = new UpstreamExecutor(new LiveSchedAsyncProperties(false, 1, 256));
+    service = new LiveSchedService(builder, new LiveSchedHttpProperties(
+            "http://localhost:8080", 100, 50, Duration.ofSeconds(2), Duration.ofSeconds(5),
+            Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(30),
+            Duration.ofSeconds(2)),
+        mock(CloseableHttpClient.class),
+        new TenantCache(new LiveSchedCacheProperties(Duration.ZERO, 1)), executor,
+        new UpstreamLimiter(new LiveSchedLimitProperties(
+            0, 100, 100, 32, Duration.ofSeconds(5), 100, Map.of())),
+        new UpstreamGuard(new LiveSchedResilienceProperties(
+            5, Duration.ofSeconds(10), 1, 0, Duration.ZERO, Duration.ZERO)),
+        new UpstreamMetrics(new SimpleMeterRegistry(), new LiveSchedMetricsProperties(16)),
+        // No validators are kept, so every read is decoded in full
+        new UpstreamValidators(new LiveSchedCacheProperties(Duration.ZERO, 0)));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.destroy();
+  }
+
+  @Benchmark
+  public LiveSchedResult<TaskSnapshot> retrieveTasks() {
+    return service.getTaskSnapshot(CLIENT_ID);
+  }
+
+  @Benchmark
+  public LiveSchedResult<List<Schedule>> retrieveSchedule() {
+    return service.getSchedule(CLIENT_ID);
+  }
+}
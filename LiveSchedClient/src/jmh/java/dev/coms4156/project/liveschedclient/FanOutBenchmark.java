@@ -0,0 +1,124 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Latency of the task detail page's two upstream reads issued one after the other versus
+ * concurrently through the asynchronous API, against an upstream that takes a fixed time to
+ * answer. Caching is disabled, so every read waits for the upstream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FanOutBenchmark {
+
+  @Param({"20", "100"})
+  public long upstreamLatencyMs;
+
+  private LiveSchedService service;
+  private UpstreamExecutor executor;
+  private final AtomicLong request = new AtomicLong();
+
+  /**
+   * A RestTemplate that answers every GET with a prepared body after a fixed delay.
+   */
+  private static final class SlowRestTemplate extends RestTemplate {
+    private final long latencyMs;
+
+    SlowRestTemplate(long latencyMs) {
+      this.latencyMs = latencyMs;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> getForEntity(String url, Class<T> responseType,
+                                              Object... uriVariables) {
+      try {
+        Thread.sleep(latencyMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      String body = url.contains("/retrieveResourceTypes")
+          ? "[{\"typeName\": \"Nurse\", \"totalUnits\": 4}]"
+          : "{\"taskId\": \"task1\", \"taskName\": \"Surgery\", \"priority\": 1}";
+      return (ResponseEntity<T>) new ResponseEntity<>(body, HttpStatus.OK);
+    }
+  }
+
+  @Setup(Level.Trial)
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    RestTemplateBuilder builder = mock(RestTemplateBuilder.class);
+    when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
+    when(builder.build()).thenReturn(new SlowRestTemplate(upstreamLatencyMs));
+
+    executor = new UpstreamExecutor(new LiveSchedAsyncProperties(false, 4, 256));
+    service = new LiveSchedService(builder, new LiveSchedHttpProperties(
+            "http://localhost:8080", 100, 50, Duration.ofSeconds(2), Duration.ofSeconds(5),
+            Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(30),
+            Duration.ofSeconds(2)),
+        mock(CloseableHttpClient.class),
+        new TenantCache(new LiveSchedCacheProperties(Duration.ZERO, 1)), executor,
+        new UpstreamLimiter(new LiveSchedLimitProperties(
+            0, 100, 100, 32, Duration.ofSeconds(5), 100, Map.of())),
+        new UpstreamGuard(new LiveSchedResilienceProperties(
+            5, Duration.ofSeconds(10), 1, 0, Duration.ZERO, Duration.ZERO)),
+        new UpstreamMetrics(new SimpleMeterRegistry(), new LiveSchedMetricsProperties(16)),
+        new UpstreamValidators(new LiveSchedCacheProperties(Duration.ZERO, 0)));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.destroy();
+  }
+
+  @Benchmark
+  public LiveSchedResult<List<ResourceType>> sequential() {
+    // A fresh client per call, so concurrent identical reads are never coalesced
+    String clientId = "bench" + request.incrementAndGet();
+    service.getTaskById("task1", clientId);
+    return service.getAllResourceTypes(clientId);
+  }
+
+  @Benchmark
+  public LiveSchedResult<List<ResourceType>> parallel() {
+    String clientId = "bench" + request.incrementAndGet();
+    CompletableFuture<LiveSchedResult<Task>> task = service.getTaskByIdAsync("task1", clientId);
+    CompletableFuture<LiveSchedResult<List<ResourceType>>> types =
+        service.getAllResourceTypesAsync(clientId);
+    task.join();
+    return types.join();
+  }
+}
@@ -0,0 +1,68 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Formatting of a single service timestamp for display, cycling through a pool of inputs.
+ * A small pool repeats the same timestamps the way a schedule does; the large one mostly
+ * misses the transcoder's table. {@code localDateTime} is the parse-and-format path the
+ * transcoder replaced, and {@code transcodeWithoutReuse} isolates the copy from the dedupe.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatTimeBenchmark {
+
+  private static final DateTimeFormatter FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+  @Param({"64", "65536"})
+  public int pool;
+
+  private String[] timestamps;
+  private TimestampTranscoder singleSlot;
+  private int next;
+
+  @Setup
+  public void setUp() {
+    timestamps = new SyntheticData(42).timestamps(pool);
+    singleSlot = new TimestampTranscoder(1);
+  }
+
+  @Benchmark
+  public String formatTime() {
+    return LiveSchedService.formatTime(nextTimestamp());
+  }
+
+  @Benchmark
+  public String transcodeWithoutReuse() {
+    return singleSlot.transcode(nextTimestamp());
+  }
+
+  @Benchmark
+  public String localDateTime() {
+    return LocalDateTime.parse(nextTimestamp()).format(FORMATTER);
+  }
+
+  private String nextTimestamp() {
+    String timestamp = timestamps[next];
+    next = (next + 1) & (pool - 1);
+    return timestamp;
+  }
+}
@@ -0,0 +1,93 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.web.IWebExchange;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+/**
+ * Thymeleaf rendering of the task and schedule dashboards with the same engine setup as the
+ * application: SpEL expressions and cached, classpath-loaded templates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RenderBenchmark {
+
+  /**
+   * Rows on the rendered page; the task dashboard shows at most one page of tasks.
+   */
+  @Param({"50", "500"})
+  public int rows;
+
+  private SpringTemplateEngine engine;
+  private WebContext taskContext;
+  private WebContext scheduleContext;
+
+  @Setup
+  public void setUp() {
+    ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+    resolver.setPrefix("templates/");
+    resolver.setSuffix(".html");
+    resolver.setTemplateMode(TemplateMode.HTML);
+    resolver.setCharacterEncoding("UTF-8");
+    resolver.setCacheable(true);
+    engine = new SpringTemplateEngine();
+    engine.setTemplateResolver(resolver);
+    engine.setEnableSpringELCompiler(true);
+
+    SyntheticData data = new SyntheticData(42);
+    TaskSnapshot snapshot = new TaskSnapshot(data.tasks(rows));
+    TaskPage page = snapshot.page(TaskSnapshot.Order.NONE, 0, rows, null);
+    taskContext = context(Map.of("tasks", page.tasks(), "taskPage", page, "sort", "",
+        "clientId", "bench"));
+    List<Schedule> schedules = data.schedules(rows);
+    scheduleContext = context(Map.of("schedules", schedules, "clientId", "bench"));
+  }
+
+  private static WebContext context(Map<String, Object> variables) {
+    MockServletContext servletContext = new MockServletContext();
+    IWebExchange exchange = JakartaServletWebApplication.buildApplication(servletContext)
+        .buildExchange(new MockHttpServletRequest(servletContext),
+            new MockHttpServletResponse());
+    return new WebContext(exchange, Locale.US, variables);
+  }
+
+  @Benchmark
+  public String taskDashboard() {
+    StringWriter out = new StringWriter(64 * 1024);
+    engine.process("taskDashboard", taskContext, out);
+    return out.toString();
+  }
+
+  @Benchmark
+  public String scheduleDashboard() {
+    StringWriter out = new StringWriter(64 * 1024);
+    engine.process("scheduleDashboard", scheduleContext, out);
+    return out.toString();
+  }
+}
@@ -0,0 +1,79 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Priority and total-units ordering for the task and resource dashboards. The comparator
+ * sorts are what the dashboards did per request before snapshots kept bucket indexes; the
+ * snapshot benchmarks cover building a snapshot and emitting its sorted view, and emitting
+ * the view again from an existing snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int rows;
+
+  private List<Task> tasks;
+  private List<ResourceType> resourceTypes;
+  private TaskSnapshot taskSnapshot;
+  private ResourceSnapshot resourceSnapshot;
+
+  @Setup
+  public void setUp() {
+    SyntheticData data = new SyntheticData(42);
+    tasks = data.tasks(rows);
+    resourceTypes = data.resourceTypes(rows);
+    taskSnapshot = new TaskSnapshot(tasks);
+    resourceSnapshot = new ResourceSnapshot(resourceTypes);
+  }
+
+  @Benchmark
+  public List<Task> tasksByPriorityComparator() {
+    return tasks.stream().sorted(Comparator.comparingInt(Task::priority).reversed()).toList();
+  }
+
+  @Benchmark
+  public List<Task> tasksByPriorityNewSnapshot() {
+    return new TaskSnapshot(tasks).sorted(TaskSnapshot.Order.PRIORITY_DESC);
+  }
+
+  @Benchmark
+  public List<Task> tasksByPriorityExistingSnapshot() {
+    return taskSnapshot.sorted(TaskSnapshot.Order.PRIORITY_DESC);
+  }
+
+  @Benchmark
+  public List<ResourceType> resourceTypesByUnitsComparator() {
+    return resourceTypes.stream().sorted(Comparator.comparingInt(ResourceType::totalUnits))
+        .toList();
+  }
+
+  @Benchmark
+  public List<ResourceType> resourceTypesByUnitsNewSnapshot() {
+    return new ResourceSnapshot(resourceTypes).sorted("asc");
+  }
+
+  @Benchmark
+  public List<ResourceType> resourceTypesByUnitsExistingSnapshot() {
+    return resourceSnapshot.sorted("asc");
+  }
+}
@@ -0,0 +1,20 @@
+package dev.coms4156.project.liveschedclient;
+
+/**
+ * A resource unit assigned to a scheduled task.
+ *
+ * @param resourceId    The ID of the assigned resource unit.
+ * @param availableFrom The time from which the resource unit is available.
+ */
+public record AssignedResource(String resourceId, String availableFrom) {
+
+  /**
+   * Returns a copy of this resource with the given availability time.
+   *
+   * @param availableFrom The new availability time.
+   * @return A new {@code AssignedResource} with the same ID.
+   */
+  public AssignedResource withAvailableFrom(String availableFrom) {
+    return new AssignedResource(resourceId, availableFrom);
+  }
+}
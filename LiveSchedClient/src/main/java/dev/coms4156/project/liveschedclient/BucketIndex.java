@@ -0,0 +1,135 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * BucketIndex keeps items grouped by an integer sort key so they can be emitted in ascending
+ * or descending key order without sorting. Items with equal keys keep their insertion order.
+ * Adding or removing an item touches a single bucket, and each order is emitted at most once
+ * between changes.
+ *
+ * <p>This class is not thread-safe; owners synchronize access.
+ *
+ * @param <T> The type of the indexed items.
+ */
+public class BucketIndex<T> {
+
+  private final ToIntFunction<T> sortKey;
+  private final Function<T, String> idOf;
+  private final NavigableMap<Integer, Map<String, T>> buckets = new TreeMap<>();
+  private final Map<String, Integer> keys = new HashMap<>();
+
+  private List<T> ascending;
+  private List<T> descending;
+
+  /**
+   * Constructor to build the index over an initial collection of items.
+   *
+   * @param items   The items to index, in the order ties should keep.
+   * @param sortKey Extracts the key items are ordered by.
+   * @param idOf    Extracts the unique ID of an item.
+   */
+  public BucketIndex(Collection<T> items, ToIntFunction<T> sortKey, Function<T, String> idOf) {
+    this.sortKey = sortKey;
+    this.idOf = idOf;
+    for (T item : items) {
+      put(item);
+    }
+  }
+
+  /**
+   * Adds an item, or replaces the item with the same ID. A new item is placed after every
+   * existing item with the same key.
+   *
+   * @param item The item to add.
+   */
+  public void put(T item) {
+    String id = idOf.apply(item);
+    int key = sortKey.applyAsInt(item);
+    Integer previousKey = keys.put(id, key);
+    if (previousKey != null && previousKey != key) {
+      removeFromBucket(previousKey, id);
+    }
+    buckets.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(id, item);
+    changed();
+  }
+
+  /**
+   * Removes the item with the given ID.
+   *
+   * @param id The ID of the item to remove.
+   * @return {@code true} if an item was removed.
+   */
+  public boolean remove(String id) {
+    Integer key = keys.remove(id);
+    if (key == null) {
+      return false;
+    }
+    removeFromBucket(key, id);
+    changed();
+    return true;
+  }
+
+  /**
+   * Returns the items ordered by ascending key.
+   *
+   * @return An unmodifiable list of the items.
+   */
+  public List<T> ascending() {
+    if (ascending == null) {
+      ascending = emit(buckets);
+    }
+    return ascending;
+  }
+
+  /**
+   * Returns the items ordered by descending key.
+   *
+   * @return An unmodifiable list of the items.
+   */
+  public List<T> descending() {
+    if (descending == null) {
+      descending = emit(buckets.descendingMap());
+    }
+    return descending;
+  }
+
+  /**
+   * Returns the number of indexed items.
+   *
+   * @return The item count.
+   */
+  public int size() {
+    return keys.size();
+  }
+
+  private void removeFromBucket(int key, String id) {
+    Map<String, T> bucket = buckets.get(key);
+    bucket.remove(id);
+    if (bucket.isEmpty()) {
+      buckets.remove(key);
+    }
+  }
+
+  private void changed() {
+    ascending = null;
+    descending = null;
+  }
+
+  private List<T> emit(NavigableMap<Integer, Map<String, T>> orderedBuckets) {
+    List<T> items = new ArrayList<>(keys.size());
+    for (Map<String, T> bucket : orderedBuckets.values()) {
+      items.addAll(bucket.values());
+    }
+    return List.copyOf(items);
+  }
+}
@@ -0,0 +1,147 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * CircuitBreaker tracks the health of one upstream endpoint. It opens after a run of
+ * consecutive failures and rejects calls until the open period has passed; it then lets a
+ * limited number of probe calls through, closing again if a probe succeeds and reopening if
+ * one fails. Each permit remembers the state it was granted in, so only the outcome of a call
+ * admitted as a probe decides a half-open circuit, and a call that finishes after the state
+ * it was admitted in has ended changes nothing.
+ */
+public class CircuitBreaker {
+
+  /**
+   * The states of a circuit. The ordinal is the value reported by the state gauge.
+   */
+  public enum State {
+    CLOSED, HALF_OPEN, OPEN
+  }
+
+  /**
+   * The permission to make one call.
+   *
+   * @param probe      Whether the call was admitted as a half-open probe.
+   * @param generation The number of state changes before the call was admitted.
+   */
+  public record Permit(boolean probe, long generation) {
+  }
+
+  private final int failureThreshold;
+  private final long openNanos;
+  private final int halfOpenProbes;
+  private final LongSupplier ticker;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private int probesInFlight;
+  private long openedAt;
+  private long generation;
+  private long rejected;
+  private final Map<State, Long> transitions = new EnumMap<>(State.class);
+
+  /**
+   * Constructor to initialize a closed circuit.
+   *
+   * @param properties The breaker settings.
+   * @param ticker     A source of monotonic time in nanoseconds.
+   */
+  public CircuitBreaker(LiveSchedResilienceProperties properties, LongSupplier ticker) {
+    this.failureThreshold = Math.max(1, properties.failureThreshold());
+    this.openNanos = properties.openDuration().toNanos();
+    this.halfOpenProbes = Math.max(1, properties.halfOpenProbes());
+    this.ticker = ticker;
+    for (State s : State.values()) {
+      transitions.put(s, 0L);
+    }
+  }
+
+  /**
+   * Asks for permission to make a call. Every permitted call must be followed by
+   * {@link #onSuccess(Permit)} or {@link #onFailure(Permit)} with the permit returned here.
+   *
+   * @return The permit if the call may proceed, or {@code null} if it must fail fast.
+   */
+  public synchronized Permit tryAcquire() {
+    if (state == State.OPEN && ticker.getAsLong() - openedAt >= openNanos) {
+      transitionTo(State.HALF_OPEN);
+    }
+    if (state == State.CLOSED) {
+      return new Permit(false, generation);
+    }
+    if (state == State.HALF_OPEN && probesInFlight < halfOpenProbes) {
+      probesInFlight++;
+      return new Permit(true, generation);
+    }
+    rejected++;
+    return null;
+  }
+
+  /**
+   * Records a successful call.
+   *
+   * @param permit The permit the call was made with.
+   */
+  public synchronized void onSuccess(Permit permit) {
+    if (permit.generation() != generation) {
+      return;
+    }
+    if (permit.probe()) {
+      transitionTo(State.CLOSED);
+    } else {
+      consecutiveFailures = 0;
+    }
+  }
+
+  /**
+   * Records a failed call.
+   *
+   * @param permit The permit the call was made with.
+   */
+  public synchronized void onFailure(Permit permit) {
+    if (permit.generation() != generation) {
+      return;
+    }
+    if (permit.probe() || ++consecutiveFailures >= failureThreshold) {
+      open();
+    }
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+
+  public synchronized long rejectedCount() {
+    return rejected;
+  }
+
+  /**
+   * Counts the transitions into a state.
+   *
+   * @param target The state entered.
+   * @return The number of times the circuit has entered the state.
+   */
+  public synchronized long transitionCount(State target) {
+    return transitions.get(target);
+  }
+
+  private void open() {
+    openedAt = ticker.getAsLong();
+    consecutiveFailures = 0;
+    transitionTo(State.OPEN);
+  }
+
+  private void transitionTo(State target) {
+    if (state != target) {
+      state = target;
+      generation++;
+      transitions.merge(target, 1L, Long::sum);
+    }
+    if (target != State.HALF_OPEN) {
+      probesInFlight = 0;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package dev.coms4156.project.liveschedclient;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown instead of calling an upstream endpoint whose circuit is open.
+ */
+public class CircuitOpenException extends RestClientException {
+
+  /**
+   * Constructor to create the exception for an endpoint.
+   *
+   * @param endpoint The path of the rejected endpoint.
+   */
+  public CircuitOpenException(String endpoint) {
+    super("LiveSched endpoint " + endpoint + " is unavailable; failing fast");
+  }
+}
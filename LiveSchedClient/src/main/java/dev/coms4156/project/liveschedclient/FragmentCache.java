@@ -0,0 +1,139 @@
+package dev.coms4156.project.liveschedclient;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+/**
+ * FragmentCache keeps the rendered markup of dashboard table rows, so a table whose rows have
+ * not changed is written from its cached markup and only the rest of the page is rendered.
+ * Entries are keyed by template, fragment, client ID, the {@link TenantCache} version of the
+ * data the rows are rendered from and a short description of which rows of that data are
+ * shown, so a lookup never compares the rows themselves. The least recently used markup is
+ * evicted once the total size exceeds {@code livesched.fragments.max-size}. Concurrent misses
+ * for the same key share one render.
+ */
+@Component
+public class FragmentCache implements MeterBinder {
+
+  private record Key(String template, String fragment, String clientId, long version,
+                     String view) {
+  }
+
+  private record Entry(String html, long bytes) {
+  }
+
+  private final ITemplateEngine templateEngine;
+  private final long maxBytes;
+  private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final SingleFlight<Key, String> singleFlight = new SingleFlight<>();
+  private long bytes;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * Constructor to create the cache.
+   *
+   * @param templateEngine The engine used to render the fragments.
+   * @param properties     The cache settings.
+   */
+  public FragmentCache(ITemplateEngine templateEngine, LiveSchedFragmentProperties properties) {
+    this.templateEngine = templateEngine;
+    this.maxBytes = properties.maxSize().toBytes();
+  }
+
+  /**
+   * Returns the rendered markup of a fragment, rendering and caching it on a miss.
+   *
+   * @param template  The name of the template holding the fragment.
+   * @param fragment  The name of the fragment.
+   * @param clientId  A {@code String} representing the ID of the client; also passed to the
+   *                  fragment as {@code clientId}.
+   * @param version   The version of the data the rows are rendered from, or 0 if it has none.
+   * @param view      Everything else the markup depends on, such as the sort order and page.
+   * @param variables The variables the fragment is rendered with.
+   * @return The rendered markup, or {@code null} if the cache is disabled or the data has no
+   *         version, and the page has to render the fragment itself.
+   */
+  public String render(String template, String fragment, String clientId, long version,
+                       String view, Map<String, ?> variables) {
+    if (maxBytes <= 0 || version == 0) {
+      return null;
+    }
+    Key key = new Key(template, fragment, clientId, version, view);
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        hits.incrementAndGet();
+        return entry.html();
+      }
+    }
+    misses.incrementAndGet();
+    return singleFlight.execute(key, () -> renderAndStore(key, variables));
+  }
+
+  private String renderAndStore(Key key, Map<String, ?> variables) {
+    Context context = new Context(Locale.getDefault());
+    variables.forEach(context::setVariable);
+    context.setVariable("clientId", key.clientId());
+    String html = templateEngine.process(key.template(), Set.of(key.fragment()), context);
+
+    long size = html.getBytes(StandardCharsets.UTF_8).length;
+    if (size <= maxBytes) {
+      synchronized (entries) {
+        Entry replaced = entries.put(key, new Entry(html, size));
+        bytes += size - (replaced == null ? 0 : replaced.bytes());
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (bytes > maxBytes) {
+          bytes -= eldest.next().bytes();
+          eldest.remove();
+          evictions.incrementAndGet();
+        }
+      }
+    }
+    return html;
+  }
+
+  /**
+   * Returns the total size of the cached markup.
+   *
+   * @return The size in bytes.
+   */
+  public long bytes() {
+    synchronized (entries) {
+      return bytes;
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("livesched.fragments.gets", hits, AtomicLong::get)
+        .tag("result", "hit")
+        .description("Number of dashboard tables written from cached markup")
+        .register(registry);
+    FunctionCounter.builder("livesched.fragments.gets", misses, AtomicLong::get)
+        .tag("result", "miss")
+        .description("Number of dashboard tables that had to be rendered")
+        .register(registry);
+    FunctionCounter.builder("livesched.fragments.evictions", evictions, AtomicLong::get)
+        .description("Number of rendered tables evicted to stay within the size bound")
+        .register(registry);
+    Gauge.builder("livesched.fragments.size", this, FragmentCache::bytes)
+        .description("Total size of the cached dashboard markup")
+        .baseUnit("bytes")
+        .register(registry);
+  }
+}
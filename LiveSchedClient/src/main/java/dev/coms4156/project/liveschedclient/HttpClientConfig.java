@@ -0,0 +1,155 @@
+package dev.coms4156.project.liveschedclient;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.entity.DeflateInputStreamFactory;
+import org.apache.hc.client5.http.entity.GZIPInputStreamFactory;
+import org.apache.hc.client5.http.entity.InputStreamFactory;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.brotli.dec.BrotliInputStream;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * HttpClientConfig builds the pooled, keep-alive HTTP client shared by all calls to the
+ * LiveSched service.
+ */
+@Configuration
+public class HttpClientConfig {
+
+  private static final boolean BROTLI_PRESENT =
+      ClassUtils.isPresent("org.brotli.dec.BrotliInputStream",
+          HttpClientConfig.class.getClassLoader());
+
+  /**
+   * Creates the connection pool used for LiveSched requests.
+   *
+   * @param properties The transport settings bound from {@code livesched.http.*}.
+   * @return A {@code PoolingHttpClientConnectionManager} sized and timed per the settings.
+   */
+  @Bean
+  public PoolingHttpClientConnectionManager liveSchedConnectionManager(
+      LiveSchedHttpProperties properties) {
+    ConnectionConfig connectionConfig = ConnectionConfig.custom()
+        .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+        .setSocketTimeout(Timeout.of(properties.responseTimeout()))
+        .setValidateAfterInactivity(TimeValue.of(properties.validateAfterInactivity()))
+        .build();
+
+    return PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(properties.maxTotal())
+        .setMaxConnPerRoute(properties.maxPerRoute())
+        .setDefaultConnectionConfig(connectionConfig)
+        .build();
+  }
+
+  /**
+   * Creates the HTTP client backed by the shared connection pool. Idle and expired connections
+   * are closed by a background evictor, and server keep-alive hints are capped at the
+   * configured maximum. Responses are requested compressed with the configured encodings and
+   * decoded transparently.
+   *
+   * @param connectionManager The pool created by {@link #liveSchedConnectionManager}.
+   * @param properties        The transport settings bound from {@code livesched.http.*}.
+   * @param compression       The encodings bound from {@code livesched.http.compression.*}.
+   * @return A {@code CloseableHttpClient} for the LiveSched service.
+   */
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient liveSchedHttpClient(
+      PoolingHttpClientConnectionManager connectionManager, LiveSchedHttpProperties properties,
+      LiveSchedCompressionProperties compression) {
+    RequestConfig requestConfig = RequestConfig.custom()
+        .setConnectionRequestTimeout(Timeout.of(properties.leaseTimeout()))
+        .setResponseTimeout(Timeout.of(properties.responseTimeout()))
+        .build();
+    TimeValue maxKeepAlive = TimeValue.of(properties.keepAlive());
+
+    HttpClientBuilder builder = HttpClients.custom();
+    LinkedHashMap<String, InputStreamFactory> decoders = contentDecoders(compression);
+    if (decoders.isEmpty()) {
+      builder.disableContentCompression();
+    } else {
+      // The decoder keys, in order, become the Accept-Encoding header
+      builder.setContentDecoderRegistry(decoders);
+    }
+
+    return builder
+        .setConnectionManager(connectionManager)
+        .setDefaultRequestConfig(requestConfig)
+        .setKeepAliveStrategy((response, context) -> {
+          TimeValue hinted = DefaultConnectionKeepAliveStrategy.INSTANCE
+              .getKeepAliveDuration(response, context);
+          return hinted.compareTo(maxKeepAlive) < 0 ? hinted : maxKeepAlive;
+        })
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.of(properties.idleEviction()))
+        .build();
+  }
+
+  /**
+   * Maps the configured encodings to their decoders, dropping Brotli when its decoder is not
+   * on the classpath.
+   *
+   * @param compression The encodings bound from {@code livesched.http.compression.*}.
+   * @return The decoders by {@code Content-Encoding} token, most preferred first.
+   */
+  static LinkedHashMap<String, InputStreamFactory> contentDecoders(
+      LiveSchedCompressionProperties compression) {
+    LinkedHashMap<String, InputStreamFactory> decoders = new LinkedHashMap<>();
+    for (String encoding : compression.encodings()) {
+      switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+        case "br" -> {
+          if (BROTLI_PRESENT) {
+            decoders.put("br", BrotliDecoder::open);
+          }
+        }
+        case "gzip" -> {
+          decoders.put("gzip", GZIPInputStreamFactory.getInstance());
+          decoders.put("x-gzip", GZIPInputStreamFactory.getInstance());
+        }
+        case "deflate" -> decoders.put("deflate", DeflateInputStreamFactory.getInstance());
+        default -> throw new IllegalArgumentException(
+            "Unsupported livesched.http.compression encoding: " + encoding);
+      }
+    }
+    return decoders;
+  }
+
+  /**
+   * Publishes the pool's leased, pending, available and max connection counts as
+   * {@code httpcomponents.httpclient.pool.*} metrics on the actuator.
+   *
+   * @param connectionManager The pool created by {@link #liveSchedConnectionManager}.
+   * @return A {@code MeterBinder} registering the pool gauges.
+   */
+  @Bean
+  public MeterBinder liveSchedConnectionPoolMetrics(
+      PoolingHttpClientConnectionManager connectionManager) {
+    return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "livesched");
+  }
+
+  /**
+   * Keeps the reference to the optional Brotli decoder out of the configuration class, so
+   * it is only resolved when the decoder is on the classpath.
+   */
+  private static final class BrotliDecoder {
+
+    static InputStream open(InputStream compressed) throws IOException {
+      return new BrotliInputStream(compressed);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package dev.coms4156.project.liveschedclient;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the executor that runs asynchronous LiveSched calls. Bound from the
+ * {@code livesched.async.*} entries in {@code application.properties}.
+ *
+ * @param virtualThreads Whether to run calls on virtual threads when the JVM supports them
+ *                       (Java 21 and later).
+ * @param poolSize       Number of platform threads used when virtual threads are disabled or
+ *                       unsupported.
+ * @param queueCapacity  Number of calls that may wait for a platform thread; further calls
+ *                       are rejected rather than queued.
+ */
+@ConfigurationProperties(prefix = "livesched.async")
+public record LiveSchedAsyncProperties(
+    @DefaultValue("false") boolean virtualThreads,
+    @DefaultValue("32") int poolSize,
+    @DefaultValue("256") int queueCapacity) {
+}
@@ -0,0 +1,19 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the per-client cache of LiveSched reads. Bound from the
+ * {@code livesched.cache.*} entries in {@code application.properties}.
+ *
+ * @param ttl        How long a cached read is served before it is fetched again.
+ * @param maxEntries Maximum number of cached reads across all clients; the least recently
+ *                   used entry is evicted first.
+ */
+@ConfigurationProperties(prefix = "livesched.cache")
+public record LiveSchedCacheProperties(
+    @DefaultValue("30s") Duration ttl,
+    @DefaultValue("1000") int maxEntries) {
+}
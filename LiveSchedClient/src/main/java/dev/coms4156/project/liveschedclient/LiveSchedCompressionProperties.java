@@ -0,0 +1,19 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Content encodings negotiated with the LiveSched service. Bound from the
+ * {@code livesched.http.compression.*} entries in {@code application.properties}.
+ *
+ * @param encodings The encodings offered in {@code Accept-Encoding}, most preferred first:
+ *                  any of {@code br}, {@code gzip} and {@code deflate}. {@code br} is skipped
+ *                  unless the Brotli decoder is on the classpath; an empty list turns
+ *                  compression off.
+ */
+@ConfigurationProperties(prefix = "livesched.http.compression")
+public record LiveSchedCompressionProperties(
+    @DefaultValue({"br", "gzip", "deflate"}) List<String> encodings) {
+}
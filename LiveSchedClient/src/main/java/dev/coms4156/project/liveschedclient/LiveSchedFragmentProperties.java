@@ -0,0 +1,16 @@
+package dev.coms4156.project.liveschedclient;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the cache of rendered dashboard table rows. Bound from the
+ * {@code livesched.fragments.*} entries in {@code application.properties}.
+ *
+ * @param maxSize The total size of the rendered markup kept; 0 disables the cache and the
+ *                dashboards render their rows on every request.
+ */
+@ConfigurationProperties(prefix = "livesched.fragments")
+public record LiveSchedFragmentProperties(@DefaultValue("16MB") DataSize maxSize) {
+}
@@ -0,0 +1,19 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the background health check of the LiveSched service. Bound from the
+ * {@code livesched.health.*} entries in {@code application.properties}.
+ *
+ * @param interval  Delay between the end of one check and the start of the next.
+ * @param smoothing Weight of the newest sample in the latency moving average, between 0
+ *                  and 1.
+ */
+@ConfigurationProperties(prefix = "livesched.health")
+public record LiveSchedHealthProperties(
+    @DefaultValue("10s") Duration interval,
+    @DefaultValue("0.2") double smoothing) {
+}
@@ -0,0 +1,34 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Location, connection pool and timeout settings for the HTTP transport used to reach the
+ * LiveSched service. Bound from the {@code livesched.http.*} entries in
+ * {@code application.properties}.
+ *
+ * @param baseUrl                  Scheme, host and port of the LiveSched service.
+ * @param maxTotal                 Maximum number of pooled connections across all routes.
+ * @param maxPerRoute              Maximum number of pooled connections to a single host.
+ * @param connectTimeout           Time allowed to establish a TCP connection.
+ * @param responseTimeout          Time allowed to wait for response data once connected.
+ * @param leaseTimeout             Time allowed to wait for a free connection from the pool.
+ * @param keepAlive                Upper bound on how long an idle connection is kept alive.
+ * @param idleEviction             Idle time after which the background evictor closes a
+ *                                 connection.
+ * @param validateAfterInactivity  Idle time after which a connection is checked before reuse.
+ */
+@ConfigurationProperties(prefix = "livesched.http")
+public record LiveSchedHttpProperties(
+    @DefaultValue("http://localhost:8080") String baseUrl,
+    @DefaultValue("100") int maxTotal,
+    @DefaultValue("50") int maxPerRoute,
+    @DefaultValue("2s") Duration connectTimeout,
+    @DefaultValue("5s") Duration responseTimeout,
+    @DefaultValue("1s") Duration leaseTimeout,
+    @DefaultValue("30s") Duration keepAlive,
+    @DefaultValue("30s") Duration idleEviction,
+    @DefaultValue("2s") Duration validateAfterInactivity) {
+}
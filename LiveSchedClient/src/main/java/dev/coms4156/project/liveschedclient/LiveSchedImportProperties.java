@@ -0,0 +1,16 @@
+package dev.coms4156.project.liveschedclient;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for bulk task imports. Bound from the {@code livesched.import.*} entries in
+ * {@code application.properties}.
+ *
+ * @param concurrency Maximum number of addTask calls an import keeps in flight; reading the
+ *                    upload pauses while the window is full.
+ */
+@ConfigurationProperties(prefix = "livesched.import")
+public record LiveSchedImportProperties(
+    @DefaultValue("16") int concurrency) {
+}
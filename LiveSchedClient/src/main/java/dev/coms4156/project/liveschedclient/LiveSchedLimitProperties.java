@@ -0,0 +1,29 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the per-tenant rate limits and fair queuing of LiveSched calls. Bound from the
+ * {@code livesched.limits.*} entries in {@code application.properties}.
+ *
+ * @param rate         Calls per second each client may make; 0 disables the rate limit.
+ * @param burst        Calls a client may make at once after being idle.
+ * @param maxInFlight  Calls in flight across all clients; the rest wait their turn.
+ * @param queueDepth   Calls a client may have waiting before further ones are rejected.
+ * @param queueTimeout How long a call may wait before it is rejected.
+ * @param maxTenants   Idle clients whose state is kept; the least recently seen is forgotten.
+ * @param weights      Turns per round for clients by ID; clients not listed get one.
+ */
+@ConfigurationProperties(prefix = "livesched.limits")
+public record LiveSchedLimitProperties(
+    @DefaultValue("50") double rate,
+    @DefaultValue("100") int burst,
+    @DefaultValue("50") int maxInFlight,
+    @DefaultValue("32") int queueDepth,
+    @DefaultValue("5s") Duration queueTimeout,
+    @DefaultValue("1000") int maxTenants,
+    @DefaultValue Map<String, Integer> weights) {
+}
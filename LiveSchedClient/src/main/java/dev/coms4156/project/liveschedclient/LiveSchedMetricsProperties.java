@@ -0,0 +1,16 @@
+package dev.coms4156.project.liveschedclient;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the metrics recorded around LiveSched calls. Bound from the
+ * {@code livesched.metrics.*} entries in {@code application.properties}.
+ *
+ * @param tenantBuckets Number of buckets client IDs are hashed into for the {@code tenant}
+ *                      tag, which bounds the tag's cardinality.
+ */
+@ConfigurationProperties(prefix = "livesched.metrics")
+public record LiveSchedMetricsProperties(
+    @DefaultValue("16") int tenantBuckets) {
+}
@@ -0,0 +1,26 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the circuit breakers and retries around LiveSched calls. Bound from the
+ * {@code livesched.resilience.*} entries in {@code application.properties}.
+ *
+ * @param failureThreshold Consecutive failures that open an endpoint's circuit.
+ * @param openDuration     How long an open circuit fails fast before letting a probe through.
+ * @param halfOpenProbes   Number of concurrent probe calls allowed while half-open.
+ * @param maxRetries       Retries of a failed GET; other methods are never retried.
+ * @param retryBaseDelay   Backoff before the first retry, doubled for each further retry.
+ * @param retryMaxDelay    Upper bound on the backoff before any retry.
+ */
+@ConfigurationProperties(prefix = "livesched.resilience")
+public record LiveSchedResilienceProperties(
+    @DefaultValue("5") int failureThreshold,
+    @DefaultValue("10s") Duration openDuration,
+    @DefaultValue("1") int halfOpenProbes,
+    @DefaultValue("2") int maxRetries,
+    @DefaultValue("100ms") Duration retryBaseDelay,
+    @DefaultValue("1s") Duration retryMaxDelay) {
+}
@@ -0,0 +1,56 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.function.Function;
+
+/**
+ * The outcome of a read from the LiveSched service: either the decoded value or an error
+ * message suitable for display.
+ *
+ * @param value The decoded value, or {@code null} if the read failed.
+ * @param error The error message, or {@code null} if the read succeeded.
+ * @param <T>   The type of the decoded value.
+ */
+public record LiveSchedResult<T>(T value, String error) {
+
+  /**
+   * Creates a successful result.
+   *
+   * @param value The decoded value.
+   * @param <T>   The type of the decoded value.
+   * @return A {@code LiveSchedResult} holding the value.
+   */
+  public static <T> LiveSchedResult<T> ok(T value) {
+    return new LiveSchedResult<>(value, null);
+  }
+
+  /**
+   * Creates a failed result.
+   *
+   * @param error The error message.
+   * @param <T>   The type the read would have returned.
+   * @return A {@code LiveSchedResult} holding the error message.
+   */
+  public static <T> LiveSchedResult<T> failure(String error) {
+    return new LiveSchedResult<>(null, error);
+  }
+
+  /**
+   * Indicates whether the read failed.
+   *
+   * @return {@code true} if this result holds an error message.
+   */
+  public boolean isError() {
+    return error != null;
+  }
+
+  /**
+   * Transforms the value of a successful result, passing an error through unchanged.
+   *
+   * @param mapper The function to apply to the value.
+   * @param <R>    The type of the transformed value.
+   * @return A result holding the transformed value, or this result's error message.
+   */
+  public <R> LiveSchedResult<R> map(Function<? super T, ? extends R> mapper) {
+    return isError() ? failure(error) : ok(mapper.apply(value));
+  }
+}
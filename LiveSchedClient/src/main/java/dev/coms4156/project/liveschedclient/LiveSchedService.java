@@ -3,16 +3,26 @@ package dev.coms4156.project.liveschedclient;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import com.fasterxml.jackson.databind.ObjectReader;
+import dev.coms4156.project.liveschedclient.TenantCache.Dataset;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
@@ -26,22 +36,66 @@ import org.springframework.web.client.RestTemplate;
 @Service
 public class LiveSchedService {
 
-  private final RestTemplate restTemplate;
-
-  // Change BASE_URL to "https://innov8-livesched.ue.r.appspot.com" after deployment;
-  private static final String BASE_URL = "http://localhost:8080";
+  private static final String BUSY = "Too many requests to the service are waiting; try again.";
 
-  private static final DateTimeFormatter FORMATTER =
-      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+  private final RestTemplate restTemplate;
+  private final TenantCache cache;
+  private final UpstreamExecutor executor;
+  private final UpstreamLimiter limiter;
+  private final UpstreamGuard guard;
+  private final UpstreamMetrics metrics;
+  private final UpstreamValidators validators;
+  // Concurrent lookups of the same task share one upstream read
+  private final SingleFlight<String, LiveSchedResult<Task>> taskReads = new SingleFlight<>();
+
+  // Set livesched.http.base-url to "https://innov8-livesched.ue.r.appspot.com" after deployment
+  private final String baseUrl;
+
+  private static final String SERVICE_UNAVAILABLE =
+      "The service is temporarily unavailable. Please try again shortly.";
+
+  // Shared by every response, so timestamps repeated across rows and reloads are reused
+  private static final TimestampTranscoder TIMESTAMPS = new TimestampTranscoder(4096);
+
+  // Readers are immutable and thread-safe, so they are built once and shared by all calls
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  private static final ObjectReader NODE_READER = MAPPER.readerFor(JsonNode.class);
+  private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+  private static final ObjectReader TASK_READER = MAPPER.readerFor(Task.class);
+  private static final ObjectReader TASK_LIST_READER = MAPPER.readerForListOf(Task.class);
+  private static final ObjectReader RESOURCE_TYPE_LIST_READER =
+      MAPPER.readerForListOf(ResourceType.class);
+  private static final ObjectReader SCHEDULE_LIST_READER =
+      MAPPER.readerForListOf(Schedule.class);
 
   /**
    * Constructor to initialize the RestTemplate for making HTTP requests.
    *
    * @param restTemplateBuilder A builder for creating RestTemplate instances.
+   * @param httpProperties The HTTP settings, including the base URL of the service.
+   * @param httpClient The pooled Apache HttpClient configured in {@link HttpClientConfig}.
+   * @param cache The per-client cache of task, resource type and schedule reads.
+   * @param executor The executor on which the asynchronous variants of the reads run.
+   * @param limiter The per-client rate limits and fair queue in front of every upstream call.
+   * @param guard The circuit breakers and retries wrapped around every upstream call.
+   * @param metrics The timers and counters recorded for every upstream call.
+   * @param validators The validators used to revalidate task, resource type and schedule reads.
    */
-  public LiveSchedService(RestTemplateBuilder restTemplateBuilder) {
+  public LiveSchedService(RestTemplateBuilder restTemplateBuilder,
+                          LiveSchedHttpProperties httpProperties,
+                          CloseableHttpClient httpClient, TenantCache cache,
+                          UpstreamExecutor executor, UpstreamLimiter limiter,
+                          UpstreamGuard guard, UpstreamMetrics metrics,
+                          UpstreamValidators validators) {
+    this.baseUrl = httpProperties.baseUrl();
+    this.cache = cache;
+    this.executor = executor;
+    this.limiter = limiter;
+    this.guard = guard;
+    this.metrics = metrics;
+    this.validators = validators;
     // Use Apache HttpClient for PATCH requests
-    CloseableHttpClient httpClient = HttpClients.createDefault();
     HttpComponentsClientHttpRequestFactory requestFactory =
         new HttpComponentsClientHttpRequestFactory(httpClient);
 
@@ -50,65 +104,254 @@ public class LiveSchedService {
         .build();
   }
 
+  /**
+   * Helper method to make a GET request through the endpoint's circuit breaker. Failed GETs
+   * are retried with backoff.
+   *
+   * @param call The metrics of the call the request belongs to.
+   * @param url  The full URL of the request.
+   * @return The response entity.
+   */
+  private ResponseEntity<String> get(UpstreamMetrics.Call call, String url) {
+    return limited(call, url, true, () -> restTemplate.getForEntity(url, String.class));
+  }
+
+  /**
+   * Helper method to make a conditional GET through the endpoint's circuit breaker. Failed
+   * GETs are retried with backoff.
+   *
+   * @param call The metrics of the call the request belongs to.
+   * @param url  The full URL of the request.
+   * @param etag The entity tag to send as {@code If-None-Match}.
+   * @return The response entity; 304 if the resource still matches {@code etag}.
+   */
+  private ResponseEntity<String> getIfNoneMatch(UpstreamMetrics.Call call, String url,
+                                                String etag) {
+    HttpHeaders headers = new HttpHeaders();
+    headers.setIfNoneMatch(etag);
+    HttpEntity<Void> request = new HttpEntity<>(headers);
+    return limited(call, url, true,
+        () -> restTemplate.exchange(url, HttpMethod.GET, request, String.class));
+  }
+
+  /**
+   * Helper method to read one of a client's datasets, reusing the value decoded last time if
+   * the dataset has not changed since. The service's {@code ETag} is revalidated with
+   * {@code If-None-Match}; without one, the body is compared by digest.
+   *
+   * @param call     The metrics of the call the request belongs to.
+   * @param endpoint The path of the endpoint, e.g. {@code /retrieveTasks}.
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param decoder  Parses and formats a changed response body.
+   * @param <T>      The type of the decoded value.
+   * @return A result holding the current value, or an error message.
+   * @throws JsonProcessingException If a changed body cannot be decoded.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> LiveSchedResult<T> readValidated(UpstreamMetrics.Call call, String endpoint,
+                                               String clientId, BodyDecoder<T> decoder)
+      throws JsonProcessingException {
+    String url = baseUrl + endpoint + "?clientId=" + clientId;
+    UpstreamValidators.Validator known = validators.lookup(clientId, endpoint);
+    ResponseEntity<String> response = known != null && known.fromUpstream()
+        ? getIfNoneMatch(call, url, known.etag())
+        : get(call, url);
+
+    if (known != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+      return LiveSchedResult.ok((T) known.value());
+    }
+    if (!response.getStatusCode().is2xxSuccessful()) {
+      return LiveSchedResult.failure("Unexpected response status: " + response.getStatusCode());
+    }
+
+    String upstreamTag = response.getHeaders().getETag();
+    String etag = upstreamTag != null
+        ? upstreamTag : UpstreamValidators.digest(response.getBody());
+    if (known != null && known.etag().equals(etag)) {
+      call.unchanged();
+      return LiveSchedResult.ok((T) known.value());
+    }
+    T value = decoder.decode(response.getBody());
+    validators.store(clientId, endpoint,
+        new UpstreamValidators.Validator(etag, upstreamTag != null, value));
+    return LiveSchedResult.ok(value);
+  }
+
+  /**
+   * Parses and formats the body of a dataset read.
+   *
+   * @param <T> The type of the decoded value.
+   */
+  @FunctionalInterface
+  private interface BodyDecoder<T> {
+    T decode(String body) throws JsonProcessingException;
+  }
+
+  /**
+   * Helper method to make a request through the endpoint's circuit breaker. Only GETs are
+   * retried.
+   *
+   * @param call   The metrics of the call the request belongs to.
+   * @param url    The full URL of the request.
+   * @param method The HTTP method of the request.
+   * @return The response entity.
+   */
+  private ResponseEntity<String> send(UpstreamMetrics.Call call, String url,
+                                      HttpMethod method) {
+    return limited(call, url, method == HttpMethod.GET,
+        () -> restTemplate.exchange(url, method, null, String.class));
+  }
+
+  /**
+   * Helper method to make a request once its client's turn comes, through the endpoint's
+   * circuit breaker, recording its outcome.
+   *
+   * @param call       The metrics of the call the request belongs to.
+   * @param url        The full URL of the request.
+   * @param idempotent Whether the request may be retried after a failure.
+   * @param request    Sends the request.
+   * @return The response entity.
+   * @throws TenantThrottledException If the client has too many calls waiting.
+   */
+  private ResponseEntity<String> limited(UpstreamMetrics.Call call, String url,
+                                         boolean idempotent,
+                                         Supplier<ResponseEntity<String>> request) {
+    try {
+      ResponseEntity<String> response = limiter.call(call.clientId(),
+          () -> guard.call(endpoint(url), idempotent, request));
+      call.received(response);
+      return response;
+    } catch (RuntimeException e) {
+      call.failed(e);
+      throw e;
+    }
+  }
+
+  private String endpoint(String url) {
+    int query = url.indexOf('?');
+    return url.substring(baseUrl.length(), query < 0 ? url.length() : query);
+  }
+
   /**
    * Helper method to format a timestamp.
    *
-   * @param timestamp A {@code LocalDateTime} object representing the time to format.
+   * @param timestamp A {@code String} holding an ISO-8601 local date-time.
    * @return A formatted timestamp string, or {@code null} if the input is null.
-   * @throws IllegalArgumentException if timestamp is an unsupported type
    */
-  private String formatTime(Object timestamp) {
-    if (timestamp == null) {
+  static String formatTime(String timestamp) {
+    return TIMESTAMPS.transcode(timestamp);
+  }
+
+  /**
+   * Helper method to format the start and end times of a task.
+   *
+   * @param task The {@code Task} as decoded from the service.
+   * @return A copy of the task with display-formatted times, or {@code null} if task is null.
+   */
+  private Task formatTimes(Task task) {
+    if (task == null) {
       return null;
     }
-    if (timestamp instanceof String) {
-      return LocalDateTime.parse((String) timestamp).format(FORMATTER);
-    } else if (timestamp instanceof LocalDateTime) {
-      return ((LocalDateTime) timestamp).format(FORMATTER);
+    return task.withTimes(formatTime(task.startTime()), formatTime(task.endTime()));
+  }
+
+  /**
+   * Helper method to format the task and resource availability times of schedule entries.
+   *
+   * @param schedules The list of {@code Schedule} entries as decoded from the service.
+   * @return A list of copies with display-formatted times.
+   */
+  private List<Schedule> formatTimes(List<Schedule> schedules) {
+    List<Schedule> formatted = new ArrayList<>(schedules.size());
+    for (Schedule schedule : schedules) {
+      List<AssignedResource> resources = new ArrayList<>(schedule.assignedResources().size());
+      for (AssignedResource resource : schedule.assignedResources()) {
+        resources.add(resource.withAvailableFrom(formatTime(resource.availableFrom())));
+      }
+      formatted.add(new Schedule(formatTimes(schedule.task()), List.copyOf(resources)));
+    }
+    return List.copyOf(formatted);
+  }
+
+  private static String taskKey(String taskId, String clientId) {
+    return clientId + "/" + taskId;
+  }
+
+  /**
+   * Helper method to decode the task returned by the addTask endpoint.
+   *
+   * @param body The response body, already parsed.
+   * @return The created {@code Task}, or {@code null} if the body does not describe a
+   *         complete task.
+   */
+  private static Task decodeCreatedTask(JsonNode body) {
+    try {
+      Task task = MAPPER.treeToValue(body, Task.class);
+      boolean complete = task != null && task.taskId() != null && task.taskName() != null
+          && task.startTime() != null && task.endTime() != null;
+      return complete ? task : null;
+    } catch (JsonProcessingException e) {
+      return null;
     }
-    throw new IllegalArgumentException("Unsupported timestamp type: " + timestamp.getClass());
   }
 
   /**
    * Pings the server's index endpoint to establish connection.
    */
   public void pingServer() {
-    restTemplate.getForEntity(BASE_URL + "/index", String.class);
+    try (UpstreamMetrics.Call call = metrics.start("/index", null)) {
+      get(call, baseUrl + "/index");
+    }
   }
 
   /**
    * Retrieves all tasks from the server's retrieveTasks endpoint.
    *
    * @param clientId A {@code String} representing the ID of the client.
-   * @return A list of map containing the response from the server.
+   * @return A result holding the list of tasks, or an error message.
    */
-  public List<Map<String, Object>> getAllTasks(String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.getForEntity(
-          BASE_URL + "/retrieveTasks?clientId=" + clientId, String.class);
+  public LiveSchedResult<List<Task>> getAllTasks(String clientId) {
+    return getTaskSnapshot(clientId).map(TaskSnapshot::tasks);
+  }
 
-      if (response.getStatusCode().is2xxSuccessful()) {
-        ObjectMapper mapper = new ObjectMapper();
-        List<Map<String, Object>> tasks = mapper.readValue(
-            response.getBody(), new TypeReference<List<Map<String, Object>>>() {});
+  /**
+   * Retrieves the cached snapshot of all tasks, fetching it from the server's retrieveTasks
+   * endpoint on a miss. Sorted views and pages of a snapshot are computed once and reused, and
+   * a reload that finds the same tasks keeps the cached snapshot and its version.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @return A result holding the task snapshot, or an error message.
+   */
+  public LiveSchedResult<TaskSnapshot> getTaskSnapshot(String clientId) {
+    return cache.getOrLoad(clientId, Dataset.TASKS, () -> fetchAllTasks(clientId).map(tasks -> {
+      TaskSnapshot previous = cache.peek(clientId, Dataset.TASKS);
+      return previous != null && previous.tasks().equals(tasks) ? previous
+          : new TaskSnapshot(tasks);
+    }));
+  }
 
-        // Format startTime and endTime for each task
-        for (Map<String, Object> task : tasks) {
-          task.put("startTime", formatTime(task.get("startTime")));
-          task.put("endTime", formatTime(task.get("endTime")));
-        }
+  private LiveSchedResult<List<Task>> fetchAllTasks(String clientId) {
+    try (UpstreamMetrics.Call call = metrics.start("/retrieveTasks", clientId)) {
+      return readValidated(call, "/retrieveTasks", clientId, body -> {
+        List<Task> tasks = call.parse(TASK_LIST_READER, body);
 
-        return tasks;
-      } else {
-        return List.of(Map.of(
-            "error", "Unexpected response status: " + response.getStatusCode()));
-      }
+        // Format startTime and endTime for each task
+        return call.process(() -> {
+          List<Task> formatted = new ArrayList<>(tasks.size());
+          for (Task task : tasks) {
+            formatted.add(formatTimes(task));
+          }
+          return List.copyOf(formatted);
+        });
+      });
     } catch (HttpClientErrorException.NotFound e) {
-      return List.of(); // Return empty list if no tasks found
+      return LiveSchedResult.ok(List.of()); // Return empty list if no tasks found
     } catch (JsonProcessingException e) {
-      return List.of(Map.of("error", "Failed to parse JSON response."));
+      return LiveSchedResult.failure("Failed to parse JSON response.");
+    } catch (CircuitOpenException e) {
+      return LiveSchedResult.failure(SERVICE_UNAVAILABLE);
     } catch (RestClientException e) {
-      return List.of(Map.of("error", "Error connecting to the service."));
+      return LiveSchedResult.failure("Error connecting to the service.");
     }
   }
 
@@ -117,33 +360,34 @@ public class LiveSchedService {
    *
    * @param taskId A {@code String} representing the ID of the task to retrieve.
    * @param clientId A {@code String} representing the ID of the client.
-   * @return A map containing the response from the server.
+   * @return A result holding the task, or an error message.
    */
-  public Map<String, Object> getTaskById(String taskId, String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.getForEntity(
-          BASE_URL + "/retrieveTask?taskId=" + taskId + "&clientId=" + clientId, String.class);
+  public LiveSchedResult<Task> getTaskById(String taskId, String clientId) {
+    return taskReads.execute(taskKey(taskId, clientId), () -> fetchTaskById(taskId, clientId));
+  }
+
+  private LiveSchedResult<Task> fetchTaskById(String taskId, String clientId) {
+    try (UpstreamMetrics.Call call = metrics.start("/retrieveTask", clientId)) {
+      ResponseEntity<String> response = get(call,
+          baseUrl + "/retrieveTask?taskId=" + taskId + "&clientId=" + clientId);
 
       if (response.getStatusCode().is2xxSuccessful()) {
-        ObjectMapper mapper = new ObjectMapper();
-        Map<String, Object> task = mapper.readValue(response.getBody(), new TypeReference<>() {});
-        task.put("startTime", formatTime(task.get("startTime")));
-        task.put("endTime", formatTime(task.get("endTime")));
-        return task;
+        Task task = call.parse(TASK_READER, response.getBody());
+        return LiveSchedResult.ok(call.process(() -> formatTimes(task)));
       } else {
-        return Map.of("error", "Unexpected response status: " + response.getStatusCode());
+        return LiveSchedResult.failure("Unexpected response status: " + response.getStatusCode());
       }
     } catch (HttpClientErrorException.NotFound e) {
-      return Map.of("error", "Task not found.");
+      return LiveSchedResult.failure("Task not found.");
     } catch (JsonProcessingException e) {
-      return Map.of("error", "Failed to parse JSON response.");
+      return LiveSchedResult.failure("Failed to parse JSON response.");
+    } catch (CircuitOpenException e) {
+      return LiveSchedResult.failure(SERVICE_UNAVAILABLE);
     } catch (RestClientException e) {
-      return Map.of("error", "Error connecting to the service.");
+      return LiveSchedResult.failure("Error connecting to the service.");
     }
   }
 
-
-
   /**
    * Adds a new task to the server's database through the addTask endpoint.
    *
@@ -154,28 +398,40 @@ public class LiveSchedService {
    * @param latitude  The latitude of the task's location.
    * @param longitude The longitude of the task's location.
    * @param clientId A {@code String} representing the ID of the client.
-   * @return A map containing the response from the server.
+   * @return A map containing the response from the server and, if the response held a
+   *         complete task, the display-formatted {@code Task} under "task".
    */
   public Map<String, Object> addTask(String taskName, int priority, String startTime,
                                      String endTime, double latitude, double longitude,
                                      String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.exchange(
-          BASE_URL + "/addTask?taskName=" + taskName
+    try (UpstreamMetrics.Call call = metrics.start("/addTask", clientId)) {
+      ResponseEntity<String> response = send(call,
+          baseUrl + "/addTask?taskName=" + taskName
               + "&priority=" + priority
               + "&startTime=" + startTime
               + "&endTime=" + endTime
               + "&latitude=" + latitude
               + "&longitude=" + longitude
               + "&clientId=" + clientId,
-          HttpMethod.PATCH, null, String.class);
+          HttpMethod.PATCH);
 
       if (response.getStatusCode().is2xxSuccessful()) {
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.readValue(response.getBody(), new TypeReference<>() {});
+        // Parsed once; the task and the returned fields are both read from the tree
+        JsonNode created = call.parse(NODE_READER, response.getBody());
+        Task task = call.process(() -> formatTimes(decodeCreatedTask(created)));
+        Map<String, Object> result = new HashMap<>(MAPPER.convertValue(created, MAP_TYPE));
+        if (task != null) {
+          cache.<TaskSnapshot>update(clientId, Dataset.TASKS, snapshot -> snapshot.add(task));
+          result.put("task", task);
+        } else {
+          cache.invalidate(clientId, Dataset.TASKS);
+        }
+        return result;
       } else {
         return Map.of("error", "Unexpected response status: " + response.getStatusCode());
       }
+    } catch (TenantThrottledException e) {
+      throw e;
     } catch (Exception e) {
       return Map.of("error", "Failed to add task: " + e.getMessage());
     }
@@ -189,16 +445,21 @@ public class LiveSchedService {
    * @return A map containing the response from the server.
    */
   public Map<String, Object> deleteTask(String taskId, String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.exchange(
-          BASE_URL + "/deleteTask?taskId=" + taskId + "&clientId=" + clientId,
-          HttpMethod.DELETE, null, String.class);
+    try (UpstreamMetrics.Call call = metrics.start("/deleteTask", clientId)) {
+      ResponseEntity<String> response = send(call,
+          baseUrl + "/deleteTask?taskId=" + taskId + "&clientId=" + clientId,
+          HttpMethod.DELETE);
 
       if (response.getStatusCode().is2xxSuccessful()) {
+        cache.<TaskSnapshot>update(clientId, Dataset.TASKS, snapshot -> snapshot.remove(taskId));
+        cache.invalidate(clientId, Dataset.SCHEDULE);
+        taskReads.forget(taskKey(taskId, clientId));
         return Map.of("message", response.getBody());
       } else {
         return Map.of("error", "Unexpected response status: " + response.getStatusCode());
       }
+    } catch (TenantThrottledException e) {
+      throw e;
     } catch (Exception e) {
       return Map.of("error", "Failed to delete task: " + e.getMessage());
     }
@@ -208,26 +469,43 @@ public class LiveSchedService {
    * Retrieves all resource types from the server's database.
    *
    * @param clientId A {@code String} representing the ID of the client.
-   * @return A list of maps containing the resource types.
+   * @return A result holding the list of resource types, or an error message.
    */
-  public List<Map<String, Object>> getAllResourceTypes(String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.getForEntity(
-          BASE_URL + "/retrieveResourceTypes?clientId=" + clientId, String.class);
+  public LiveSchedResult<List<ResourceType>> getAllResourceTypes(String clientId) {
+    return getResourceSnapshot(clientId).map(ResourceSnapshot::resourceTypes);
+  }
 
-      if (response.getStatusCode().is2xxSuccessful()) {
-        ObjectMapper mapper = new ObjectMapper();
-        return mapper.readValue(response.getBody(), 
-          new TypeReference<List<Map<String, Object>>>() {});
-      } else {
-        return List.of(Map.of("error", "Unexpected response status: " + response.getStatusCode()));
-      }
+  /**
+   * Retrieves the cached snapshot of all resource types, fetching it from the server's
+   * retrieveResourceTypes endpoint on a miss. A reload that finds the same resource types keeps
+   * the cached snapshot and its version.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @return A result holding the resource type snapshot, or an error message.
+   */
+  public LiveSchedResult<ResourceSnapshot> getResourceSnapshot(String clientId) {
+    return cache.getOrLoad(clientId, Dataset.RESOURCE_TYPES,
+        () -> fetchAllResourceTypes(clientId).map(resourceTypes -> {
+          ResourceSnapshot previous = cache.peek(clientId, Dataset.RESOURCE_TYPES);
+          return previous != null && previous.resourceTypes().equals(resourceTypes) ? previous
+              : new ResourceSnapshot(resourceTypes);
+        }));
+  }
+
+  private LiveSchedResult<List<ResourceType>> fetchAllResourceTypes(String clientId) {
+    try (UpstreamMetrics.Call call = metrics.start("/retrieveResourceTypes", clientId)) {
+      return readValidated(call, "/retrieveResourceTypes", clientId, body -> {
+        List<ResourceType> resourceTypes = call.parse(RESOURCE_TYPE_LIST_READER, body);
+        return call.process(() -> List.copyOf(resourceTypes));
+      });
     } catch (HttpClientErrorException.NotFound e) {
-      return List.of(); // Return empty list if no resources found
+      return LiveSchedResult.ok(List.of()); // Return empty list if no resources found
     } catch (JsonProcessingException e) {
-      return List.of(Map.of("error", "Failed to parse JSON response."));
+      return LiveSchedResult.failure("Failed to parse JSON response.");
+    } catch (CircuitOpenException e) {
+      return LiveSchedResult.failure(SERVICE_UNAVAILABLE);
     } catch (RestClientException e) {
-      return List.of(Map.of("error", "Error connecting to the service."));
+      return LiveSchedResult.failure("Error connecting to the service.");
     }
   }
 
@@ -243,20 +521,23 @@ public class LiveSchedService {
   */
   public Map<String, Object> addResourceType(String typeName, int totalUnits, 
                                         double latitude, double longitude, String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.exchange(
-          BASE_URL + "/addResourceType?typeName=" + typeName
+    try (UpstreamMetrics.Call call = metrics.start("/addResourceType", clientId)) {
+      ResponseEntity<String> response = send(call,
+          baseUrl + "/addResourceType?typeName=" + typeName
               + "&totalUnits=" + totalUnits
               + "&latitude=" + latitude
               + "&longitude=" + longitude
               + "&clientId=" + clientId,
-          HttpMethod.PATCH, null, String.class);
+          HttpMethod.PATCH);
 
       if (response.getStatusCode().is2xxSuccessful()) {
+        cache.invalidate(clientId, Dataset.RESOURCE_TYPES);
         return Map.of("message", "Resource type added successfully");
       } else {
         return Map.of("error", "Unexpected response status: " + response.getStatusCode());
       }
+    } catch (TenantThrottledException e) {
+      throw e;
     } catch (Exception e) {
       return Map.of("error", "Failed to add resource type: " + e.getMessage());
     }
@@ -274,24 +555,69 @@ public class LiveSchedService {
   
   public Map<String, Object> modifyResource(String taskId, String typeName, int quantity,
                                             String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.exchange(
-          BASE_URL + "/modifyResourceType?taskId=" + taskId
+    try (UpstreamMetrics.Call call = metrics.start("/modifyResourceType", clientId)) {
+      ResponseEntity<String> response = send(call,
+          baseUrl + "/modifyResourceType?taskId=" + taskId
               + "&typeName=" + typeName
               + "&quantity=" + quantity
               + "&clientId=" + clientId,
-          HttpMethod.PATCH, null, String.class);
+          HttpMethod.PATCH);
 
       if (response.getStatusCode().is2xxSuccessful()) {
+        cache.invalidate(clientId, Dataset.TASKS);
+        taskReads.forget(taskKey(taskId, clientId));
         return Map.of("message", response.getBody());
       } else {
         return Map.of("error", "Unexpected response status: " + response.getStatusCode());
       }
+    } catch (TenantThrottledException e) {
+      throw e;
     } catch (Exception e) {
       return Map.of("error", "Failed to modify resource: " + e.getMessage());
     }
   }
   
+  /**
+   * Modifies the quantities of several resource types for a task at once. The changes are
+   * sent to the modifyResourceType endpoint concurrently, and the task is fetched again once
+   * all of them have completed.
+   *
+   * @param taskId   The ID of the task to modify the resources for.
+   * @param changes  The new quantity for each resource type name, in submission order.
+   * @param clientId A {@code String} representing the ID of the client.
+   * @return A map containing either:
+   *         - A "message" if every change was applied
+   *         - An "error" listing each change that failed
+   *         and, if it could be fetched, the updated {@code Task} under "task".
+   */
+  public Map<String, Object> modifyResources(String taskId, Map<String, Integer> changes,
+                                             String clientId) {
+    Map<String, CompletableFuture<Map<String, Object>>> pending = new LinkedHashMap<>();
+    changes.forEach((typeName, quantity) -> pending.put(typeName,
+        executor.supply(() -> modifyResource(taskId, typeName, quantity, clientId))
+            .exceptionally(whenRejected(Map.of("error", BUSY)))));
+
+    List<String> errors = new ArrayList<>();
+    pending.forEach((typeName, future) -> {
+      Map<String, Object> response = future.join();
+      if (response.containsKey("error")) {
+        errors.add(typeName + ": " + response.get("error"));
+      }
+    });
+
+    Map<String, Object> result = new HashMap<>();
+    if (errors.isEmpty()) {
+      result.put("message", "Updated " + changes.size() + " resource requirement(s).");
+    } else {
+      result.put("error", String.join("; ", errors));
+    }
+    LiveSchedResult<Task> task = getTaskById(taskId, clientId);
+    if (!task.isError()) {
+      result.put("task", task.value());
+    }
+    return result;
+  }
+
   /**
    * Deletes a resource type from the server's database through the deleteResourceType endpoint.
    * The resource type cannot be deleted if it is currently being used by any tasks.
@@ -306,13 +632,15 @@ public class LiveSchedService {
    *           - An unexpected error occurred during deletion
    */
   public Map<String, Object> deleteResourceType(String typeName, String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.exchange(
-          BASE_URL + "/deleteResourceType?typeName=" + typeName
+    try (UpstreamMetrics.Call call = metrics.start("/deleteResourceType", clientId)) {
+      ResponseEntity<String> response = send(call,
+          baseUrl + "/deleteResourceType?typeName=" + typeName
               + "&clientId=" + clientId,
-          HttpMethod.DELETE, null, String.class);
+          HttpMethod.DELETE);
 
       if (response.getStatusCode().is2xxSuccessful()) {
+        cache.<ResourceSnapshot>update(clientId, Dataset.RESOURCE_TYPES,
+            snapshot -> snapshot.remove(typeName));
         return Map.of("message", "Resource type deleted successfully");
       } else {
         return Map.of("error", "Unexpected response status: " + response.getStatusCode());
@@ -321,6 +649,8 @@ public class LiveSchedService {
       return Map.of("error", "Cannot delete a resource type that is currently in use");
     } catch (HttpClientErrorException.NotFound e) {
       return Map.of("error", "Resource type not found");
+    } catch (TenantThrottledException e) {
+      throw e;
     } catch (Exception e) {
       return Map.of("error", "Failed to delete resource type: " + e.getMessage());
     }
@@ -330,45 +660,51 @@ public class LiveSchedService {
    * Retrieves the schedule from the server's retrieveSchedule endpoint.
    *
    * @param clientId A {@code String} representing the ID of the client.
-   * @return A list of map containing the response from the server.
+   * @return A result holding the list of schedule entries, or an error message.
    */
-  public List<Map<String, Object>> getSchedule(String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.getForEntity(
-          BASE_URL + "/retrieveSchedule?clientId=" + clientId, String.class);
+  public LiveSchedResult<List<Schedule>> getSchedule(String clientId) {
+    return cache.getOrLoad(clientId, Dataset.SCHEDULE, () -> fetchSchedule(clientId));
+  }
 
-      if (response.getStatusCode().is2xxSuccessful()) {
-        ObjectMapper mapper = new ObjectMapper();
-        List<Map<String, Object>> schedules = mapper.readValue(
-            response.getBody(), new TypeReference<List<Map<String, Object>>>() {});
-
-        for (Map<String, Object> schedule : schedules) {
-          Map<String, Object> task = (Map<String, Object>) schedule.get("task");
-          if (task != null) {
-            task.put("startTime", formatTime(task.get("startTime")));
-            task.put("endTime", formatTime(task.get("endTime")));
-          }
+  /**
+   * Retrieves the schedule from the server's retrieveSchedule endpoint, bypassing the cached
+   * copy. Reads that arrive while the refresh is in flight share it.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @return A result holding the list of schedule entries, or an error message.
+   */
+  public LiveSchedResult<List<Schedule>> refreshSchedule(String clientId) {
+    cache.invalidate(clientId, Dataset.SCHEDULE);
+    return getSchedule(clientId);
+  }
 
-          List<Map<String, Object>> assignedResources =
-              (List<Map<String, Object>>) schedule.get("assignedResources");
-          if (assignedResources != null) {
-            for (Map<String, Object> resource : assignedResources) {
-              resource.put("availableFrom", formatTime(resource.get("availableFrom")));
-            }
-          }
-        }
+  /**
+   * Returns the version of a client's cached dataset, which changes whenever the cached value
+   * does. Read it before the dataset itself: a value that moves in between is then only ever
+   * paired with an older version, never a newer one.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param dataset  The dataset being read.
+   * @return The version, or 0 if the dataset is not cached.
+   */
+  public long dataVersion(String clientId, Dataset dataset) {
+    return cache.version(clientId, dataset);
+  }
 
-        return schedules;
-      } else {
-        return List.of(Map.of(
-            "error", "Unexpected response status: " + response.getStatusCode()));
-      }
+  private LiveSchedResult<List<Schedule>> fetchSchedule(String clientId) {
+    try (UpstreamMetrics.Call call = metrics.start("/retrieveSchedule", clientId)) {
+      return readValidated(call, "/retrieveSchedule", clientId, body -> {
+        List<Schedule> schedules = call.parse(SCHEDULE_LIST_READER, body);
+        return call.process(() -> formatTimes(schedules));
+      });
     } catch (HttpClientErrorException.NotFound e) {
-      return List.of(); // Return empty list if no schedules found
+      return LiveSchedResult.ok(List.of()); // Return empty list if no schedules found
     } catch (JsonProcessingException e) {
-      return List.of(Map.of("error", "Failed to parse JSON response."));
+      return LiveSchedResult.failure("Failed to parse JSON response.");
+    } catch (CircuitOpenException e) {
+      return LiveSchedResult.failure(SERVICE_UNAVAILABLE);
     } catch (RestClientException e) {
-      return List.of(Map.of("error", "Error connecting to the service."));
+      return LiveSchedResult.failure("Error connecting to the service.");
     }
   }
 
@@ -377,46 +713,32 @@ public class LiveSchedService {
    *
    * @param maxDistance The maximum distance (in kilometers) between tasks and resources.
    * @param clientId A {@code String} representing the ID of the client.
-   * @return A list of map containing the response from the server.
+   * @return A result holding the updated list of schedule entries, or an error message.
    */
-  public List<Map<String, Object>> updateSchedule(double maxDistance, String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.exchange(
-          BASE_URL + "/updateSchedule?maxDistance=" + maxDistance + "&clientId=" + clientId,
-          HttpMethod.PATCH, null, String.class);
+  public LiveSchedResult<List<Schedule>> updateSchedule(double maxDistance, String clientId) {
+    try (UpstreamMetrics.Call call = metrics.start("/updateSchedule", clientId)) {
+      ResponseEntity<String> response = send(call,
+          baseUrl + "/updateSchedule?maxDistance=" + maxDistance + "&clientId=" + clientId,
+          HttpMethod.PATCH);
 
       if (response.getStatusCode().is2xxSuccessful()) {
-        ObjectMapper mapper = new ObjectMapper();
-        List<Map<String, Object>> schedules = mapper.readValue(
-            response.getBody(), new TypeReference<List<Map<String, Object>>>() {});
-
-        for (Map<String, Object> schedule : schedules) {
-          Map<String, Object> task = (Map<String, Object>) schedule.get("task");
-          if (task != null) {
-            task.put("startTime", formatTime(task.get("startTime")));
-            task.put("endTime", formatTime(task.get("endTime")));
-          }
-
-          List<Map<String, Object>> assignedResources =
-              (List<Map<String, Object>>) schedule.get("assignedResources");
-          if (assignedResources != null) {
-            for (Map<String, Object> resource : assignedResources) {
-              resource.put("availableFrom", formatTime(resource.get("availableFrom")));
-            }
-          }
-        }
-
-        return schedules;
+        List<Schedule> decoded = call.parse(SCHEDULE_LIST_READER, response.getBody());
+        List<Schedule> schedules = call.process(() -> formatTimes(decoded));
+        cache.put(clientId, Dataset.SCHEDULE, schedules);
+        return LiveSchedResult.ok(schedules);
       } else {
-        return List.of(Map.of(
-            "error", "Unexpected response status: " + response.getStatusCode()));
+        return LiveSchedResult.failure("Unexpected response status: " + response.getStatusCode());
       }
     } catch (HttpClientErrorException.NotFound e) {
-      return List.of(); // Return empty list if no schedules found
+      cache.invalidate(clientId, Dataset.SCHEDULE);
+      return LiveSchedResult.ok(List.of()); // Return empty list if no schedules found
     } catch (JsonProcessingException e) {
-      return List.of(Map.of("error", "Failed to parse JSON response."));
+      cache.invalidate(clientId, Dataset.SCHEDULE);
+      return LiveSchedResult.failure("Failed to parse JSON response.");
+    } catch (CircuitOpenException e) {
+      return LiveSchedResult.failure(SERVICE_UNAVAILABLE);
     } catch (RestClientException e) {
-      return List.of(Map.of("error", "Error connecting to the service."));
+      return LiveSchedResult.failure("Error connecting to the service.");
     }
   }
 
@@ -428,12 +750,13 @@ public class LiveSchedService {
    * @return A map containing the response from the server.
    */
   public Map<String, Object> unscheduleTask(String taskId, String clientId) {
-    try {
-      ResponseEntity<String> response = restTemplate.exchange(
-          BASE_URL + "/unscheduleTask?taskId=" + taskId + "&clientId=" + clientId,
-          HttpMethod.PATCH, null, String.class);
+    try (UpstreamMetrics.Call call = metrics.start("/unscheduleTask", clientId)) {
+      ResponseEntity<String> response = send(call,
+          baseUrl + "/unscheduleTask?taskId=" + taskId + "&clientId=" + clientId,
+          HttpMethod.PATCH);
 
       if (response.getStatusCode().is2xxSuccessful()) {
+        cache.invalidate(clientId, Dataset.SCHEDULE);
         return Map.of("message", "Task unscheduled successfully");
       } else {
         return Map.of("error", "Unexpected response status: " + response.getStatusCode());
@@ -447,4 +770,67 @@ public class LiveSchedService {
     }
   }
 
+  /**
+   * Asynchronously retrieves all tasks. See {@link #getAllTasks(String)}.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @return A future completed with the list of tasks, or an error message.
+   */
+  public CompletableFuture<LiveSchedResult<List<Task>>> getAllTasksAsync(String clientId) {
+    return async(() -> getAllTasks(clientId));
+  }
+
+  /**
+   * Asynchronously retrieves a specific task by its ID. See {@link #getTaskById(String, String)}.
+   *
+   * @param taskId A {@code String} representing the ID of the task to retrieve.
+   * @param clientId A {@code String} representing the ID of the client.
+   * @return A future completed with the task, or an error message.
+   */
+  public CompletableFuture<LiveSchedResult<Task>> getTaskByIdAsync(String taskId,
+                                                                    String clientId) {
+    return async(() -> getTaskById(taskId, clientId));
+  }
+
+  /**
+   * Asynchronously retrieves all resource types. See {@link #getAllResourceTypes(String)}.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @return A future completed with the list of resource types, or an error message.
+   */
+  public CompletableFuture<LiveSchedResult<List<ResourceType>>> getAllResourceTypesAsync(
+      String clientId) {
+    return async(() -> getAllResourceTypes(clientId));
+  }
+
+  /**
+   * Asynchronously retrieves the schedule. See {@link #getSchedule(String)}.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @return A future completed with the list of schedule entries, or an error message.
+   */
+  public CompletableFuture<LiveSchedResult<List<Schedule>>> getScheduleAsync(String clientId) {
+    return async(() -> getSchedule(clientId));
+  }
+
+  /**
+   * Runs a read on the executor. A read the executor has no room for fails with an error
+   * message, as an unreachable service does, rather than waiting in an unbounded queue.
+   */
+  private <T> CompletableFuture<LiveSchedResult<T>> async(Supplier<LiveSchedResult<T>> read) {
+    return executor.supply(read).exceptionally(whenRejected(LiveSchedResult.failure(BUSY)));
+  }
+
+  /**
+   * Maps a call the executor rejected to a fallback result; other failures are rethrown.
+   */
+  private static <T> Function<Throwable, T> whenRejected(T fallback) {
+    return e -> {
+      if (e instanceof RejectedExecutionException) {
+        return fallback;
+      }
+      throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+    };
+  }
+
 }
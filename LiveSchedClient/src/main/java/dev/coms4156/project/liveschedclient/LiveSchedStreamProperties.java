@@ -0,0 +1,19 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the live schedule stream pushed to open schedule dashboards. Bound from the
+ * {@code livesched.stream.*} entries in {@code application.properties}.
+ *
+ * @param pollInterval Delay between upstream schedule polls for each client with an open
+ *                     dashboard; also the keep-alive interval of idle streams.
+ * @param timeout      How long a stream stays open before the browser has to reconnect.
+ */
+@ConfigurationProperties(prefix = "livesched.stream")
+public record LiveSchedStreamProperties(
+    @DefaultValue("15s") Duration pollInterval,
+    @DefaultValue("30m") Duration timeout) {
+}
@@ -0,0 +1,11 @@
+package dev.coms4156.project.liveschedclient;
+
+/**
+ * Geographic location of a task or resource type as returned by the LiveSched service.
+ *
+ * @param latitude    The latitude in decimal degrees.
+ * @param longitude   The longitude in decimal degrees.
+ * @param coordinates The display form of the coordinates.
+ */
+public record Location(double latitude, double longitude, String coordinates) {
+}
@@ -1,16 +1,37 @@
 package dev.coms4156.project.liveschedclient;
 
+import dev.coms4156.project.liveschedclient.TenantCache.Dataset;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
-import java.util.Comparator;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 /**
@@ -19,16 +40,44 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @Controller
 public class MainController {
 
+  private static final int DEFAULT_PAGE_SIZE = 50;
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+  // Part of every dashboard ETag, so pages cached by browsers are not reused across restarts,
+  // which may have changed the templates
+  private static final String PAGE_EPOCH = Long.toHexString(System.currentTimeMillis());
+
   private final LiveSchedService liveSchedService;
+  private final TaskImporter taskImporter;
+  private final UpstreamHealthMonitor healthMonitor;
+  private final ScheduleTracker scheduleTracker;
+  private final ScheduleStream scheduleStream;
+  private final FragmentCache fragmentCache;
+  private final ScheduleSimulator scheduleSimulator;
 
   /**
    * Constructor to initialize the controller with LiveSchedService.
    *
    * @param liveSchedService The service class used for API interactions with the LiveSched server.
+   * @param taskImporter The importer used for bulk task uploads.
+   * @param healthMonitor The background health check of the LiveSched server.
+   * @param scheduleTracker The per-client record of the schedule last shown.
+   * @param scheduleStream The live schedule stream of open schedule dashboards.
+   * @param fragmentCache The cache of rendered dashboard table rows.
+   * @param scheduleSimulator The local simulator used to preview schedule updates.
    */
   @Autowired
-  public MainController(LiveSchedService liveSchedService) {
+  public MainController(LiveSchedService liveSchedService, TaskImporter taskImporter,
+                        UpstreamHealthMonitor healthMonitor, ScheduleTracker scheduleTracker,
+                        ScheduleStream scheduleStream, FragmentCache fragmentCache,
+                        ScheduleSimulator scheduleSimulator) {
     this.liveSchedService = liveSchedService;
+    this.taskImporter = taskImporter;
+    this.healthMonitor = healthMonitor;
+    this.scheduleTracker = scheduleTracker;
+    this.scheduleStream = scheduleStream;
+    this.fragmentCache = fragmentCache;
+    this.scheduleSimulator = scheduleSimulator;
   }
   
   @Autowired
@@ -36,16 +85,18 @@ public class MainController {
 
   /**
    * Displays the login page if not logged in, otherwise redirects to dashboards.
+   * The login page warns when the background health check cannot reach the server.
    *
+   * @param model The Model object used to pass data to the view
    * @return A String containing the name of the HTML file to render the login page
    *         or a redirect to the dashboards page.
    */
   @GetMapping({"/", "/index", "/home"})
-  public String index() {
-    liveSchedService.pingServer();
+  public String index(Model model) {
     if (session.getAttribute("clientId") != null) {
       return "redirect:/dashboards";
     }
+    model.addAttribute("serviceDown", healthMonitor.isDown());
     return "index";
   }
 
@@ -92,57 +143,75 @@ public class MainController {
 
   /**
    * Displays the task dashboard page.
-   * Allows searching for a task by its ID and sorting tasks by priority.
+   * Allows searching for a task by its ID and sorting tasks by priority. Tasks are shown one
+   * page at a time from the cached task snapshot.
    *
    * @param taskId Optional.   The ID of the task to search for.
    * @param sort Optional.     The sort order for tasks, either {@code "asc"} or {@code "desc"}.
+   * @param page Optional.     The 1-based page number to show; defaults to the first page.
+   * @param size Optional.     The number of tasks per page; defaults to 50, at most 500.
+   * @param cursor Optional.   The ID of the last task of the previous page; takes precedence
+   *                           over {@code page}.
    * @param model              The Model object used to pass data to the view.
-   * @return A String containing the name of the HTML file to render the dashboard.
+   * @param request            The request, used to answer revalidations with a 304.
+   * @return A String containing the name of the HTML file to render the dashboard, or
+   *         {@code null} if the browser's copy is still current.
    */
   @GetMapping("/taskDashboard")
   public String dashboard(@RequestParam(value = "taskId", required = false) String taskId,
                           @RequestParam(value = "sort", required = false) String sort,
-                          Model model) {
+                          @RequestParam(value = "page", required = false) Integer page,
+                          @RequestParam(value = "size", required = false) Integer size,
+                          @RequestParam(value = "cursor", required = false) String cursor,
+                          Model model, ServletWebRequest request) {
     String clientId = (String) session.getAttribute("clientId");
     if (clientId == null) {
       return "redirect:/";
     }
 
-    List<Map<String, Object>> tasks;
+    int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    int pageNumber = page == null ? 1 : page;
+
     if (taskId != null && !taskId.isBlank()) {
       // Search by taskId
-      Map<String, Object> task = liveSchedService.getTaskById(taskId, clientId);
-      if (task.containsKey("error")) {
+      LiveSchedResult<Task> task = liveSchedService.getTaskById(taskId, clientId);
+      if (task.isError()) {
         model.addAttribute("message", "No task found with ID: " + taskId);
-        tasks = liveSchedService.getAllTasks(clientId);
-        model.addAttribute("tasks", tasks);
-        return "taskDashboard"; // Redirect back to task dashboard with error message
       } else {
-        tasks = List.of(task);
+        model.addAttribute("tasks", List.of(task.value()));
+        model.addAttribute("clientId", clientId);
+        // Read fresh from the service, so there is no cached version to tag the page with
+        return notModified(request, model) ? null : withTaskRows(clientId, 0, null, model);
       }
+    }
+
+    // Show the requested page of all tasks, sorted if specified
+    final long version = liveSchedService.dataVersion(clientId, Dataset.TASKS);
+    LiveSchedResult<TaskSnapshot> snapshot = liveSchedService.getTaskSnapshot(clientId);
+    if (snapshot.isError()) {
+      model.addAttribute("message", snapshot.error());
+      model.addAttribute("tasks", List.of());
     } else {
-      // Retrieve all tasks
-      tasks = liveSchedService.getAllTasks(clientId);
-
-      // Apply sorting if specified
-      if (sort != null) {
-        if (sort.equalsIgnoreCase("asc")) {
-          tasks.sort(Comparator.comparing(
-              task -> (Integer) ((Map<String, Object>) task).get("priority")));
-        } else if (sort.equalsIgnoreCase("desc")) {
-          tasks.sort(Comparator.comparing(
-              task -> (Integer) ((Map<String, Object>) task).get("priority")).reversed());
-        }
-      }
+      TaskPage taskPage = snapshot.value()
+          .page(TaskSnapshot.Order.fromSortParam(sort), pageNumber, pageSize, cursor);
+      model.addAttribute("tasks", taskPage.tasks());
+      model.addAttribute("taskPage", taskPage);
     }
 
-    model.addAttribute("tasks", tasks);
+    model.addAttribute("sort", sort);
     model.addAttribute("clientId", clientId);
-    return "taskDashboard";
+    if (notModified(request, model, version)) {
+      return null;
+    }
+    String view = TaskSnapshot.Order.fromSortParam(sort) + " page " + pageNumber + " of "
+        + pageSize + " after " + cursor;
+    return withTaskRows(clientId, settled(clientId, Dataset.TASKS, version), view, model);
   }
 
   /**
    * Displays the details of a specific task.
+   * The known resource types are fetched alongside the task to suggest names when adding a
+   * resource requirement.
    *
    * @param taskId The ID of the task to display.
    * @param model  The Model object used to pass data to the view.
@@ -156,14 +225,26 @@ public class MainController {
       return "redirect:/";
     }
 
-    Map<String, Object> task = liveSchedService.getTaskById(taskId, clientId);
-
-    if (task.containsKey("error")) {
-      model.addAttribute("message", task.get("error"));
+    // Fetch the task and the resource type catalogue concurrently; a task handed over by a
+    // batch edit or by addTask is already current and is not fetched again
+    CompletableFuture<LiveSchedResult<Task>> taskFuture =
+        model.getAttribute("task") instanceof Task handedOver
+            && handedOver.taskId().equals(taskId)
+            ? CompletableFuture.completedFuture(LiveSchedResult.ok(handedOver))
+            : liveSchedService.getTaskByIdAsync(taskId, clientId);
+    CompletableFuture<LiveSchedResult<List<ResourceType>>> resourceTypesFuture =
+        liveSchedService.getAllResourceTypesAsync(clientId);
+    LiveSchedResult<Task> task = taskFuture.join();
+
+    if (task.isError()) {
+      model.addAttribute("message", task.error());
       return "taskDashboard"; // Redirect back to task dashboard with error message
     }
 
-    model.addAttribute("task", task);
+    LiveSchedResult<List<ResourceType>> resourceTypes = resourceTypesFuture.join();
+    model.addAttribute("task", task.value());
+    model.addAttribute("resourceTypes",
+        resourceTypes.isError() ? List.of() : resourceTypes.value());
     model.addAttribute("clientId", clientId);
     return "taskDetail";
   }
@@ -195,6 +276,8 @@ public class MainController {
    * @param latitude  The latitude of the task's location.
    * @param longitude The longitude of the task's location.
    * @param model     The Model object used to pass data to the view.
+   * @param redirectAttributes The RedirectAttributes used to hand the created task to the
+   *                           detail page, so it is not fetched again.
    * @return A String containing the name of the HTML file to render:
    *         - If the task is added successfully, redirects to the new task's detail page.
    *         - If an error occurs, returns to the add task page with the error message.
@@ -206,7 +289,7 @@ public class MainController {
                         @RequestParam(value = "endTime") String endTime,
                         @RequestParam(value = "latitude") double latitude,
                         @RequestParam(value = "longitude") double longitude,
-                        Model model) {
+                        Model model, RedirectAttributes redirectAttributes) {
     String clientId = (String) session.getAttribute("clientId");
     if (clientId == null) {
       return "redirect:/";
@@ -219,9 +302,53 @@ public class MainController {
       model.addAttribute("clientId", clientId);
       return "addTask"; // Stay on the addTask page with the error message
     }
+    if (newTask.get("task") instanceof Task task) {
+      redirectAttributes.addFlashAttribute("task", task);
+    }
     return "redirect:/task/" + newTask.get("taskId"); // Redirect to the new task's page
   }
 
+  /**
+   * Displays the bulk task import page.
+   *
+   * @param model The Model object used to pass data to the view
+   * @return A String containing the name of the HTML file to render the import page
+   *         or a redirect to the login page if not logged in
+   */
+  @GetMapping("/task/import")
+  public String importTasks(Model model) {
+    String clientId = (String) session.getAttribute("clientId");
+    if (clientId == null) {
+      return "redirect:/";
+    }
+    model.addAttribute("clientId", clientId);
+    return "importTasks";
+  }
+
+  /**
+   * Handles a bulk task upload. Rows are streamed to the service as they are read, and the
+   * response streams one NDJSON result line per row followed by a summary line.
+   *
+   * @param file The uploaded CSV or NDJSON file.
+   * @return A streaming NDJSON report, or a redirect to the login page if not logged in.
+   */
+  @PostMapping("/task/import")
+  public ResponseEntity<StreamingResponseBody> importTasks(
+      @RequestParam(value = "file") MultipartFile file) {
+    String clientId = (String) session.getAttribute("clientId");
+    if (clientId == null) {
+      return ResponseEntity.status(HttpStatus.FOUND).location(URI.create("/")).build();
+    }
+
+    TaskImporter.Format format = TaskImporter.Format.fromFilename(file.getOriginalFilename());
+    StreamingResponseBody report = out -> {
+      try (InputStream in = file.getInputStream()) {
+        taskImporter.importTasks(in, format, clientId, out);
+      }
+    };
+    return ResponseEntity.ok().contentType(NDJSON).body(report);
+  }
+
   /**
    * Handles the deletion of a task by its ID.
    *
@@ -243,6 +370,7 @@ public class MainController {
       model.addAttribute("message", response.get("error"));
       return "taskDetail"; // Stay on the task page with the error message
     }
+    scheduleStream.refreshSoon(clientId); // A deleted task also leaves the schedule
     return "redirect:/taskDashboard"; // Redirect to the task dashboard after successful deletion
   }
 
@@ -273,6 +401,57 @@ public class MainController {
     return "redirect:/task/" + taskId; // Redirect to the task details page
   }
 
+  /**
+   * Handles a batch of resource modifications for a task. Rows with a blank type name or
+   * quantity are ignored; if a type name appears more than once, its last quantity is used.
+   * The changes are applied concurrently and the updated task is handed to the task detail
+   * page, so it is fetched only once for the whole batch.
+   *
+   * @param taskId             The ID of the task to modify the resources for.
+   * @param typeNames          The names of the resource types to modify.
+   * @param quantities         The new quantities, matched to the type names by position.
+   * @param redirectAttributes The RedirectAttributes object used to pass data for the next request.
+   * @return A String containing the name of the HTML file to render the task detail page.
+   */
+  @PostMapping("/task/{taskId}/modifyResources")
+  public String modifyResources(@PathVariable String taskId,
+                                @RequestParam("typeName") List<String> typeNames,
+                                @RequestParam("quantity") List<String> quantities,
+                                RedirectAttributes redirectAttributes) {
+    String clientId = (String) session.getAttribute("clientId");
+    if (clientId == null) {
+      return "redirect:/";
+    }
+
+    Map<String, Integer> changes = new LinkedHashMap<>();
+    for (int i = 0; i < Math.min(typeNames.size(), quantities.size()); i++) {
+      String typeName = typeNames.get(i).trim();
+      String quantity = quantities.get(i).trim();
+      if (typeName.isEmpty() || quantity.isEmpty()) {
+        continue;
+      }
+      try {
+        changes.put(typeName, Integer.parseInt(quantity));
+      } catch (NumberFormatException e) {
+        redirectAttributes.addFlashAttribute("message",
+            "Invalid quantity for " + typeName + ": " + quantity);
+        return "redirect:/task/" + taskId;
+      }
+    }
+    if (changes.isEmpty()) {
+      return "redirect:/task/" + taskId;
+    }
+
+    Map<String, Object> response = liveSchedService.modifyResources(taskId, changes, clientId);
+    if (response.containsKey("error")) {
+      redirectAttributes.addFlashAttribute("message", response.get("error"));
+    }
+    if (response.get("task") instanceof Task task) {
+      redirectAttributes.addFlashAttribute("task", task);
+    }
+    return "redirect:/task/" + taskId; // Redirect to the task details page
+  }
+
   /**
    * Displays the resource dashboard page with all resource types.
    * Allows searching for resources by type name and sorting by total units.
@@ -280,49 +459,45 @@ public class MainController {
    * @param typeName Optional. The name of the resource type to search for
    * @param sort Optional. The sort order for resources, either "asc" or "desc"
    * @param model The Model object used to pass data to the view
-   * @return A String containing the name of the HTML file to render the resource dashboard
+   * @param request The request, used to answer revalidations with a 304
+   * @return A String containing the name of the HTML file to render the resource dashboard,
+   *         or {@code null} if the browser's copy is still current
    */
   @GetMapping("/resourceDashboard")
   public String resourceDashboard(@RequestParam(value = "typeName", required = false) 
                                 String typeName,
                                 @RequestParam(value = "sort", required = false) 
-                                String sort, Model model) {
+                                String sort, Model model, ServletWebRequest request) {
     String clientId = (String) session.getAttribute("clientId");
     if (clientId == null) {
       return "redirect:/";
     }
 
-    List<Map<String, Object>> resources;
-    if (typeName != null && !typeName.isBlank()) {
+    List<ResourceType> resources = List.of();
+    final long version = liveSchedService.dataVersion(clientId, Dataset.RESOURCE_TYPES);
+    LiveSchedResult<ResourceSnapshot> snapshot = liveSchedService.getResourceSnapshot(clientId);
+    if (snapshot.isError()) {
+      model.addAttribute("message", snapshot.error());
+    } else if (typeName != null && !typeName.isBlank()) {
       // Search by typeName
-      resources = liveSchedService.getAllResourceTypes(clientId).stream()
-              .filter(resource -> resource.get("typeName").toString()
-                      .toLowerCase().contains(typeName.toLowerCase()))
-              .toList();
+      resources = snapshot.value().search(typeName);
       if (resources.isEmpty()) {
         model.addAttribute("message", "No resource type found with name: " + typeName);
-        resources = liveSchedService.getAllResourceTypes(clientId);
-        model.addAttribute("resources", resources);
+        resources = snapshot.value().resourceTypes();
       }
     } else {
-      // Retrieve all resources
-      resources = liveSchedService.getAllResourceTypes(clientId);
-
-      // Apply sorting if specified
-      if (sort != null) {
-        if (sort.equalsIgnoreCase("asc")) {
-          resources.sort(Comparator.comparing(
-              resource -> (Integer) ((Map<String, Object>) resource).get("totalUnits")));
-        } else if (sort.equalsIgnoreCase("desc")) {
-          resources.sort(Comparator.comparing(
-              resource -> (Integer) ((Map<String, Object>) resource).get("totalUnits"))
-              .reversed());
-        }
-      }
+      // Retrieve all resources, sorted by total units if specified
+      resources = snapshot.value().sorted(sort);
     }
 
     model.addAttribute("resources", resources);
     model.addAttribute("clientId", clientId);
+    if (notModified(request, model, version)) {
+      return null;
+    }
+    long rowsVersion = snapshot.isError() ? 0 : settled(clientId, Dataset.RESOURCE_TYPES, version);
+    model.addAttribute("resourceRows", fragmentCache.render("resourceRows", "rows", clientId,
+        rowsVersion, "search " + typeName + " sort " + sort, Map.of("resources", resources)));
     return "resourceDashboard";
   }
 
@@ -405,27 +580,153 @@ public class MainController {
 
   /**
    * Displays the schedule dashboard page.
+   * The page carries the version the {@link ScheduleTracker} last recorded for the client, and
+   * rows that changed since the version given in {@code since} are highlighted. Viewing the
+   * page does not publish anything; new versions come from updates and the stream's poller.
+   * After {@code updateSchedule} the schedule is read from the client's cache, which the update
+   * has already filled.
    *
+   * @param since Optional. The schedule version the client showed before an update.
    * @param model The Model object used to pass data to the view.
-   * @return A String containing the name of the HTML file to render the schedule dashboard
-   *         or a redirect to the login page if not logged in.
+   * @param request The request, used to answer revalidations with a 304.
+   * @return A String containing the name of the HTML file to render the schedule dashboard,
+   *         {@code null} if the browser's copy is still current, or a redirect to the login
+   *         page if not logged in.
    */
   @GetMapping("/scheduleDashboard")
-  public String scheduleDashboard(Model model) {
+  public String scheduleDashboard(@RequestParam(value = "since", required = false) Long since,
+                                  Model model, ServletWebRequest request) {
     String clientId = (String) session.getAttribute("clientId");
     if (clientId == null) {
       return "redirect:/";
     }
 
-    List<Map<String, Object>> schedules = liveSchedService.getSchedule(clientId);
+    final long dataVersion = liveSchedService.dataVersion(clientId, Dataset.SCHEDULE);
+    LiveSchedResult<List<Schedule>> schedules = liveSchedService.getSchedule(clientId);
 
-    if (!schedules.isEmpty() && schedules.get(0).containsKey("error")) {
-      model.addAttribute("message", schedules.get(0).get("error"));
+    if (schedules.isError()) {
+      model.addAttribute("message", schedules.error());
       return "scheduleDashboard"; // Redirect back to schedule dashboard with error message
     }
 
-    model.addAttribute("schedules", schedules);
+    long version = scheduleTracker.baseline(clientId, schedules.value());
+    if (since != null) {
+      ScheduleDiff diff = scheduleTracker.changesSince(clientId, since);
+      if (diff != null && !diff.isEmpty()) {
+        model.addAttribute("diff", diff);
+        model.addAttribute("message", "Schedule updated: " + diff.summary() + ".");
+      } else if (diff != null) {
+        model.addAttribute("message", "Schedule updated: nothing changed.");
+      }
+    }
+
+    model.addAttribute("schedules", schedules.value());
+    model.addAttribute("scheduleVersion", version);
+    model.addAttribute("clientId", clientId);
+    if (notModified(request, model, dataVersion, version)) {
+      return null;
+    }
+    // Highlighted rows depend on the diff as well as on the schedule
+    ScheduleDiff diff = (ScheduleDiff) model.getAttribute("diff");
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("schedules", schedules.value());
+    variables.put("diff", diff);
+    String view = diff == null ? "" : "changes " + diff.fromVersion() + " to " + diff.toVersion();
+    model.addAttribute("scheduleRows", fragmentCache.render("scheduleRows", "rows", clientId,
+        settled(clientId, Dataset.SCHEDULE, dataVersion), view, variables));
+    return "scheduleDashboard";
+  }
+
+  /**
+   * Renders only the schedule rows that changed since the version the dashboard shows, so
+   * the page can patch its table in place after an update.
+   *
+   * @param since The schedule version the dashboard shows.
+   * @param model The Model object used to pass data to the view.
+   * @return The changes fragment, which asks the page to reload when the client is more
+   *         than one version behind, or a redirect to the login page if not logged in.
+   */
+  @GetMapping("/scheduleDashboard/changes")
+  public String scheduleChanges(@RequestParam("since") long since, Model model) {
+    String clientId = (String) session.getAttribute("clientId");
+    if (clientId == null) {
+      return "redirect:/";
+    }
+
+    model.addAttribute("diff", scheduleTracker.changesSince(clientId, since));
+    model.addAttribute("clientId", clientId);
+    return "scheduleRows :: changes";
+  }
+
+  /**
+   * Streams schedule changes to an open schedule dashboard as Server-Sent Events. Each
+   * {@code changes} event carries the changes fragment; a {@code reload} event asks the page
+   * to reload because it is too far behind.
+   *
+   * @param since The schedule version the dashboard shows.
+   * @return The event stream, or 401 if not logged in.
+   */
+  @GetMapping(value = "/scheduleDashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> scheduleStream(@RequestParam("since") long since) {
+    String clientId = (String) session.getAttribute("clientId");
+    if (clientId == null) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+    return ResponseEntity.ok(scheduleStream.subscribe(clientId, since));
+  }
+
+  /**
+   * Previews the schedule an update with a specified maximum distance would produce, without
+   * changing anything. The schedule is simulated locally from the client's tasks and resource
+   * types, and rows that would be added or changed are highlighted against the current one.
+   *
+   * @param maxDistance The maximum distance (in kilometers) between tasks and resources.
+   *                    Defaults to 10.0 if not provided or invalid.
+   * @param model The Model object used to pass data to the view.
+   * @return A String containing the name of the HTML file to render the schedule dashboard
+   *         or a redirect to the login page if not logged in.
+   */
+  @GetMapping("/scheduleDashboard/preview")
+  public String previewSchedule(@RequestParam(value = "maxDistance", required = false)
+                                  Double maxDistance, Model model) {
+    String clientId = (String) session.getAttribute("clientId");
+    if (clientId == null) {
+      return "redirect:/";
+    }
+
+    if (maxDistance == null || maxDistance <= 0) {
+      maxDistance = 10.0; // Default value
+    }
+
+    // Fetch the tasks, resource types and current schedule concurrently
+    CompletableFuture<LiveSchedResult<List<Task>>> tasksFuture =
+        liveSchedService.getAllTasksAsync(clientId);
+    CompletableFuture<LiveSchedResult<List<ResourceType>>> resourceTypesFuture =
+        liveSchedService.getAllResourceTypesAsync(clientId);
+    CompletableFuture<LiveSchedResult<List<Schedule>>> scheduleFuture =
+        liveSchedService.getScheduleAsync(clientId);
+    LiveSchedResult<List<Task>> tasks = tasksFuture.join();
+    LiveSchedResult<List<ResourceType>> resourceTypes = resourceTypesFuture.join();
+    final LiveSchedResult<List<Schedule>> current = scheduleFuture.join();
     model.addAttribute("clientId", clientId);
+    model.addAttribute("maxDistance", maxDistance);
+
+    if (tasks.isError() || resourceTypes.isError()) {
+      model.addAttribute("message",
+          tasks.isError() ? tasks.error() : resourceTypes.error());
+      return "scheduleDashboard";
+    }
+
+    List<Schedule> preview = scheduleSimulator.preview(
+        clientId, tasks.value(), resourceTypes.value(), maxDistance);
+    ScheduleDiff diff = ScheduleDiff.between(
+        current.isError() ? List.of() : current.value(), preview, 0, 0);
+    model.addAttribute("schedules", preview);
+    model.addAttribute("diff", diff);
+    model.addAttribute("preview", true);
+    model.addAttribute("message", "Preview for " + maxDistance + " km: " + preview.size()
+        + " of " + tasks.value().size() + " tasks scheduled, " + diff.summary()
+        + ". Nothing has been changed; use Update Schedule to apply it.");
     return "scheduleDashboard";
   }
 
@@ -433,15 +734,19 @@ public class MainController {
    * Updates the schedule with a specified maximum distance.
    * Uses a default distance if none is provided or the value is invalid.
    *
+   * <p>Only the version the dashboard showed before the update is passed on, in the redirect;
+   * the updated schedule is already in the client's cache, and the dashboard highlights what
+   * changed since that version.
+   *
    * @param maxDistance The maximum distance (in kilometers) between tasks and resources.
    *                    Defaults to 10.0 if not provided or invalid.
-   * @param model       The Model object used to pass data to the view.
+   * @param redirectAttributes The RedirectAttributes used to pass a failure to the dashboard.
    * @return A String containing redirect path to the schedule dashboard
    *          or the login page if not logged in.
    */
   @PostMapping("/updateSchedule")
   public String updateSchedule(@RequestParam(value = "maxDistance", required = false)
-                                 Double maxDistance, Model model) {
+                                 Double maxDistance, RedirectAttributes redirectAttributes) {
     String clientId = (String) session.getAttribute("clientId");
     if (clientId == null) {
       return "redirect:/";
@@ -451,13 +756,16 @@ public class MainController {
       maxDistance = 10.0; // Default value
     }
 
-    List<Map<String, Object>> updatedSchedule =
+    LiveSchedResult<List<Schedule>> updatedSchedule =
         liveSchedService.updateSchedule(maxDistance, clientId);
 
-    if (updatedSchedule.isEmpty() || updatedSchedule.get(0).containsKey("error")) {
-      model.addAttribute("message", "Failed to update schedule.");
+    if (updatedSchedule.isError() || updatedSchedule.value().isEmpty()) {
+      redirectAttributes.addFlashAttribute("message", "Failed to update schedule.");
     } else {
-      model.addAttribute("message", "Schedule updated successfully.");
+      ScheduleDiff diff = scheduleStream.publish(clientId, updatedSchedule.value());
+      if (diff != null) {
+        return "redirect:/scheduleDashboard?since=" + diff.fromVersion();
+      }
     }
 
     return "redirect:/scheduleDashboard";
@@ -481,9 +789,108 @@ public class MainController {
       model.addAttribute("message", response.get("error"));
     } else {
       model.addAttribute("message", response.get("message"));
+      scheduleStream.refreshSoon(clientId);
     }
 
     return "redirect:/scheduleDashboard";
   }
 
+  /**
+   * Answers a request whose LiveSched calls were throttled for its client with 429 Too Many
+   * Requests. Also applies when the rejection arrives wrapped by an asynchronous call.
+   *
+   * @param e The rejection.
+   * @return A 429 response telling the browser when to try again.
+   */
+  @ExceptionHandler(TenantThrottledException.class)
+  public ResponseEntity<String> throttled(TenantThrottledException e) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(e.retryAfter().toSeconds()))
+        .contentType(MediaType.TEXT_PLAIN)
+        .body("Too many requests. Please try again in a few seconds.");
+  }
+
+  /**
+   * Helper method to add the task table rows of a dashboard, rendered or taken from the
+   * fragment cache.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param version  The version of the task snapshot the tasks were taken from, or 0.
+   * @param view     Which tasks of the snapshot are shown.
+   * @param model    The Model object holding the tasks shown.
+   * @return The name of the task dashboard template.
+   */
+  @SuppressWarnings("unchecked")
+  private String withTaskRows(String clientId, long version, String view, Model model) {
+    List<Task> tasks = (List<Task>) model.getAttribute("tasks");
+    if (tasks != null && !tasks.isEmpty()) {
+      model.addAttribute("taskRows", fragmentCache.render("taskRows", "rows", clientId, version,
+          view, Map.of("tasks", tasks)));
+    }
+    return "taskDashboard";
+  }
+
+  /**
+   * Helper method to check that a dataset read for a page has not moved since its version was
+   * read, so rows rendered from it may be cached under that version.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param dataset  The dataset read for the page.
+   * @param version  The version read before the dataset.
+   * @return The version, or 0 if the dataset has moved in the meantime.
+   */
+  private long settled(String clientId, Dataset dataset, long version) {
+    return liveSchedService.dataVersion(clientId, dataset) == version ? version : 0;
+  }
+
+  /**
+   * Helper method to answer a conditional GET of a dashboard. The page's ETag is a SHA-256
+   * digest of the versions of the data it shows, the client, the request parameters and the
+   * message, so a browser revalidating a page none of which has moved gets a 304 and the
+   * template is not rendered. The tag is weak because it identifies the page's inputs rather
+   * than its rendered bytes. Pages built from data that carries no version are sent untagged.
+   *
+   * @param request  The request of the dashboard.
+   * @param model    The fully populated Model object of the page.
+   * @param versions The versions of the cached data read for the page, read before the data.
+   * @return {@code true} if a 304 has been sent and the page must not be rendered.
+   */
+  private boolean notModified(ServletWebRequest request, Model model, long... versions) {
+    HttpServletResponse response = request.getResponse();
+    if (response != null) {
+      // Per-session content: only the browser may keep it, and only if it revalidates
+      response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+    }
+    if (versions.length == 0 || Arrays.stream(versions).anyMatch(version -> version == 0)) {
+      return false;
+    }
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+    for (long version : versions) {
+      digestField(digest, Long.toString(version));
+    }
+    digestField(digest, model.getAttribute("clientId"));
+    digestField(digest, model.getAttribute("message"));
+    new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+      digestField(digest, name);
+      digestField(digest, values.length);
+      for (String value : values) {
+        digestField(digest, value);
+      }
+    });
+    String tag = HexFormat.of().formatHex(digest.digest(), 0, 16);
+    return request.checkNotModified("W/\"" + PAGE_EPOCH + "-" + tag + "\"");
+  }
+
+  // Length-prefixed, so that no two different sequences of fields digest the same bytes
+  private static void digestField(MessageDigest digest, Object field) {
+    byte[] bytes = String.valueOf(field).getBytes(StandardCharsets.UTF_8);
+    digest.update((bytes.length + ":").getBytes(StandardCharsets.UTF_8));
+    digest.update(bytes);
+  }
+
 }
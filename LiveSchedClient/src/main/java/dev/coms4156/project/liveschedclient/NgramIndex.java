@@ -0,0 +1,117 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * NgramIndex answers case-insensitive substring queries over a fixed list of strings. Each
+ * string is lowercased once and its trigrams are mapped to the positions of the strings that
+ * contain them; a query intersects the position lists of its own trigrams and confirms the
+ * few remaining candidates with a direct substring check. Queries shorter than a trigram
+ * scan the pre-lowercased strings.
+ */
+public class NgramIndex {
+
+  private static final int GRAM = 3;
+  private static final int[] NONE = new int[0];
+
+  private final String[] values;
+  private final Map<String, int[]> postings;
+
+  /**
+   * Constructor to build the index.
+   *
+   * @param values The strings to index; positions in this list identify matches.
+   */
+  public NgramIndex(List<String> values) {
+    this.values = new String[values.size()];
+    Map<String, List<Integer>> grams = new HashMap<>();
+    for (int position = 0; position < values.size(); position++) {
+      String value = normalize(values.get(position));
+      this.values[position] = value;
+      for (int i = 0; i + GRAM <= value.length(); i++) {
+        List<Integer> positions =
+            grams.computeIfAbsent(value.substring(i, i + GRAM), k -> new ArrayList<>());
+        // A trigram can occur several times in one string; record the position once
+        if (positions.isEmpty() || positions.get(positions.size() - 1) != position) {
+          positions.add(position);
+        }
+      }
+    }
+    this.postings = new HashMap<>(grams.size() * 2);
+    grams.forEach((gram, positions) ->
+        postings.put(gram, positions.stream().mapToInt(Integer::intValue).toArray()));
+  }
+
+  /**
+   * Finds the strings that contain the query, ignoring case.
+   *
+   * @param query The substring to look for.
+   * @return The positions of the matching strings, in ascending order.
+   */
+  public int[] search(String query) {
+    String needle = normalize(query);
+    if (needle.length() < GRAM) {
+      return scan(needle);
+    }
+
+    int[][] lists = new int[needle.length() - GRAM + 1][];
+    for (int i = 0; i < lists.length; i++) {
+      lists[i] = postings.getOrDefault(needle.substring(i, i + GRAM), NONE);
+    }
+    Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+    int[] candidates = lists[0];
+    for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+      candidates = intersect(candidates, lists[i]);
+    }
+
+    // Sharing every trigram does not guarantee the trigrams are adjacent, so confirm
+    int count = 0;
+    int[] matches = new int[candidates.length];
+    for (int position : candidates) {
+      if (values[position].contains(needle)) {
+        matches[count++] = position;
+      }
+    }
+    return Arrays.copyOf(matches, count);
+  }
+
+  private int[] scan(String needle) {
+    int count = 0;
+    int[] matches = new int[values.length];
+    for (int position = 0; position < values.length; position++) {
+      if (values[position].contains(needle)) {
+        matches[count++] = position;
+      }
+    }
+    return Arrays.copyOf(matches, count);
+  }
+
+  private static int[] intersect(int[] a, int[] b) {
+    int[] result = new int[Math.min(a.length, b.length)];
+    int count = 0;
+    int i = 0;
+    int j = 0;
+    while (i < a.length && j < b.length) {
+      if (a[i] < b[j]) {
+        i++;
+      } else if (a[i] > b[j]) {
+        j++;
+      } else {
+        result[count++] = a[i];
+        i++;
+        j++;
+      }
+    }
+    return Arrays.copyOf(result, count);
+  }
+
+  private static String normalize(String value) {
+    return value == null ? "" : value.toLowerCase(Locale.ROOT);
+  }
+}
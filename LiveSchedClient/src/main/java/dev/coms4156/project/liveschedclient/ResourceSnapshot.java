@@ -0,0 +1,101 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ResourceSnapshot is the cached copy of a client's resource types. Resource types are kept
+ * in a total-units index that is built once per fetch and updated in place when a resource
+ * type is deleted, so sorted views are emitted without sorting. Type names are also indexed
+ * by trigram for substring search.
+ */
+public class ResourceSnapshot {
+
+  private final Map<String, ResourceType> resourceTypes = new LinkedHashMap<>();
+  private final BucketIndex<ResourceType> byTotalUnits;
+  private List<ResourceType> serviceOrder;
+  // Built on the first search over the types present at fetch time; deletions are filtered
+  // out when results are collected
+  private List<ResourceType> searchable;
+  private NgramIndex nameIndex;
+
+  /**
+   * Constructor to create a snapshot of a resource type list.
+   *
+   * @param resourceTypes The resource types in the order returned by the LiveSched service.
+   */
+  public ResourceSnapshot(List<ResourceType> resourceTypes) {
+    for (ResourceType resourceType : resourceTypes) {
+      this.resourceTypes.put(resourceType.typeName(), resourceType);
+    }
+    this.byTotalUnits = new BucketIndex<>(
+        this.resourceTypes.values(), ResourceType::totalUnits, ResourceType::typeName);
+  }
+
+  /**
+   * Returns the resource types in the order returned by the LiveSched service.
+   *
+   * @return An unmodifiable list of resource types.
+   */
+  public synchronized List<ResourceType> resourceTypes() {
+    if (serviceOrder == null) {
+      serviceOrder = List.copyOf(resourceTypes.values());
+    }
+    return serviceOrder;
+  }
+
+  /**
+   * Returns the resource types ordered by total units. Types with equal units keep the
+   * service order.
+   *
+   * @param sort Either {@code "asc"} for lowest units first, {@code "desc"} for highest units
+   *             first, or any other value for the service order.
+   * @return An unmodifiable list of resource types.
+   */
+  public synchronized List<ResourceType> sorted(String sort) {
+    if ("asc".equalsIgnoreCase(sort)) {
+      return byTotalUnits.ascending();
+    } else if ("desc".equalsIgnoreCase(sort)) {
+      return byTotalUnits.descending();
+    }
+    return resourceTypes();
+  }
+
+  /**
+   * Finds the resource types whose name contains the query, ignoring case.
+   *
+   * @param query The substring to look for in type names.
+   * @return An unmodifiable list of matching resource types in the service order.
+   */
+  public synchronized List<ResourceType> search(String query) {
+    if (nameIndex == null) {
+      searchable = List.copyOf(resourceTypes.values());
+      nameIndex = new NgramIndex(searchable.stream().map(ResourceType::typeName).toList());
+    }
+    List<ResourceType> matches = new ArrayList<>();
+    for (int position : nameIndex.search(query)) {
+      ResourceType resourceType = searchable.get(position);
+      if (resourceTypes.containsKey(resourceType.typeName())) {
+        matches.add(resourceType);
+      }
+    }
+    return List.copyOf(matches);
+  }
+
+  /**
+   * Removes a deleted resource type.
+   *
+   * @param typeName The name of the resource type to remove.
+   * @return {@code true} if the resource type was in the snapshot.
+   */
+  public synchronized boolean remove(String typeName) {
+    if (resourceTypes.remove(typeName) == null) {
+      return false;
+    }
+    byTotalUnits.remove(typeName);
+    serviceOrder = null;
+    return true;
+  }
+}
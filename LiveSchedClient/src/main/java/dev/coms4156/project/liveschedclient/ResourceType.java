@@ -0,0 +1,11 @@
+package dev.coms4156.project.liveschedclient;
+
+/**
+ * A resource type as returned by the LiveSched service's retrieveResourceTypes endpoint.
+ *
+ * @param typeName   The name of the resource type.
+ * @param totalUnits The total number of units available.
+ * @param location   The location of the resource type.
+ */
+public record ResourceType(String typeName, int totalUnits, Location location) {
+}
@@ -0,0 +1,19 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.List;
+
+/**
+ * A single entry of the master schedule: a task and the resource units assigned to it.
+ *
+ * @param task              The scheduled task.
+ * @param assignedResources The resource units assigned to the task.
+ */
+public record Schedule(Task task, List<AssignedResource> assignedResources) {
+
+  /**
+   * Normalizes a missing resource list to an empty one.
+   */
+  public Schedule {
+    assignedResources = assignedResources == null ? List.of() : assignedResources;
+  }
+}
@@ -0,0 +1,121 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ScheduleDiff is the keyed difference between two versions of a client's schedule. Entries
+ * are matched by task ID; an entry whose task or assigned resources differ is reported as
+ * changed, so only the rows that would render differently are re-rendered.
+ */
+public class ScheduleDiff {
+
+  private final long fromVersion;
+  private final long toVersion;
+  private final List<Schedule> added;
+  private final List<Schedule> changed;
+  private final List<String> removed;
+  private final Set<String> addedIds = new HashSet<>();
+  private final Set<String> changedIds = new HashSet<>();
+
+  private ScheduleDiff(long fromVersion, long toVersion, List<Schedule> added,
+                       List<Schedule> changed, List<String> removed) {
+    this.fromVersion = fromVersion;
+    this.toVersion = toVersion;
+    this.added = List.copyOf(added);
+    this.changed = List.copyOf(changed);
+    this.removed = List.copyOf(removed);
+    added.forEach(schedule -> addedIds.add(schedule.task().taskId()));
+    changed.forEach(schedule -> changedIds.add(schedule.task().taskId()));
+  }
+
+  /**
+   * Compares two versions of a schedule.
+   *
+   * @param previous    The earlier schedule.
+   * @param current     The later schedule.
+   * @param fromVersion The version number of the earlier schedule.
+   * @param toVersion   The version number of the later schedule.
+   * @return The entries added, changed and removed between the two, in schedule order.
+   */
+  public static ScheduleDiff between(List<Schedule> previous, List<Schedule> current,
+                                     long fromVersion, long toVersion) {
+    Map<String, Schedule> remaining = new LinkedHashMap<>();
+    for (Schedule schedule : previous) {
+      remaining.put(schedule.task().taskId(), schedule);
+    }
+    List<Schedule> added = new ArrayList<>();
+    List<Schedule> changed = new ArrayList<>();
+    for (Schedule schedule : current) {
+      Schedule before = remaining.remove(schedule.task().taskId());
+      if (before == null) {
+        added.add(schedule);
+      } else if (!before.equals(schedule)) {
+        changed.add(schedule);
+      }
+    }
+    return new ScheduleDiff(fromVersion, toVersion, added, changed,
+        new ArrayList<>(remaining.keySet()));
+  }
+
+  /**
+   * An empty diff for a schedule that has not moved since the given version.
+   *
+   * @param version The current version number.
+   * @return A diff from and to that version.
+   */
+  public static ScheduleDiff none(long version) {
+    return new ScheduleDiff(version, version, List.of(), List.of(), List.of());
+  }
+
+  public long fromVersion() {
+    return fromVersion;
+  }
+
+  public long toVersion() {
+    return toVersion;
+  }
+
+  public List<Schedule> added() {
+    return added;
+  }
+
+  public List<Schedule> changed() {
+    return changed;
+  }
+
+  /**
+   * Returns the task IDs of the entries that are no longer scheduled.
+   *
+   * @return The removed task IDs, in their previous schedule order.
+   */
+  public List<String> removed() {
+    return removed;
+  }
+
+  public boolean isAdded(String taskId) {
+    return addedIds.contains(taskId);
+  }
+
+  public boolean isChanged(String taskId) {
+    return changedIds.contains(taskId);
+  }
+
+  public boolean isEmpty() {
+    return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+  }
+
+  /**
+   * Describes the size of the diff for display.
+   *
+   * @return A summary such as {@code "2 added, 1 changed, 0 removed"}.
+   */
+  public String summary() {
+    return added.size() + " added, " + changed.size() + " changed, "
+        + removed.size() + " removed";
+  }
+}
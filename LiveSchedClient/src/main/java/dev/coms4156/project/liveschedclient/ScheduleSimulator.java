@@ -0,0 +1,264 @@
+package dev.coms4156.project.liveschedclient;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * ScheduleSimulator previews the schedule an update with a given maximum distance would
+ * produce, from a client's cached tasks and resource types and without calling the service.
+ * It follows the service's rule: tasks are taken highest priority first, earlier start first
+ * among equals, and a task is scheduled only if every unit it needs can come from a resource
+ * type within the maximum distance of the task, free for the task's whole time window. Units
+ * are named {@code "<type name> <n>"}, and the lowest-numbered free units are taken.
+ *
+ * <p>The sorted tasks and the great-circle distance from each task to each resource type it
+ * needs are kept per client, and reused while the tasks and resource types are unchanged, so
+ * previewing another distance only reruns the assignment. Distances are also remembered by
+ * coordinate pair, so rebuilding after an edit only computes those of new locations.
+ */
+@Component
+public class ScheduleSimulator implements MeterBinder {
+
+  private static final double EARTH_RADIUS_KM = 6371.0;
+  // Coordinate pairs remembered per client; tasks mostly share a few sites
+  private static final int MAX_DISTANCES = 1 << 16;
+
+  private final Map<String, Workspace> workspaces;
+  private final AtomicLong reused = new AtomicLong();
+  private final AtomicLong built = new AtomicLong();
+
+  /**
+   * Constructor to create the simulator.
+   *
+   * @param properties The cache settings; workspaces are kept for at most {@code maxEntries}
+   *                   clients, and the least recently used is dropped first.
+   */
+  public ScheduleSimulator(LiveSchedCacheProperties properties) {
+    int maxEntries = properties.maxEntries();
+    this.workspaces = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Workspace> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Simulates a schedule update.
+   *
+   * @param clientId      A {@code String} representing the ID of the client.
+   * @param tasks         The client's tasks, with display-formatted times.
+   * @param resourceTypes The client's resource types.
+   * @param maxDistance   The maximum distance in kilometers between a task and its resources.
+   * @return The schedule entries the update would produce, in assignment order.
+   */
+  public List<Schedule> preview(String clientId, List<Task> tasks,
+                                List<ResourceType> resourceTypes, double maxDistance) {
+    return workspace(clientId, tasks, resourceTypes).assign(maxDistance);
+  }
+
+  private Workspace workspace(String clientId, List<Task> tasks,
+                              List<ResourceType> resourceTypes) {
+    synchronized (workspaces) {
+      Workspace current = workspaces.get(clientId);
+      if (current != null && current.tasks.equals(tasks)
+          && current.resourceTypes.equals(resourceTypes)) {
+        reused.incrementAndGet();
+        return current;
+      }
+      Map<Coordinates, Double> distances = current == null ? new HashMap<>() : current.distances;
+      if (distances.size() > MAX_DISTANCES) {
+        distances = new HashMap<>();
+      }
+      Workspace workspace = new Workspace(List.copyOf(tasks), List.copyOf(resourceTypes),
+          distances);
+      workspaces.put(clientId, workspace);
+      built.incrementAndGet();
+      return workspace;
+    }
+  }
+
+  /**
+   * Computes the great-circle distance between two locations.
+   *
+   * @param from The first location.
+   * @param to   The second location.
+   * @return The distance in kilometers.
+   */
+  static double haversine(Location from, Location to) {
+    double lat1 = Math.toRadians(from.latitude());
+    double lat2 = Math.toRadians(to.latitude());
+    double sinLat = Math.sin((lat2 - lat1) / 2);
+    double sinLon = Math.sin(Math.toRadians(to.longitude() - from.longitude()) / 2);
+    double a = sinLat * sinLat + Math.cos(lat1) * Math.cos(lat2) * sinLon * sinLon;
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("livesched.preview.workspaces", reused, AtomicLong::get)
+        .tag("result", "reused")
+        .description("Schedule previews run on a client's prepared tasks and distances")
+        .register(registry);
+    FunctionCounter.builder("livesched.preview.workspaces", built, AtomicLong::get)
+        .tag("result", "built")
+        .description("Schedule previews that had to sort tasks and measure distances first")
+        .register(registry);
+  }
+
+  private record Coordinates(double fromLatitude, double fromLongitude, double toLatitude,
+                             double toLongitude) {
+  }
+
+  /**
+   * A client's tasks in assignment order, each with the resource types it needs and their
+   * distances. Not modified once built.
+   */
+  private static final class Workspace {
+
+    private final List<Task> tasks;
+    private final List<ResourceType> resourceTypes;
+    private final Map<Coordinates, Double> distances;
+    private final Task[] order;
+    // Per task in order: index into resourceTypes (-1 if unknown), units needed, distance
+    private final int[][] types;
+    private final int[][] units;
+    private final double[][] kilometers;
+
+    private Workspace(List<Task> tasks, List<ResourceType> resourceTypes,
+                      Map<Coordinates, Double> distances) {
+      this.tasks = tasks;
+      this.resourceTypes = resourceTypes;
+      this.distances = distances;
+      this.order = tasks.stream()
+          .sorted(Comparator.comparingInt(Task::priority)
+              .thenComparing(Task::startTime, Comparator.nullsLast(Comparator.naturalOrder()))
+              .thenComparing(Task::taskId, Comparator.nullsLast(Comparator.naturalOrder())))
+          .toArray(Task[]::new);
+
+      Map<String, Integer> byName = new HashMap<>();
+      for (int i = 0; i < resourceTypes.size(); i++) {
+        byName.put(resourceTypes.get(i).typeName(), i);
+      }
+      this.types = new int[order.length][];
+      this.units = new int[order.length][];
+      this.kilometers = new double[order.length][];
+      for (int t = 0; t < order.length; t++) {
+        Task task = order[t];
+        int needs = task.resources().size();
+        types[t] = new int[needs];
+        units[t] = new int[needs];
+        kilometers[t] = new double[needs];
+        int r = 0;
+        for (Map.Entry<String, Integer> need : task.resources().entrySet()) {
+          int type = byName.getOrDefault(need.getKey(), -1);
+          types[t][r] = type;
+          units[t][r] = need.getValue() == null ? 0 : need.getValue();
+          kilometers[t][r] = type < 0 ? Double.POSITIVE_INFINITY
+              : distance(task.location(), resourceTypes.get(type).location());
+          r++;
+        }
+      }
+    }
+
+    private double distance(Location from, Location to) {
+      if (from == null || to == null) {
+        return Double.POSITIVE_INFINITY;
+      }
+      return distances.computeIfAbsent(new Coordinates(from.latitude(), from.longitude(),
+          to.latitude(), to.longitude()), c -> haversine(from, to));
+    }
+
+    private List<Schedule> assign(double maxDistance) {
+      // Per resource type and unit, the reserved windows by start time; display times sort
+      // chronologically as strings
+      List<List<TreeMap<String, String>>> reserved = new ArrayList<>(resourceTypes.size());
+      for (ResourceType resourceType : resourceTypes) {
+        List<TreeMap<String, String>> perUnit = new ArrayList<>(resourceType.totalUnits());
+        for (int u = 0; u < resourceType.totalUnits(); u++) {
+          perUnit.add(null);
+        }
+        reserved.add(perUnit);
+      }
+
+      List<Schedule> schedule = new ArrayList<>();
+      for (int t = 0; t < order.length; t++) {
+        Task task = order[t];
+        List<int[]> picked = pick(t, task, maxDistance, reserved);
+        if (picked == null) {
+          continue;
+        }
+        List<AssignedResource> assigned = new ArrayList<>(picked.size());
+        for (int[] unit : picked) {
+          List<TreeMap<String, String>> perUnit = reserved.get(unit[0]);
+          if (perUnit.get(unit[1]) == null) {
+            perUnit.set(unit[1], new TreeMap<>());
+          }
+          perUnit.get(unit[1]).put(task.startTime(), task.endTime());
+          assigned.add(new AssignedResource(
+              resourceTypes.get(unit[0]).typeName() + " " + (unit[1] + 1), task.startTime()));
+        }
+        schedule.add(new Schedule(task, assigned));
+      }
+      return schedule;
+    }
+
+    /**
+     * Picks the units a task needs, as pairs of resource type index and unit index.
+     *
+     * @return The units, or {@code null} if the task cannot be scheduled.
+     */
+    private List<int[]> pick(int t, Task task, double maxDistance,
+                             List<List<TreeMap<String, String>>> reserved) {
+      List<int[]> picked = new ArrayList<>();
+      if (types[t].length > 0 && (task.startTime() == null || task.endTime() == null)) {
+        return null;
+      }
+      for (int r = 0; r < types[t].length; r++) {
+        int needed = units[t][r];
+        if (needed <= 0) {
+          continue;
+        }
+        int type = types[t][r];
+        if (type < 0 || kilometers[t][r] > maxDistance) {
+          return null;
+        }
+        List<TreeMap<String, String>> perUnit = reserved.get(type);
+        BitSet free = new BitSet(perUnit.size());
+        for (int u = 0; u < perUnit.size() && free.cardinality() < needed; u++) {
+          if (isFree(perUnit.get(u), task.startTime(), task.endTime())) {
+            free.set(u);
+          }
+        }
+        if (free.cardinality() < needed) {
+          return null;
+        }
+        free.stream().forEach(u -> picked.add(new int[] {type, u}));
+      }
+      return picked;
+    }
+
+    private static boolean isFree(TreeMap<String, String> windows, String start, String end) {
+      if (windows == null) {
+        return true;
+      }
+      Map.Entry<String, String> before = windows.floorEntry(start);
+      if (before != null && before.getValue().compareTo(start) > 0) {
+        return false;
+      }
+      String after = windows.higherKey(start);
+      return after == null || after.compareTo(end) >= 0;
+    }
+  }
+}
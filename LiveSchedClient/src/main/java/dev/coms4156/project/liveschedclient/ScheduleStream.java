@@ -0,0 +1,214 @@
+package dev.coms4156.project.liveschedclient;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+/**
+ * ScheduleStream pushes schedule changes to open schedule dashboards as Server-Sent Events.
+ * Dashboards subscribe per client; one background poller refreshes the schedule of each
+ * client that has subscribers, and the client's own mutations publish their results
+ * directly. A change is diffed by the {@link ScheduleTracker} and rendered once into the
+ * {@code scheduleRows :: changes} fragment, and that same fragment is sent to every
+ * subscriber of the client, so the upstream and rendering cost does not grow with the
+ * number of open dashboards.
+ */
+@Component
+public class ScheduleStream implements SchedulingConfigurer, MeterBinder {
+
+  static final String CHANGES_EVENT = "changes";
+  static final String RELOAD_EVENT = "reload";
+
+  private final LiveSchedService liveSchedService;
+  private final ScheduleTracker tracker;
+  private final ITemplateEngine templateEngine;
+  private final UpstreamExecutor executor;
+  private final LiveSchedStreamProperties properties;
+  private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+  private final AtomicLong polls = new AtomicLong();
+  private final AtomicLong pushes = new AtomicLong();
+
+  /**
+   * Constructor to initialize the stream from the {@code livesched.stream.*} settings.
+   *
+   * @param liveSchedService The service used to refresh schedules.
+   * @param tracker          The per-client record of the schedule last shown.
+   * @param templateEngine   The engine used to render the changes fragment.
+   * @param executor         The executor refreshes run on, off the scheduler thread.
+   * @param properties       The stream settings.
+   */
+  @Autowired
+  public ScheduleStream(LiveSchedService liveSchedService, ScheduleTracker tracker,
+                        ITemplateEngine templateEngine, UpstreamExecutor executor,
+                        LiveSchedStreamProperties properties) {
+    this.liveSchedService = liveSchedService;
+    this.tracker = tracker;
+    this.templateEngine = templateEngine;
+    this.executor = executor;
+    this.properties = properties;
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    registrar.addFixedDelayTask(this::poll, properties.pollInterval());
+  }
+
+  /**
+   * Opens a stream for a dashboard. A dashboard that already missed the latest change is
+   * sent it at once, or told to reload if it is further behind.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param since    The schedule version the dashboard shows.
+   * @return The emitter to return from the controller.
+   */
+  public SseEmitter subscribe(String clientId, long since) {
+    SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+    register(clientId, emitter);
+    if (tracker.version(clientId) != since) {
+      ScheduleDiff diff = tracker.changesSince(clientId, since);
+      if (diff == null) {
+        send(clientId, emitter, SseEmitter.event().name(RELOAD_EVENT).data(""));
+      } else {
+        send(clientId, emitter, changesEvent(diff, render(clientId, diff)));
+      }
+    }
+    return emitter;
+  }
+
+  void register(String clientId, SseEmitter emitter) {
+    subscribers.computeIfAbsent(clientId, id -> new CopyOnWriteArraySet<>()).add(emitter);
+    emitter.onCompletion(() -> unregister(clientId, emitter));
+    emitter.onTimeout(() -> unregister(clientId, emitter));
+    emitter.onError(e -> unregister(clientId, emitter));
+  }
+
+  /**
+   * Records a schedule the client has just read or produced and pushes the change, if any,
+   * to its open dashboards.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param schedule The schedule as read or updated.
+   * @return The diff from the previously recorded version.
+   */
+  public ScheduleDiff publish(String clientId, List<Schedule> schedule) {
+    ScheduleDiff diff = tracker.record(clientId, schedule);
+    if (!diff.isEmpty() && hasSubscribers(clientId)) {
+      // Rendered once; event builders are single-use, so each subscriber gets its own
+      String html = render(clientId, diff);
+      subscribers.getOrDefault(clientId, Set.of())
+          .forEach(emitter -> send(clientId, emitter, changesEvent(diff, html)));
+    }
+    return diff;
+  }
+
+  /**
+   * Refreshes the schedule in the background after a mutation that changed it upstream,
+   * if any dashboard of the client is open.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   */
+  public void refreshSoon(String clientId) {
+    if (hasSubscribers(clientId)) {
+      refresh(clientId);
+    }
+  }
+
+  /**
+   * Polls the schedule of every client with an open dashboard, and keeps idle streams alive
+   * so closed connections are noticed.
+   */
+  void poll() {
+    subscribers.forEach((clientId, emitters) -> {
+      if (emitters.isEmpty()) {
+        subscribers.remove(clientId, emitters);
+        return;
+      }
+      emitters.forEach(emitter -> send(clientId, emitter, SseEmitter.event().comment("")));
+      polls.incrementAndGet();
+      refresh(clientId);
+    });
+  }
+
+  private void refresh(String clientId) {
+    // At most one refresh per client in flight; a slow upstream does not pile them up
+    if (!refreshing.add(clientId)) {
+      return;
+    }
+    executor.supply(() -> liveSchedService.refreshSchedule(clientId))
+        .whenComplete((schedule, e) -> {
+          refreshing.remove(clientId);
+          if (schedule != null && !schedule.isError()) {
+            publish(clientId, schedule.value());
+          }
+        });
+  }
+
+  boolean hasSubscribers(String clientId) {
+    Set<SseEmitter> emitters = subscribers.get(clientId);
+    return emitters != null && !emitters.isEmpty();
+  }
+
+  private String render(String clientId, ScheduleDiff diff) {
+    Context context = new Context(Locale.getDefault());
+    context.setVariable("diff", diff);
+    context.setVariable("clientId", clientId);
+    // An SSE data line ends at a newline; HTML does not need them
+    return templateEngine.process("scheduleRows", Set.of("changes"), context)
+        .replace('\n', ' ');
+  }
+
+  private static SseEmitter.SseEventBuilder changesEvent(ScheduleDiff diff, String html) {
+    return SseEmitter.event()
+        .name(CHANGES_EVENT)
+        .id(String.valueOf(diff.toVersion()))
+        .data(html);
+  }
+
+  private void send(String clientId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+    try {
+      emitter.send(event);
+      pushes.incrementAndGet();
+    } catch (IOException | IllegalStateException e) {
+      // The browser went away; Spring completes the emitter, this just stops using it
+      unregister(clientId, emitter);
+    }
+  }
+
+  private void unregister(String clientId, SseEmitter emitter) {
+    Set<SseEmitter> emitters = subscribers.get(clientId);
+    if (emitters != null) {
+      emitters.remove(emitter);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("livesched.stream.subscribers", subscribers,
+            s -> s.values().stream().mapToInt(Set::size).sum())
+        .description("Open schedule dashboard streams")
+        .register(registry);
+    FunctionCounter.builder("livesched.stream.polls", polls, AtomicLong::get)
+        .description("Upstream schedule polls made for open dashboards")
+        .register(registry);
+    FunctionCounter.builder("livesched.stream.events", pushes, AtomicLong::get)
+        .description("Events and keep-alives sent to open dashboards")
+        .register(registry);
+  }
+}
@@ -0,0 +1,111 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * ScheduleTracker remembers the last schedule each client was shown, numbered by version,
+ * together with the diff that produced it. A client that still shows the previous version
+ * can then be sent just the rows that changed instead of the whole schedule. Versions are
+ * drawn from one counter for all clients, so none is reused, even after a client has been
+ * forgotten.
+ */
+@Component
+public class ScheduleTracker {
+
+  private record Tracked(List<Schedule> schedule, ScheduleDiff lastDiff) {
+  }
+
+  private final Map<String, Tracked> tenants;
+  private long lastVersion;
+
+  /**
+   * Constructor to create the tracker.
+   *
+   * @param properties The cache settings; at most {@code maxEntries} clients are tracked,
+   *                   and the least recently seen is forgotten first.
+   */
+  public ScheduleTracker(LiveSchedCacheProperties properties) {
+    int maxTenants = properties.maxEntries();
+    this.tenants = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Tracked> eldest) {
+        return size() > maxTenants;
+      }
+    };
+  }
+
+  /**
+   * Records the schedule a client is about to be shown.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param schedule The schedule as read or updated.
+   * @return The diff from the previously recorded version, or an empty diff at the current
+   *         version if nothing moved. The first schedule seen for a client counts as all added.
+   */
+  public synchronized ScheduleDiff record(String clientId, List<Schedule> schedule) {
+    Tracked tracked = tenants.get(clientId);
+    if (tracked == null) {
+      tracked = new Tracked(List.of(), ScheduleDiff.none(0));
+    }
+    long version = tracked.lastDiff().toVersion();
+    if (tracked.schedule().equals(schedule) && version > 0) {
+      return ScheduleDiff.none(version);
+    }
+    ScheduleDiff diff = ScheduleDiff.between(tracked.schedule(), schedule, version,
+        ++lastVersion);
+    tenants.put(clientId, new Tracked(List.copyOf(schedule), diff));
+    return diff;
+  }
+
+  /**
+   * Returns the version of the schedule last recorded for a client, first recording the given
+   * schedule as its starting version if none has been recorded. Unlike {@link #record}, it
+   * never moves an existing version, so a page view does not change what the client's other
+   * dashboards are sent.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param schedule The schedule the client is about to be shown.
+   * @return The current version.
+   */
+  public synchronized long baseline(String clientId, List<Schedule> schedule) {
+    Tracked tracked = tenants.get(clientId);
+    if (tracked == null) {
+      return record(clientId, schedule).toVersion();
+    }
+    return tracked.lastDiff().toVersion();
+  }
+
+  /**
+   * Returns the version of the schedule last recorded for a client.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @return The version, or 0 if no schedule has been recorded.
+   */
+  public synchronized long version(String clientId) {
+    Tracked tracked = tenants.get(clientId);
+    return tracked == null ? 0 : tracked.lastDiff().toVersion();
+  }
+
+  /**
+   * Returns the changes a client needs to catch up from the version it shows.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param since    The version the client shows.
+   * @return The last diff if it starts at {@code since}, an empty diff if {@code since} is
+   *         current, or {@code null} if the client is further behind and must reload.
+   */
+  public synchronized ScheduleDiff changesSince(String clientId, long since) {
+    Tracked tracked = tenants.get(clientId);
+    if (tracked == null) {
+      return null;
+    }
+    ScheduleDiff diff = tracked.lastDiff();
+    if (diff.toVersion() == since) {
+      return ScheduleDiff.none(since);
+    }
+    return diff.fromVersion() == since ? diff : null;
+  }
+}
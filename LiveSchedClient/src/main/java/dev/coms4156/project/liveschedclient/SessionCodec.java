@@ -0,0 +1,270 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.web.servlet.FlashMap;
+
+/**
+ * SessionCodec writes session attributes in a compact tagged binary form for the shared
+ * session store. Strings, numbers, booleans, lists, maps, flash maps and this application's
+ * records get a one-byte tag and their fields, with no class descriptors; the records flashed
+ * across a redirect are stored without having to be {@code Serializable}. Anything else falls
+ * back to Java serialization, and only {@code java.base} classes are read back that way.
+ * Safe for concurrent use.
+ */
+public class SessionCodec {
+
+  private static final byte FORMAT = 1;
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte INTEGER = 2;
+  private static final byte LONG = 3;
+  private static final byte DOUBLE = 4;
+  private static final byte TRUE = 5;
+  private static final byte FALSE = 6;
+  private static final byte LIST = 7;
+  private static final byte MAP = 8;
+  private static final byte FLASH_MAP = 9;
+  private static final byte RECORD = 10;
+  private static final byte SERIALIZED = 11;
+
+  private static final String RECORD_PACKAGE = SessionCodec.class.getPackageName() + ".";
+  private static final ObjectInputFilter JAVA_BASE_ONLY =
+      ObjectInputFilter.Config.createFilter("java.base/*;!*");
+
+  /**
+   * Encodes a session attribute.
+   *
+   * @param value The attribute value, or {@code null}.
+   * @return The encoded bytes.
+   * @throws IllegalArgumentException If the value, or anything it holds, can be neither
+   *                                  encoded nor serialized.
+   */
+  public byte[] encode(Object value) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(FORMAT);
+      write(out, value);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decodes a session attribute written by {@link #encode(Object)}.
+   *
+   * @param bytes The encoded bytes.
+   * @return The attribute value, or {@code null}.
+   * @throws IllegalArgumentException If the bytes are not in this codec's format.
+   */
+  public Object decode(byte[] bytes) {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      byte format = in.readByte();
+      if (format != FORMAT) {
+        throw new IllegalArgumentException("Unknown session attribute format " + format);
+      }
+      return read(in);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Malformed session attribute", e);
+    }
+  }
+
+  private void write(DataOutputStream out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String string) {
+      out.writeByte(STRING);
+      writeString(out, string);
+    } else if (value instanceof Integer number) {
+      out.writeByte(INTEGER);
+      out.writeInt(number);
+    } else if (value instanceof Long number) {
+      out.writeByte(LONG);
+      out.writeLong(number);
+    } else if (value instanceof Double number) {
+      out.writeByte(DOUBLE);
+      out.writeDouble(number);
+    } else if (value instanceof Boolean flag) {
+      out.writeByte(flag ? TRUE : FALSE);
+    } else if (value instanceof FlashMap flashMap) {
+      // Before Map, which FlashMap extends
+      out.writeByte(FLASH_MAP);
+      write(out, flashMap.getTargetRequestPath());
+      writeMap(out, flashMap.getTargetRequestParams());
+      out.writeLong(flashMap.getExpirationTime());
+      writeMap(out, flashMap);
+    } else if (value instanceof List<?> list) {
+      out.writeByte(LIST);
+      out.writeInt(list.size());
+      for (Object element : list) {
+        write(out, element);
+      }
+    } else if (value instanceof Map<?, ?> map) {
+      out.writeByte(MAP);
+      writeMap(out, map);
+    } else if (value instanceof Record record
+        && value.getClass().getName().startsWith(RECORD_PACKAGE)) {
+      out.writeByte(RECORD);
+      writeString(out, value.getClass().getName().substring(RECORD_PACKAGE.length()));
+      for (RecordComponent component : value.getClass().getRecordComponents()) {
+        write(out, accessor(component, record));
+      }
+    } else if (value instanceof Serializable) {
+      out.writeByte(SERIALIZED);
+      ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+      try (ObjectOutputStream objects = new ObjectOutputStream(serialized)) {
+        objects.writeObject(value);
+      }
+      out.writeInt(serialized.size());
+      serialized.writeTo(out);
+    } else {
+      throw new IllegalArgumentException(
+          "Cannot store a " + value.getClass().getName() + " in the session");
+    }
+  }
+
+  private void writeMap(DataOutputStream out, Map<?, ?> map) throws IOException {
+    out.writeInt(map.size());
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      write(out, entry.getKey());
+      write(out, entry.getValue());
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String string) throws IOException {
+    byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(utf8.length);
+    out.write(utf8);
+  }
+
+  private Object read(DataInputStream in) throws IOException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return readString(in);
+      case INTEGER:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case DOUBLE:
+        return in.readDouble();
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case LIST:
+        return readList(in);
+      case MAP:
+        return readMap(in, new LinkedHashMap<>());
+      case FLASH_MAP:
+        return readFlashMap(in);
+      case RECORD:
+        return readRecord(in);
+      case SERIALIZED:
+        return readSerialized(in);
+      default:
+        throw new IllegalArgumentException("Unknown session attribute tag " + tag);
+    }
+  }
+
+  private List<Object> readList(DataInputStream in) throws IOException {
+    int size = in.readInt();
+    List<Object> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      list.add(read(in));
+    }
+    return list;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <M extends Map<?, ?>> M readMap(DataInputStream in, M map) throws IOException {
+    int size = in.readInt();
+    for (int i = 0; i < size; i++) {
+      ((Map<Object, Object>) map).put(read(in), read(in));
+    }
+    return map;
+  }
+
+  private FlashMap readFlashMap(DataInputStream in) throws IOException {
+    FlashMap flashMap = new FlashMap();
+    flashMap.setTargetRequestPath((String) read(in));
+    Map<Object, Object> params = readMap(in, new LinkedHashMap<>());
+    params.forEach((name, values) -> ((List<?>) values).forEach(
+        param -> flashMap.addTargetRequestParam((String) name, (String) param)));
+    flashMap.setExpirationTime(in.readLong());
+    return readMap(in, flashMap);
+  }
+
+  private static Object readSerialized(DataInputStream in) throws IOException {
+    byte[] serialized = new byte[in.readInt()];
+    in.readFully(serialized);
+    try (ObjectInputStream objects =
+             new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+      objects.setObjectInputFilter(JAVA_BASE_ONLY);
+      return objects.readObject();
+    } catch (ClassNotFoundException e) {
+      throw new IllegalArgumentException("Unknown serialized session attribute", e);
+    }
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] utf8 = new byte[in.readInt()];
+    in.readFully(utf8);
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+
+  private Object readRecord(DataInputStream in) throws IOException {
+    String name = readString(in);
+    Class<?> type;
+    try {
+      type = Class.forName(RECORD_PACKAGE + name, false, SessionCodec.class.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      throw new IllegalArgumentException("Unknown session record " + name, e);
+    }
+    if (!type.isRecord()) {
+      throw new IllegalArgumentException(name + " is not a record");
+    }
+    RecordComponent[] components = type.getRecordComponents();
+    Class<?>[] types = new Class<?>[components.length];
+    Object[] values = new Object[components.length];
+    for (int i = 0; i < components.length; i++) {
+      types[i] = components[i].getType();
+      values[i] = read(in);
+    }
+    try {
+      Constructor<?> constructor = type.getDeclaredConstructor(types);
+      return constructor.newInstance(values);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("Cannot rebuild session record " + name, e);
+    }
+  }
+
+  private static Object accessor(RecordComponent component, Record record) {
+    try {
+      return component.getAccessor().invoke(record);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalArgumentException(
+          "Cannot read " + component.getName() + " of " + record.getClass().getName(), e);
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package dev.coms4156.project.liveschedclient;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.GenericConversionService;
+
+/**
+ * SessionConfig sets how session attributes are stored. Sessions are kept by Spring Session in
+ * the JDBC store named by {@code spring.datasource.*} rather than in each node's memory, so any
+ * node can serve any browser and a restart logs no one out; the attributes are written with
+ * {@link SessionCodec} instead of Java serialization.
+ */
+@Configuration
+public class SessionConfig {
+
+  /**
+   * Creates the conversion the session repository uses to write and read attributes; Spring
+   * Session picks it up by this bean name.
+   *
+   * @return A {@code ConversionService} between attribute values and their stored bytes.
+   */
+  @Bean
+  public ConversionService springSessionConversionService() {
+    SessionCodec codec = new SessionCodec();
+    GenericConversionService conversionService = new GenericConversionService();
+    conversionService.addConverter(Object.class, byte[].class, codec::encode);
+    conversionService.addConverter(byte[].class, Object.class, codec::decode);
+    return conversionService;
+  }
+}
@@ -0,0 +1,75 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * SingleFlight coalesces concurrent calls for the same key into one. The first caller runs the
+ * loader; callers arriving while it is still running wait for and share its result.
+ *
+ * @param <K> The type of the key identifying identical calls.
+ * @param <V> The type of the shared result.
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final AtomicLong coalesced = new AtomicLong();
+
+  /**
+   * Runs the loader for the key, or joins the call already running for it.
+   *
+   * @param key    The key identifying identical calls.
+   * @param loader Performs the call when no identical call is running.
+   * @return The result of the loader, shared with every caller that joined it.
+   */
+  public V execute(K key, Supplier<V> loader) {
+    CompletableFuture<V> call = new CompletableFuture<>();
+    CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+    if (running != null) {
+      coalesced.incrementAndGet();
+      try {
+        return running.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        throw e;
+      }
+    }
+
+    try {
+      V value = loader.get();
+      call.complete(value);
+      return value;
+    } catch (RuntimeException e) {
+      call.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, call);
+    }
+  }
+
+  /**
+   * Detaches the call running for the key, so later callers start a new call instead of
+   * joining one that may have started before a mutation. Callers already waiting still
+   * receive its result.
+   *
+   * @param key The key identifying the call.
+   */
+  public void forget(K key) {
+    inFlight.remove(key);
+  }
+
+  /**
+   * Returns how many callers joined a running call instead of starting their own.
+   *
+   * @return The number of coalesced calls.
+   */
+  public long coalescedCount() {
+    return coalesced.get();
+  }
+}
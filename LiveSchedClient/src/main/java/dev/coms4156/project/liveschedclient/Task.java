@@ -0,0 +1,36 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.Map;
+
+/**
+ * A task as returned by the LiveSched service's task endpoints.
+ *
+ * @param taskId    The ID of the task.
+ * @param taskName  The name of the task.
+ * @param priority  The priority of the task (1 is the highest, 5 the lowest).
+ * @param startTime The start time of the task.
+ * @param endTime   The end time of the task.
+ * @param location  The location of the task.
+ * @param resources The quantity of each resource type the task needs, keyed by type name.
+ */
+public record Task(String taskId, String taskName, int priority, String startTime,
+                   String endTime, Location location, Map<String, Integer> resources) {
+
+  /**
+   * Normalizes a missing resource map to an empty one.
+   */
+  public Task {
+    resources = resources == null ? Map.of() : resources;
+  }
+
+  /**
+   * Returns a copy of this task with the given start and end times.
+   *
+   * @param startTime The new start time.
+   * @param endTime   The new end time.
+   * @return A new {@code Task} with every other field unchanged.
+   */
+  public Task withTimes(String startTime, String endTime) {
+    return new Task(taskId, taskName, priority, startTime, endTime, location, resources);
+  }
+}
@@ -0,0 +1,251 @@
+package dev.coms4156.project.liveschedclient;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import org.springframework.stereotype.Component;
+
+/**
+ * TaskImporter creates tasks in bulk from a CSV or NDJSON upload. Rows are read one at a
+ * time and sent to the addTask endpoint on the {@link UpstreamExecutor}, with at most
+ * {@code livesched.import.concurrency} calls in flight; reading pauses while the window is
+ * full, so memory stays flat however large the upload is. When the executor itself is full,
+ * the row is added on the importing thread instead, which pauses reading as well. One NDJSON
+ * result line is written per row as its call completes, followed by a summary line.
+ *
+ * <p>CSV rows hold {@code taskName,priority,startTime,endTime,latitude,longitude}, with an
+ * optional header row. NDJSON rows are objects with the same field names.
+ */
+@Component
+public class TaskImporter {
+
+  /**
+   * Upload formats understood by the importer.
+   */
+  public enum Format {
+    CSV, NDJSON;
+
+    /**
+     * Picks the format of an uploaded file from its name.
+     *
+     * @param filename The name of the uploaded file, may be {@code null}.
+     * @return {@code NDJSON} for {@code .ndjson}, {@code .jsonl} and {@code .json} files,
+     *         otherwise {@code CSV}.
+     */
+    public static Format fromFilename(String filename) {
+      String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+      return name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")
+          ? NDJSON : CSV;
+    }
+  }
+
+  record ImportRow(String taskName, Integer priority, String startTime, String endTime,
+                   Double latitude, Double longitude) {
+  }
+
+  private record RowResult(long row, Map<String, Object> response) {
+  }
+
+  private static final ObjectMapper MAPPER = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+  private static final ObjectReader ROW_READER = MAPPER.readerFor(ImportRow.class);
+  private static final ObjectWriter LINE_WRITER = MAPPER.writer();
+
+  private final LiveSchedService liveSchedService;
+  private final UpstreamExecutor executor;
+  private final int concurrency;
+
+  /**
+   * Constructor to initialize the importer.
+   *
+   * @param liveSchedService The service used to add each task.
+   * @param executor The executor that runs the addTask calls.
+   * @param properties The import settings.
+   */
+  public TaskImporter(LiveSchedService liveSchedService, UpstreamExecutor executor,
+                      LiveSchedImportProperties properties) {
+    this.liveSchedService = liveSchedService;
+    this.executor = executor;
+    this.concurrency = Math.max(1, properties.concurrency());
+  }
+
+  /**
+   * Imports every row of an upload and reports the outcome of each row.
+   *
+   * @param in       The uploaded file.
+   * @param format   The format of the upload.
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param out      The stream the NDJSON report is written to.
+   * @throws IOException If the upload cannot be read or the report cannot be written.
+   */
+  public void importTasks(InputStream in, Format format, String clientId, OutputStream out)
+      throws IOException {
+    Semaphore window = new Semaphore(concurrency);
+    BlockingQueue<RowResult> completed = new LinkedBlockingQueue<>();
+    Writer report = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    int[] totals = new int[2]; // imported, failed
+    long submitted = 0;
+    long reported = 0;
+
+    try (BufferedReader reader =
+             new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      long row = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+        row++;
+        if (line.isBlank() || (row == 1 && format == Format.CSV && isHeader(line))) {
+          continue;
+        }
+
+        ImportRow parsed;
+        try {
+          parsed = format == Format.CSV ? parseCsv(line) : ROW_READER.readValue(line);
+          validate(parsed);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+          writeResult(report, new RowResult(row, Map.of("error", invalidRow(e))), totals);
+          continue;
+        }
+
+        // Blocks while the window is full, which stops reading the upload
+        window.acquireUninterruptibly();
+        long current = row;
+        executor.supplyOrRun(() -> add(parsed, clientId))
+            .whenComplete((response, failure) -> {
+              completed.add(new RowResult(current, failure == null ? response
+                  : Map.of("error", "Failed to add task: " + cause(failure).getMessage())));
+              window.release();
+            });
+        submitted++;
+
+        // Report whatever finished while this row was being read
+        RowResult result;
+        while ((result = completed.poll()) != null) {
+          writeResult(report, result, totals);
+          reported++;
+        }
+        report.flush();
+      }
+
+      while (reported < submitted) {
+        writeResult(report, completed.take(), totals);
+        reported++;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Import interrupted", e);
+    }
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("imported", totals[0]);
+    summary.put("failed", totals[1]);
+    report.write(LINE_WRITER.writeValueAsString(summary));
+    report.write('\n');
+    report.flush();
+  }
+
+  private Map<String, Object> add(ImportRow row, String clientId) {
+    return liveSchedService.addTask(row.taskName(), row.priority(), row.startTime(),
+        row.endTime(), row.latitude(), row.longitude(), clientId);
+  }
+
+  private static Throwable cause(Throwable failure) {
+    return failure instanceof CompletionException && failure.getCause() != null
+        ? failure.getCause() : failure;
+  }
+
+  private static void writeResult(Writer report, RowResult result, int[] totals)
+      throws IOException {
+    Map<String, Object> line = new LinkedHashMap<>();
+    line.put("row", result.row());
+    if (result.response().containsKey("error")) {
+      line.put("error", result.response().get("error"));
+      totals[1]++;
+    } else {
+      line.put("taskId", result.response().get("taskId"));
+      totals[0]++;
+    }
+    report.write(LINE_WRITER.writeValueAsString(line));
+    report.write('\n');
+  }
+
+  private static String invalidRow(Exception e) {
+    String reason = e instanceof JsonProcessingException json ? json.getOriginalMessage()
+        : e.getMessage();
+    return "Invalid row: " + reason;
+  }
+
+  private static boolean isHeader(String line) {
+    return line.toLowerCase(Locale.ROOT).startsWith("taskname");
+  }
+
+  private static void validate(ImportRow row) {
+    if (row.taskName() == null || row.taskName().isBlank() || row.priority() == null
+        || row.startTime() == null || row.endTime() == null
+        || row.latitude() == null || row.longitude() == null) {
+      throw new IllegalArgumentException("missing field");
+    }
+  }
+
+  /**
+   * Helper method to parse a CSV row. Fields may be wrapped in double quotes, with a
+   * doubled quote standing for a literal one.
+   *
+   * @param line The CSV row.
+   * @return The parsed row.
+   */
+  static ImportRow parseCsv(String line) {
+    List<String> fields = new ArrayList<>(6);
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString().trim());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString().trim());
+
+    if (fields.size() != 6) {
+      throw new IllegalArgumentException("expected 6 fields but found " + fields.size());
+    }
+    try {
+      return new ImportRow(fields.get(0), Integer.valueOf(fields.get(1)), fields.get(2),
+          fields.get(3), Double.valueOf(fields.get(4)), Double.valueOf(fields.get(5)));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("malformed number " + e.getMessage(), e);
+    }
+  }
+}
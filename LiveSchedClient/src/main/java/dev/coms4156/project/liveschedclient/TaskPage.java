@@ -0,0 +1,52 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.List;
+
+/**
+ * One page of a client's task list as shown on the task dashboard.
+ *
+ * @param tasks      The tasks on this page.
+ * @param page       The 1-based number of this page.
+ * @param size       The maximum number of tasks per page.
+ * @param totalTasks The number of tasks across all pages.
+ * @param nextCursor The ID of the last task on this page, or {@code null} if it is the last
+ *                   page. Passing it back as {@code cursor} requests the following page.
+ */
+public record TaskPage(List<Task> tasks, int page, int size, int totalTasks, String nextCursor) {
+
+  /**
+   * Returns the number of pages needed to show every task.
+   *
+   * @return The total number of pages, at least 1.
+   */
+  public int totalPages() {
+    return Math.max(1, (totalTasks + size - 1) / size);
+  }
+
+  /**
+   * Indicates whether a page precedes this one.
+   *
+   * @return {@code true} if this is not the first page.
+   */
+  public boolean hasPrevious() {
+    return page > 1;
+  }
+
+  /**
+   * Indicates whether a page follows this one.
+   *
+   * @return {@code true} if this is not the last page.
+   */
+  public boolean hasNext() {
+    return nextCursor != null;
+  }
+
+  /**
+   * Returns the 1-based position of the first task on this page within the whole list.
+   *
+   * @return The position of the first task, or 0 if the page is empty.
+   */
+  public int firstPosition() {
+    return tasks.isEmpty() ? 0 : (page - 1) * size + 1;
+  }
+}
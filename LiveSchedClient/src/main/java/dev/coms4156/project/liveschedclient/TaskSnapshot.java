@@ -0,0 +1,151 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TaskSnapshot is the cached copy of a client's task list. Tasks are kept in a priority
+ * index that is built once per fetch and updated in place when a task is added or deleted,
+ * so sorted views are emitted without sorting and each view is emitted at most once between
+ * changes.
+ */
+public class TaskSnapshot {
+
+  /**
+   * The orders in which a snapshot can be viewed.
+   */
+  public enum Order {
+    /** The order returned by the LiveSched service. */
+    NONE,
+    /** Highest priority (1) first. */
+    PRIORITY_ASC,
+    /** Lowest priority (5) first. */
+    PRIORITY_DESC;
+
+    /**
+     * Maps the dashboard's {@code sort} parameter to an order.
+     *
+     * @param sort Either {@code "asc"}, {@code "desc"} or {@code null}.
+     * @return The matching order, or {@code NONE} for any other value.
+     */
+    public static Order fromSortParam(String sort) {
+      if ("asc".equalsIgnoreCase(sort)) {
+        return PRIORITY_ASC;
+      } else if ("desc".equalsIgnoreCase(sort)) {
+        return PRIORITY_DESC;
+      }
+      return NONE;
+    }
+  }
+
+  private record SortedView(List<Task> tasks, Map<String, Integer> positions) {
+  }
+
+  private final Map<String, Task> tasks = new LinkedHashMap<>();
+  private final BucketIndex<Task> byPriority;
+  private final Map<Order, SortedView> views = new EnumMap<>(Order.class);
+
+  /**
+   * Constructor to create a snapshot of a task list.
+   *
+   * @param tasks The tasks in the order returned by the LiveSched service.
+   */
+  public TaskSnapshot(List<Task> tasks) {
+    for (Task task : tasks) {
+      this.tasks.put(task.taskId(), task);
+    }
+    this.byPriority = new BucketIndex<>(this.tasks.values(), Task::priority, Task::taskId);
+  }
+
+  /**
+   * Returns the tasks in the order returned by the LiveSched service, with added tasks last.
+   *
+   * @return An unmodifiable list of tasks.
+   */
+  public synchronized List<Task> tasks() {
+    return view(Order.NONE).tasks();
+  }
+
+  /**
+   * Returns the tasks in the given order. Tasks of equal priority keep the service order.
+   *
+   * @param order The order to view the tasks in.
+   * @return An unmodifiable list of tasks.
+   */
+  public synchronized List<Task> sorted(Order order) {
+    return view(order).tasks();
+  }
+
+  /**
+   * Returns one page of the tasks in the given order. A cursor, when it names a task in the
+   * snapshot, takes precedence over the page number and starts the page right after that task.
+   *
+   * @param order  The order to view the tasks in.
+   * @param page   The 1-based page number to return.
+   * @param size   The maximum number of tasks per page.
+   * @param cursor The ID of the last task of the previous page, or {@code null}.
+   * @return The requested {@code TaskPage}.
+   */
+  public synchronized TaskPage page(Order order, int page, int size, String cursor) {
+    SortedView view = view(order);
+    int total = view.tasks().size();
+    int start = (Math.max(page, 1) - 1) * size;
+    if (cursor != null) {
+      Integer position = view.positions().get(cursor);
+      if (position != null) {
+        start = position + 1;
+      }
+    }
+    start = Math.min(start, total);
+    int end = Math.min(start + size, total);
+    List<Task> window = view.tasks().subList(start, end);
+    String nextCursor = end < total ? window.get(window.size() - 1).taskId() : null;
+    return new TaskPage(window, start / size + 1, size, total, nextCursor);
+  }
+
+  /**
+   * Adds a newly created task, or replaces the task with the same ID.
+   *
+   * @param task The task to add.
+   */
+  public synchronized void add(Task task) {
+    tasks.put(task.taskId(), task);
+    byPriority.put(task);
+    views.clear();
+  }
+
+  /**
+   * Removes a deleted task.
+   *
+   * @param taskId The ID of the task to remove.
+   * @return {@code true} if the task was in the snapshot.
+   */
+  public synchronized boolean remove(String taskId) {
+    if (tasks.remove(taskId) == null) {
+      return false;
+    }
+    byPriority.remove(taskId);
+    views.clear();
+    return true;
+  }
+
+  private SortedView view(Order order) {
+    return views.computeIfAbsent(order, this::buildView);
+  }
+
+  private SortedView buildView(Order order) {
+    List<Task> ordered = switch (order) {
+      case PRIORITY_ASC -> byPriority.ascending();
+      case PRIORITY_DESC -> byPriority.descending();
+      default -> List.copyOf(tasks.values());
+    };
+    Map<String, Integer> positions = new HashMap<>();
+    for (int i = 0; i < ordered.size(); i++) {
+      positions.put(ordered.get(i).taskId(), i);
+    }
+    return new SortedView(ordered, positions);
+  }
+}
@@ -0,0 +1,265 @@
+package dev.coms4156.project.liveschedclient;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * TenantCache is a bounded, time-limited read-through cache of LiveSched reads keyed by client
+ * ID and dataset. Entries expire after a fixed TTL, the least recently used entry is evicted
+ * once the cache is full, and mutations invalidate exactly the datasets they change.
+ * Concurrent misses for the same key share a single upstream read. Every cached value carries
+ * a version that changes whenever the value does, so pages rendered from it can be validated
+ * without looking at the data again.
+ */
+@Component
+public class TenantCache implements MeterBinder {
+
+  /**
+   * The LiveSched reads that can be cached per client.
+   */
+  public enum Dataset {
+    TASKS, RESOURCE_TYPES, SCHEDULE
+  }
+
+  private record Key(String clientId, Dataset dataset) {
+  }
+
+  private record Entry(Object value, long expiresAt, long version) {
+  }
+
+  private final long ttlNanos;
+  private final int maxEntries;
+  private final LongSupplier ticker;
+  private final Map<Key, Entry> entries;
+  // Reads whose result may still be stored; a mutation removes its key so a read that
+  // started before the mutation cannot overwrite the newer state
+  private final Map<Key, Object> pendingLoads = new HashMap<>();
+  private final SingleFlight<Key, LiveSchedResult<?>> singleFlight = new SingleFlight<>();
+
+  private final AtomicLong versions = new AtomicLong();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * Constructor to initialize the cache from the {@code livesched.cache.*} settings.
+   *
+   * @param properties The cache settings.
+   */
+  @Autowired
+  public TenantCache(LiveSchedCacheProperties properties) {
+    this(properties, System::nanoTime);
+  }
+
+  /**
+   * Constructor to initialize the cache with an explicit time source.
+   *
+   * @param properties The cache settings.
+   * @param ticker     A source of monotonic time in nanoseconds.
+   */
+  TenantCache(LiveSchedCacheProperties properties, LongSupplier ticker) {
+    this.ttlNanos = properties.ttl().toNanos();
+    this.maxEntries = properties.maxEntries();
+    this.ticker = ticker;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+        if (size() > TenantCache.this.maxEntries) {
+          evictions.incrementAndGet();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns the cached value for a client's dataset, loading and caching it on a miss.
+   * Concurrent misses for the same key share one load. Failed loads are returned to the caller
+   * but never cached, and a load overtaken by a mutation of the same key is not cached either.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param dataset  The dataset being read.
+   * @param loader   Fetches the dataset from the LiveSched service.
+   * @param <T>      The type of the cached value.
+   * @return The cached or freshly loaded result.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> LiveSchedResult<T> getOrLoad(String clientId, Dataset dataset,
+                                          Supplier<LiveSchedResult<T>> loader) {
+    Key key = new Key(clientId, dataset);
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      if (entry != null && entry.expiresAt() - ticker.getAsLong() > 0) {
+        hits.incrementAndGet();
+        return LiveSchedResult.ok((T) entry.value());
+      }
+      // An expired entry is kept until the reload, which reuses its version if nothing moved
+    }
+    misses.incrementAndGet();
+
+    return (LiveSchedResult<T>) singleFlight.execute(key, () -> load(key, loader));
+  }
+
+  private <T> LiveSchedResult<T> load(Key key, Supplier<LiveSchedResult<T>> loader) {
+    Object token = new Object();
+    synchronized (entries) {
+      pendingLoads.put(key, token);
+    }
+    LiveSchedResult<T> result;
+    try {
+      result = loader.get();
+    } catch (RuntimeException e) {
+      synchronized (entries) {
+        pendingLoads.remove(key, token);
+      }
+      throw e;
+    }
+    synchronized (entries) {
+      if (pendingLoads.remove(key, token) && !result.isError()) {
+        Entry previous = entries.get(key);
+        long version = previous != null && Objects.equals(previous.value(), result.value())
+            ? previous.version() : versions.incrementAndGet();
+        entries.put(key, new Entry(result.value(), ticker.getAsLong() + ttlNanos, version));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Stores a freshly obtained value for a client's dataset, for example the schedule returned
+   * by an update.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param dataset  The dataset being stored.
+   * @param value    The value to cache.
+   */
+  public void put(String clientId, Dataset dataset, Object value) {
+    Key key = new Key(clientId, dataset);
+    synchronized (entries) {
+      pendingLoads.remove(key);
+      singleFlight.forget(key);
+      entries.put(key, new Entry(value, ticker.getAsLong() + ttlNanos,
+          versions.incrementAndGet()));
+    }
+  }
+
+  /**
+   * Changes a client's cached dataset in place, for example to add a task that was just
+   * created. A read in flight for the same dataset is detached so it cannot overwrite the
+   * changed value. Nothing happens if the dataset is not cached.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param dataset  The dataset being changed.
+   * @param change   Applies the change to the cached value.
+   * @param <T>      The type of the cached value.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> void update(String clientId, Dataset dataset, Consumer<T> change) {
+    Key key = new Key(clientId, dataset);
+    synchronized (entries) {
+      pendingLoads.remove(key);
+      singleFlight.forget(key);
+      Entry entry = entries.get(key);
+      if (entry != null && entry.expiresAt() - ticker.getAsLong() > 0) {
+        change.accept((T) entry.value());
+        entries.put(key, new Entry(entry.value(), entry.expiresAt(), versions.incrementAndGet()));
+      }
+    }
+  }
+
+  /**
+   * Returns the value last cached for a client's dataset, even if it has expired, so a reload
+   * can hand back the cached value when nothing changed and keep its version.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param dataset  The dataset being read.
+   * @param <T>      The type of the cached value.
+   * @return The cached value, or {@code null} if there is none.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T peek(String clientId, Dataset dataset) {
+    synchronized (entries) {
+      Entry entry = entries.get(new Key(clientId, dataset));
+      return entry == null ? null : (T) entry.value();
+    }
+  }
+
+  /**
+   * Returns the version of a client's cached dataset. Versions are unique across the cache
+   * and change whenever the cached value is stored or changed in place; a reload that returns
+   * an equal value keeps its version.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param dataset  The dataset being read.
+   * @return The version, or 0 if the dataset is not cached.
+   */
+  public long version(String clientId, Dataset dataset) {
+    synchronized (entries) {
+      Entry entry = entries.get(new Key(clientId, dataset));
+      return entry != null && entry.expiresAt() - ticker.getAsLong() > 0 ? entry.version() : 0;
+    }
+  }
+
+  /**
+   * Removes the given datasets of a client so the next read fetches them again.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param datasets The datasets changed by a mutation.
+   */
+  public void invalidate(String clientId, Dataset... datasets) {
+    synchronized (entries) {
+      for (Dataset dataset : datasets) {
+        Key key = new Key(clientId, dataset);
+        pendingLoads.remove(key);
+        singleFlight.forget(key);
+        entries.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of cached entries.
+   *
+   * @return The current entry count.
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("livesched.cache.gets", hits, AtomicLong::get)
+        .tag("result", "hit")
+        .description("Number of LiveSched reads served from the cache")
+        .register(registry);
+    FunctionCounter.builder("livesched.cache.gets", misses, AtomicLong::get)
+        .tag("result", "miss")
+        .description("Number of LiveSched reads that had to be fetched")
+        .register(registry);
+    FunctionCounter.builder("livesched.cache.evictions", evictions, AtomicLong::get)
+        .description("Number of entries evicted because the cache was full")
+        .register(registry);
+    FunctionCounter.builder("livesched.cache.coalesced", singleFlight,
+            SingleFlight::coalescedCount)
+        .description("Number of LiveSched reads that joined an identical read in flight")
+        .register(registry);
+    Gauge.builder("livesched.cache.size", this, TenantCache::size)
+        .description("Number of cached LiveSched reads")
+        .register(registry);
+  }
+}
@@ -0,0 +1,29 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling the LiveSched service for a client that is over its rate limit or
+ * queue depth. It is not a {@code RestClientException}, so it passes through the service's
+ * error handling and is answered with 429 Too Many Requests.
+ */
+public class TenantThrottledException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  /**
+   * Constructor to create the exception for a client.
+   *
+   * @param clientId   The ID of the throttled client.
+   * @param reason     Why the call was rejected.
+   * @param retryAfter How long the client should wait before trying again.
+   */
+  public TenantThrottledException(String clientId, String reason, Duration retryAfter) {
+    super("Too many requests for client " + clientId + ": " + reason);
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration retryAfter() {
+    return retryAfter;
+  }
+}
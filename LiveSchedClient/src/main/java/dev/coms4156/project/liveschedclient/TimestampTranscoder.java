@@ -0,0 +1,130 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * TimestampTranscoder turns the service's ISO-8601 local date-times ({@code yyyy-MM-ddTHH:mm}
+ * with optional seconds and fraction) into the {@code yyyy-MM-dd HH:mm} display layout. The
+ * common layout is validated field by field and copied straight into the result, without a
+ * {@code LocalDateTime} or formatter in between; anything else falls back to
+ * {@code LocalDateTime.parse}, so invalid input fails exactly as before. Results are kept in a
+ * small direct-mapped table, so the timestamps that repeat across rows and reloads share one
+ * display string. Safe for concurrent use.
+ */
+public class TimestampTranscoder {
+
+  private static final DateTimeFormatter FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+  private static final int DISPLAY_LENGTH = 16;
+  private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+  // Each slot holds an immutable pair, so a racing reader sees either a whole entry or none
+  private final Entry[] entries;
+  private final int mask;
+
+  /**
+   * Constructor to create a transcoder.
+   *
+   * @param capacity The number of remembered timestamps, rounded up to a power of two.
+   */
+  public TimestampTranscoder(int capacity) {
+    int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+    this.entries = new Entry[size];
+    this.mask = size - 1;
+  }
+
+  /**
+   * Converts a service timestamp for display.
+   *
+   * @param timestamp A {@code String} holding an ISO-8601 local date-time.
+   * @return The {@code yyyy-MM-dd HH:mm} form, or {@code null} if the input is null.
+   * @throws java.time.format.DateTimeParseException If the input is not a valid date-time.
+   */
+  public String transcode(String timestamp) {
+    if (timestamp == null) {
+      return null;
+    }
+    int slot = spread(timestamp.hashCode()) & mask;
+    Entry entry = entries[slot];
+    if (entry != null && entry.timestamp.equals(timestamp)) {
+      return entry.display;
+    }
+    String display = isCommonLayout(timestamp)
+        ? copyForDisplay(timestamp)
+        : LocalDateTime.parse(timestamp).format(FORMATTER);
+    entries[slot] = new Entry(timestamp, display);
+    return display;
+  }
+
+  private static String copyForDisplay(String timestamp) {
+    byte[] display = new byte[DISPLAY_LENGTH];
+    for (int i = 0; i < DISPLAY_LENGTH; i++) {
+      display[i] = (byte) timestamp.charAt(i);
+    }
+    display[10] = ' ';
+    return new String(display, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Checks for {@code yyyy-MM-ddTHH:mm[:ss[.f{1,9}]]} with in-range fields, the only layout
+   * copied without parsing.
+   */
+  static boolean isCommonLayout(String timestamp) {
+    int length = timestamp.length();
+    if (length < DISPLAY_LENGTH || timestamp.charAt(4) != '-' || timestamp.charAt(7) != '-'
+        || timestamp.charAt(10) != 'T' || timestamp.charAt(13) != ':') {
+      return false;
+    }
+    int year = digits(timestamp, 0, 4);
+    int month = digits(timestamp, 5, 2);
+    int day = digits(timestamp, 8, 2);
+    int hour = digits(timestamp, 11, 2);
+    int minute = digits(timestamp, 14, 2);
+    if (year < 0 || month < 1 || month > 12 || day < 1 || day > DAYS_IN_MONTH[month - 1]
+        || (month == 2 && day == 29 && !isLeap(year))
+        || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+      return false;
+    }
+    if (length == DISPLAY_LENGTH) {
+      return true;
+    }
+    if (length < 19 || timestamp.charAt(16) != ':') {
+      return false;
+    }
+    int second = digits(timestamp, 17, 2);
+    if (second < 0 || second > 59) {
+      return false;
+    }
+    if (length == 19) {
+      return true;
+    }
+    int fraction = length - 20;
+    return timestamp.charAt(19) == '.' && fraction >= 1 && fraction <= 9
+        && digits(timestamp, 20, fraction) >= 0;
+  }
+
+  private static int digits(String text, int from, int count) {
+    int value = 0;
+    for (int i = from; i < from + count; i++) {
+      int digit = text.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static boolean isLeap(int year) {
+    return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private record Entry(String timestamp, String display) {
+  }
+}
@@ -0,0 +1,93 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * UpstreamExecutor runs LiveSched calls off the request thread so a controller can issue
+ * several of them concurrently. Each call gets its own virtual thread when enabled and
+ * supported by the JVM; otherwise calls share a fixed pool of platform threads, and at most
+ * {@code queue-capacity} calls wait for one. A call beyond that is not run: its future fails
+ * with {@link RejectedExecutionException}, so a slow upstream cannot queue work without limit.
+ */
+@Component
+public class UpstreamExecutor implements DisposableBean {
+
+  private static final int FIRST_VIRTUAL_THREAD_RELEASE = 21;
+
+  private final Executor executor;
+
+  /**
+   * Constructor to initialize the executor from the {@code livesched.async.*} settings.
+   *
+   * @param properties The executor settings.
+   */
+  public UpstreamExecutor(LiveSchedAsyncProperties properties) {
+    if (properties.virtualThreads()
+        && Runtime.version().feature() >= FIRST_VIRTUAL_THREAD_RELEASE) {
+      this.executor = new VirtualThreadTaskExecutor("livesched-");
+    } else {
+      ThreadPoolExecutor pool = new ThreadPoolExecutor(
+          properties.poolSize(), properties.poolSize(), 60, TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(Math.max(1, properties.queueCapacity())),
+          new CustomizableThreadFactory("livesched-"), new ThreadPoolExecutor.AbortPolicy());
+      pool.allowCoreThreadTimeOut(true);
+      this.executor = pool;
+    }
+  }
+
+  /**
+   * Runs a call asynchronously.
+   *
+   * @param call The call to run.
+   * @param <T>  The type of the call's result.
+   * @return A {@code CompletableFuture} completed with the call's result, or failed with
+   *         {@link RejectedExecutionException} if too many calls are already waiting.
+   */
+  public <T> CompletableFuture<T> supply(Supplier<T> call) {
+    try {
+      return CompletableFuture.supplyAsync(call, executor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Runs a call asynchronously, or on the calling thread if too many calls are already
+   * waiting. A caller that submits calls in a loop is then held back until the pool catches up,
+   * and no call is dropped.
+   *
+   * @param call The call to run.
+   * @param <T>  The type of the call's result.
+   * @return A {@code CompletableFuture} completed with the call's result, already complete if
+   *         the call ran on the calling thread.
+   */
+  public <T> CompletableFuture<T> supplyOrRun(Supplier<T> call) {
+    try {
+      return CompletableFuture.supplyAsync(call, executor);
+    } catch (RejectedExecutionException e) {
+      try {
+        return CompletableFuture.completedFuture(call.get());
+      } catch (RuntimeException failure) {
+        return CompletableFuture.failedFuture(failure);
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (executor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+}
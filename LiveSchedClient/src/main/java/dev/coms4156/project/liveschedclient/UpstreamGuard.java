@@ -0,0 +1,181 @@
+package dev.coms4156.project.liveschedclient;
+
+import dev.coms4156.project.liveschedclient.CircuitBreaker.State;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * UpstreamGuard wraps LiveSched calls in a circuit breaker per endpoint, and retries failed
+ * idempotent calls with jittered exponential backoff. Only I/O errors, timeouts and 5xx
+ * responses count as failures; a 4xx response means the service is up and answering.
+ *
+ * <p>Circuit states are served by the {@code circuitbreakers} actuator endpoint and, with
+ * transition, rejection and retry counts, as {@code livesched.circuit.*} metrics.
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+public class UpstreamGuard implements MeterBinder {
+
+  /**
+   * Pauses the calling thread between retries.
+   */
+  interface Sleeper {
+    void sleep(long nanos) throws InterruptedException;
+  }
+
+  private final LiveSchedResilienceProperties properties;
+  private final LongSupplier ticker;
+  private final Sleeper sleeper;
+  private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+  private volatile MeterRegistry registry;
+
+  /**
+   * Constructor to initialize the guard from the {@code livesched.resilience.*} settings.
+   *
+   * @param properties The breaker and retry settings.
+   */
+  @Autowired
+  public UpstreamGuard(LiveSchedResilienceProperties properties) {
+    this(properties, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+  }
+
+  /**
+   * Constructor to initialize the guard with an explicit time source and sleeper.
+   *
+   * @param properties The breaker and retry settings.
+   * @param ticker     A source of monotonic time in nanoseconds.
+   * @param sleeper    Pauses between retries.
+   */
+  UpstreamGuard(LiveSchedResilienceProperties properties, LongSupplier ticker,
+                Sleeper sleeper) {
+    this.properties = properties;
+    this.ticker = ticker;
+    this.sleeper = sleeper;
+  }
+
+  /**
+   * Makes a call to an endpoint through its circuit breaker.
+   *
+   * @param endpoint   The path of the endpoint, which names its breaker.
+   * @param idempotent Whether the call may be retried after a failure.
+   * @param call       The call to make.
+   * @param <T>        The type of the call's result.
+   * @return The result of the call.
+   * @throws CircuitOpenException If the endpoint's circuit is open.
+   */
+  public <T> T call(String endpoint, boolean idempotent, Supplier<T> call) {
+    CircuitBreaker breaker = breaker(endpoint);
+    int retries = idempotent ? properties.maxRetries() : 0;
+    for (int attempt = 0; ; attempt++) {
+      CircuitBreaker.Permit permit = breaker.tryAcquire();
+      if (permit == null) {
+        throw new CircuitOpenException(endpoint);
+      }
+      try {
+        T result = call.get();
+        breaker.onSuccess(permit);
+        return result;
+      } catch (ResourceAccessException | HttpServerErrorException e) {
+        breaker.onFailure(permit);
+        if (attempt >= retries) {
+          throw e;
+        }
+        retried(endpoint);
+        backOff(attempt, e);
+      } catch (RuntimeException e) {
+        breaker.onSuccess(permit);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Reports the state of every circuit that has been used.
+   *
+   * @return The state of each endpoint's circuit, by endpoint path.
+   */
+  @ReadOperation
+  public Map<String, State> states() {
+    Map<String, State> states = new TreeMap<>();
+    breakers.forEach((endpoint, breaker) -> states.put(endpoint, breaker.state()));
+    return states;
+  }
+
+  CircuitBreaker breaker(String endpoint) {
+    return breakers.computeIfAbsent(endpoint, e -> {
+      CircuitBreaker breaker = new CircuitBreaker(properties, ticker);
+      MeterRegistry current = registry;
+      if (current != null) {
+        register(current, e, breaker);
+      }
+      return breaker;
+    });
+  }
+
+  private void backOff(int attempt, RuntimeException failure) {
+    // Full jitter: a random delay up to the capped exponential backoff
+    long cap = Math.min(properties.retryMaxDelay().toNanos(),
+        properties.retryBaseDelay().toNanos() << Math.min(attempt, 30));
+    try {
+      sleeper.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw failure;
+    }
+  }
+
+  private void retried(String endpoint) {
+    MeterRegistry current = registry;
+    if (current != null) {
+      Counter.builder("livesched.circuit.retries")
+          .description("Retries of failed idempotent LiveSched calls")
+          .tag("endpoint", endpoint)
+          .register(current)
+          .increment();
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.registry = registry;
+    breakers.forEach((endpoint, breaker) -> register(registry, endpoint, breaker));
+  }
+
+  private static void register(MeterRegistry registry, String endpoint,
+                               CircuitBreaker breaker) {
+    Gauge.builder("livesched.circuit.state", breaker, b -> b.state().ordinal())
+        .description("Circuit state: 0 closed, 1 half-open, 2 open")
+        .tag("endpoint", endpoint)
+        .register(registry);
+    FunctionCounter.builder("livesched.circuit.rejected", breaker,
+            CircuitBreaker::rejectedCount)
+        .description("Calls failed fast while the circuit was open")
+        .tag("endpoint", endpoint)
+        .register(registry);
+    for (State state : State.values()) {
+      FunctionCounter.builder("livesched.circuit.transitions", breaker,
+              b -> b.transitionCount(state))
+          .description("Circuit state transitions")
+          .tag("endpoint", endpoint)
+          .tag("state", state.name().toLowerCase(Locale.ROOT))
+          .register(registry);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * UpstreamHealthMonitor pings the LiveSched service in the background and keeps the outcome
+ * of the latest check together with a moving average of the ping latency. Controllers read
+ * the cached state instead of pinging on the request thread, and the state is reported by
+ * the actuator health endpoint.
+ */
+@Component
+public class UpstreamHealthMonitor implements HealthIndicator, SchedulingConfigurer {
+
+  /**
+   * The outcome of the latest check.
+   */
+  public enum Status {
+    UNKNOWN, UP, DOWN
+  }
+
+  private record Snapshot(Status status, Instant checkedAt, double latencyEwmaMillis,
+                          String error) {
+  }
+
+  private final LiveSchedService liveSchedService;
+  private final LiveSchedHealthProperties properties;
+  private final LongSupplier ticker;
+  private volatile Snapshot snapshot = new Snapshot(Status.UNKNOWN, null, Double.NaN, null);
+
+  /**
+   * Constructor to initialize the monitor from the {@code livesched.health.*} settings.
+   *
+   * @param liveSchedService The service used to ping the server.
+   * @param properties       The health check settings.
+   */
+  @Autowired
+  public UpstreamHealthMonitor(LiveSchedService liveSchedService,
+                               LiveSchedHealthProperties properties) {
+    this(liveSchedService, properties, System::nanoTime);
+  }
+
+  /**
+   * Constructor to initialize the monitor with an explicit time source.
+   *
+   * @param liveSchedService The service used to ping the server.
+   * @param properties       The health check settings.
+   * @param ticker           A source of monotonic time in nanoseconds.
+   */
+  UpstreamHealthMonitor(LiveSchedService liveSchedService,
+                        LiveSchedHealthProperties properties, LongSupplier ticker) {
+    this.liveSchedService = liveSchedService;
+    this.properties = properties;
+    this.ticker = ticker;
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    registrar.addFixedDelayTask(this::check, properties.interval());
+  }
+
+  /**
+   * Pings the server once and records the outcome. Only successful pings feed the latency
+   * average, so a timeout does not skew it.
+   */
+  void check() {
+    long start = ticker.getAsLong();
+    Snapshot previous = snapshot;
+    try {
+      liveSchedService.pingServer();
+      double latency = (ticker.getAsLong() - start) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+      double ewma = Double.isNaN(previous.latencyEwmaMillis()) ? latency
+          : properties.smoothing() * latency
+              + (1 - properties.smoothing()) * previous.latencyEwmaMillis();
+      snapshot = new Snapshot(Status.UP, Instant.now(), ewma, null);
+    } catch (RuntimeException e) {
+      snapshot = new Snapshot(Status.DOWN, Instant.now(), previous.latencyEwmaMillis(),
+          e.getMessage());
+    }
+  }
+
+  public Status status() {
+    return snapshot.status();
+  }
+
+  /**
+   * Tells whether the latest check found the server unreachable. Before the first check
+   * completes the server is assumed reachable.
+   *
+   * @return {@code true} if the latest check failed.
+   */
+  public boolean isDown() {
+    return snapshot.status() == Status.DOWN;
+  }
+
+  public double latencyEwmaMillis() {
+    return snapshot.latencyEwmaMillis();
+  }
+
+  @Override
+  public Health health() {
+    Snapshot current = snapshot;
+    Health.Builder builder = switch (current.status()) {
+      case UP -> Health.up();
+      case DOWN -> Health.down();
+      case UNKNOWN -> Health.unknown();
+    };
+    if (current.checkedAt() != null) {
+      builder.withDetail("checkedAt", current.checkedAt().toString());
+    }
+    if (!Double.isNaN(current.latencyEwmaMillis())) {
+      builder.withDetail("latencyEwmaMillis", current.latencyEwmaMillis());
+    }
+    if (current.error() != null) {
+      builder.withDetail("error", current.error());
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,312 @@
+package dev.coms4156.project.liveschedclient;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * UpstreamLimiter keeps one client from crowding the others out of the LiveSched connection
+ * pool. Each client has a token bucket refilled at {@code livesched.limits.rate}, and at most
+ * {@code max-in-flight} calls run at once. A call that finds no token or no free slot waits in
+ * its client's queue; queues are served in weighted round-robin, so a client with weight
+ * {@code w} gets up to {@code w} calls per round while it has calls waiting. A call is rejected
+ * with {@link TenantThrottledException} when its client's queue is full or it has waited
+ * {@code queue-timeout}. Calls made for no client, such as health pings, are never limited.
+ *
+ * <p>Throttled calls are counted per tenant bucket by {@code livesched.upstream.calls} with
+ * outcome {@code throttled}, and by reason as {@code livesched.limits.throttled}; calls in
+ * flight and waiting are the {@code livesched.limits.in-flight} and
+ * {@code livesched.limits.queued} gauges.
+ */
+@Component
+public class UpstreamLimiter implements MeterBinder {
+
+  private static final String QUEUE_FULL = "queue-full";
+  private static final String TIMEOUT = "timeout";
+
+  private final double tokensPerNano;
+  private final double burst;
+  private final int maxInFlight;
+  private final int queueDepth;
+  private final long queueTimeoutNanos;
+  private final Map<String, Integer> weights;
+  private final LongSupplier ticker;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  private final Map<String, Tenant> tenants;
+  // Clients with waiting calls, in serving order; the head is the client being served
+  private final ArrayDeque<Tenant> ring = new ArrayDeque<>();
+  private int inFlight;
+  private int queued;
+
+  private final AtomicLong queueFull = new AtomicLong();
+  private final AtomicLong timedOut = new AtomicLong();
+
+  /**
+   * Constructor to initialize the limiter from the {@code livesched.limits.*} settings.
+   *
+   * @param properties The rate, queue and weight settings.
+   */
+  @Autowired
+  public UpstreamLimiter(LiveSchedLimitProperties properties) {
+    this(properties, System::nanoTime);
+  }
+
+  /**
+   * Constructor to initialize the limiter with an explicit time source.
+   *
+   * @param properties The rate, queue and weight settings.
+   * @param ticker     A source of monotonic time in nanoseconds.
+   */
+  UpstreamLimiter(LiveSchedLimitProperties properties, LongSupplier ticker) {
+    this.tokensPerNano = Math.max(0, properties.rate()) / TimeUnit.SECONDS.toNanos(1);
+    this.burst = Math.max(1, properties.burst());
+    this.maxInFlight = Math.max(1, properties.maxInFlight());
+    this.queueDepth = Math.max(0, properties.queueDepth());
+    this.queueTimeoutNanos = properties.queueTimeout().toNanos();
+    this.weights = Map.copyOf(properties.weights());
+    this.ticker = ticker;
+    int maxTenants = properties.maxTenants();
+    this.tenants = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Tenant> eldest) {
+        return size() > maxTenants && eldest.getValue().isIdle();
+      }
+    };
+  }
+
+  /**
+   * Makes a call for a client once its turn comes.
+   *
+   * @param clientId The ID of the client the call is made for, or {@code null}.
+   * @param call     The call to make.
+   * @param <T>      The type of the call's result.
+   * @return The result of the call.
+   * @throws TenantThrottledException If the client's queue is full or the call waited too long.
+   */
+  public <T> T call(String clientId, Supplier<T> call) {
+    if (clientId == null) {
+      return call.get();
+    }
+    Tenant tenant = acquire(clientId);
+    try {
+      return call.get();
+    } finally {
+      release(tenant);
+    }
+  }
+
+  private Tenant acquire(String clientId) {
+    lock.lock();
+    try {
+      Tenant tenant = tenants.computeIfAbsent(clientId, Tenant::new);
+      long now = ticker.getAsLong();
+      tenant.refill(now);
+      if (tenant.waiters.isEmpty() && inFlight < maxInFlight && tenant.tokens >= 1) {
+        start(tenant);
+        return tenant;
+      }
+      if (tenant.waiters.size() >= queueDepth) {
+        queueFull.incrementAndGet();
+        throw new TenantThrottledException(clientId, "queue full", tenant.retryAfter());
+      }
+      Waiter waiter = new Waiter();
+      enqueue(tenant, waiter);
+      long deadline = now + queueTimeoutNanos;
+      while (true) {
+        dispatch(now);
+        if (waiter.granted) {
+          return tenant;
+        }
+        long remaining = deadline - now;
+        if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+          dequeue(tenant, waiter);
+          timedOut.incrementAndGet();
+          throw new TenantThrottledException(clientId, "waited too long", tenant.retryAfter());
+        }
+        try {
+          changed.awaitNanos(Math.min(remaining, tenant.untilNextToken()));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        now = ticker.getAsLong();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(Tenant tenant) {
+    lock.lock();
+    try {
+      inFlight--;
+      tenant.inFlight--;
+      dispatch(ticker.getAsLong());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Hands free slots to waiting calls, taking clients in turn. Called with the lock held.
+   */
+  private void dispatch(long now) {
+    boolean granted = false;
+    int skipped = 0;
+    while (inFlight < maxInFlight && skipped < ring.size()) {
+      Tenant tenant = ring.peekFirst();
+      tenant.refill(now);
+      if (tenant.tokens < 1) {
+        // Out of tokens; the others may still be served this round
+        rotate(tenant);
+        skipped++;
+        continue;
+      }
+      Waiter waiter = tenant.waiters.pollFirst();
+      queued--;
+      waiter.granted = true;
+      granted = true;
+      skipped = 0;
+      start(tenant);
+      if (tenant.waiters.isEmpty()) {
+        ring.pollFirst();
+        tenant.turns = 0;
+      } else if (++tenant.turns >= tenant.weight) {
+        rotate(tenant);
+      }
+    }
+    if (granted) {
+      changed.signalAll();
+    }
+  }
+
+  private void start(Tenant tenant) {
+    tenant.tokens--;
+    tenant.inFlight++;
+    inFlight++;
+  }
+
+  private void enqueue(Tenant tenant, Waiter waiter) {
+    if (tenant.waiters.isEmpty()) {
+      ring.addLast(tenant);
+    }
+    tenant.waiters.addLast(waiter);
+    queued++;
+  }
+
+  private void dequeue(Tenant tenant, Waiter waiter) {
+    tenant.waiters.remove(waiter);
+    queued--;
+    if (tenant.waiters.isEmpty()) {
+      ring.remove(tenant);
+      tenant.turns = 0;
+    }
+  }
+
+  private void rotate(Tenant tenant) {
+    ring.pollFirst();
+    tenant.turns = 0;
+    ring.addLast(tenant);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("livesched.limits.throttled", queueFull, AtomicLong::get)
+        .tag("reason", QUEUE_FULL)
+        .description("LiveSched calls rejected because the client's queue was full")
+        .register(registry);
+    FunctionCounter.builder("livesched.limits.throttled", timedOut, AtomicLong::get)
+        .tag("reason", TIMEOUT)
+        .description("LiveSched calls rejected after waiting for their turn too long")
+        .register(registry);
+    Gauge.builder("livesched.limits.in-flight", this, UpstreamLimiter::inFlight)
+        .description("LiveSched calls in flight for clients")
+        .register(registry);
+    Gauge.builder("livesched.limits.queued", this, UpstreamLimiter::queued)
+        .description("LiveSched calls waiting for their client's turn")
+        .register(registry);
+  }
+
+  int inFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int queued() {
+    lock.lock();
+    try {
+      return queued;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The token bucket and queue of one client. Guarded by the limiter's lock.
+   */
+  private final class Tenant {
+
+    private final int weight;
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private double tokens = burst;
+    private long refilledAt = ticker.getAsLong();
+    private int inFlight;
+    private int turns;
+
+    private Tenant(String clientId) {
+      this.weight = Math.max(1, weights.getOrDefault(clientId, 1));
+    }
+
+    private void refill(long now) {
+      if (tokensPerNano == 0) {
+        tokens = burst;
+      } else {
+        tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+      }
+      refilledAt = now;
+    }
+
+    private long untilNextToken() {
+      if (tokens >= 1) {
+        return Long.MAX_VALUE; // Waiting for a free slot, which release() signals
+      }
+      return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+
+    private Duration retryAfter() {
+      // Time to work off the calls already waiting, at least a second
+      double backlog = waiters.size() + Math.max(0, 1 - tokens);
+      long nanos = tokensPerNano == 0 ? 0 : (long) (backlog / tokensPerNano);
+      return Duration.ofSeconds(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos) + 1));
+    }
+
+    private boolean isIdle() {
+      return waiters.isEmpty() && inFlight == 0;
+    }
+  }
+
+  /**
+   * A call waiting for its turn. Guarded by the limiter's lock.
+   */
+  private static final class Waiter {
+    private boolean granted;
+  }
+}
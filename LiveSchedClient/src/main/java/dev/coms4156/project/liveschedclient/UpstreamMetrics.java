@@ -0,0 +1,272 @@
+package dev.coms4156.project.liveschedclient;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+
+/**
+ * UpstreamMetrics times each LiveSched call in three phases: waiting for the upstream
+ * response, parsing its JSON, and post-processing the decoded values. Phase timers publish
+ * percentile histograms and are tagged by endpoint only, so the number of series stays
+ * small; the per-call counter and response length summary also carry the outcome and a
+ * hashed tenant bucket.
+ *
+ * <ul>
+ *   <li>{@code livesched.upstream.wait} - time until the response arrived, by outcome</li>
+ *   <li>{@code livesched.upstream.parse} - time spent decoding the response body</li>
+ *   <li>{@code livesched.upstream.postprocess} - time spent formatting decoded values</li>
+ *   <li>{@code livesched.upstream.response.chars} - length of the decoded response body in
+ *       characters; bytes on the wire are smaller when the response was compressed</li>
+ *   <li>{@code livesched.upstream.calls} - calls by outcome and tenant bucket</li>
+ * </ul>
+ *
+ * <p>Revalidated reads end as {@code not-modified} when the service answered 304, or as
+ * {@code unchanged} when the body matched the digest of the last one. Calls the
+ * {@link UpstreamLimiter} rejected before they were made end as {@code throttled}.
+ */
+@Component
+public class UpstreamMetrics {
+
+  /**
+   * The outcome of a call, used as the {@code outcome} tag.
+   */
+  public enum Outcome {
+    SUCCESS("success"),
+    NOT_MODIFIED("not-modified"),
+    UNCHANGED("unchanged"),
+    NOT_FOUND("not-found"),
+    PARSE_ERROR("parse-error"),
+    CONNECT_ERROR("connect-error"),
+    HTTP_ERROR("http-error"),
+    THROTTLED("throttled");
+
+    private final String tag;
+
+    Outcome(String tag) {
+      this.tag = tag;
+    }
+
+    public String tag() {
+      return tag;
+    }
+  }
+
+  private final MeterRegistry registry;
+  private final int tenantBuckets;
+  private final LongSupplier ticker;
+
+  /**
+   * Constructor to initialize the metrics from the {@code livesched.metrics.*} settings.
+   *
+   * @param registry   The registry the meters are published to.
+   * @param properties The metrics settings.
+   */
+  @Autowired
+  public UpstreamMetrics(MeterRegistry registry, LiveSchedMetricsProperties properties) {
+    this(registry, properties, System::nanoTime);
+  }
+
+  /**
+   * Constructor to initialize the metrics with an explicit time source.
+   *
+   * @param registry   The registry the meters are published to.
+   * @param properties The metrics settings.
+   * @param ticker     A source of monotonic time in nanoseconds.
+   */
+  UpstreamMetrics(MeterRegistry registry, LiveSchedMetricsProperties properties,
+                  LongSupplier ticker) {
+    this.registry = registry;
+    this.tenantBuckets = Math.max(1, properties.tenantBuckets());
+    this.ticker = ticker;
+  }
+
+  /**
+   * Starts timing a call. The returned call must be closed once the call's result is
+   * known, which records the wait time and the outcome.
+   *
+   * @param endpoint The path of the endpoint being called.
+   * @param clientId The ID of the client the call is made for, or {@code null}.
+   * @return The call being timed.
+   */
+  public Call start(String endpoint, String clientId) {
+    return new Call(endpoint, clientId, tenant(clientId));
+  }
+
+  /**
+   * Maps a client ID to its tenant bucket.
+   *
+   * @param clientId The ID of the client, or {@code null}.
+   * @return The tenant bucket tag value.
+   */
+  String tenant(String clientId) {
+    if (clientId == null) {
+      return "none";
+    }
+    return "t" + Math.floorMod(clientId.hashCode(), tenantBuckets);
+  }
+
+  /**
+   * The phases and outcome of one call.
+   */
+  public final class Call implements AutoCloseable {
+
+    private final String endpoint;
+    private final String clientId;
+    private final String tenant;
+    private final long startedAt;
+    private long receivedAt;
+    private boolean responded;
+    private Outcome outcome;
+    private boolean closed;
+
+    private Call(String endpoint, String clientId, String tenant) {
+      this.endpoint = endpoint;
+      this.clientId = clientId;
+      this.tenant = tenant;
+      this.startedAt = ticker.getAsLong();
+    }
+
+    /**
+     * Returns the ID of the client the call is made for.
+     *
+     * @return The client ID, or {@code null}.
+     */
+    String clientId() {
+      return clientId;
+    }
+
+    /**
+     * Records the arrival of a response.
+     *
+     * @param response The response entity.
+     */
+    void received(ResponseEntity<String> response) {
+      receivedAt = ticker.getAsLong();
+      responded = true;
+      String body = response.getBody();
+      DistributionSummary.builder("livesched.upstream.response.chars")
+          .description("Length of decoded LiveSched response bodies")
+          .baseUnit("characters")
+          .tag("endpoint", endpoint)
+          .tag("tenant", tenant)
+          .register(registry)
+          .record(body == null ? 0 : body.length());
+      if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+        outcome = Outcome.NOT_MODIFIED;
+      } else if (!response.getStatusCode().is2xxSuccessful()) {
+        outcome = Outcome.HTTP_ERROR;
+      }
+    }
+
+    /**
+     * Records that the response body matched the one decoded last time, so its decoded
+     * value was reused without parsing.
+     */
+    void unchanged() {
+      outcome = Outcome.UNCHANGED;
+    }
+
+    /**
+     * Records a call that failed without a usable response.
+     *
+     * @param failure The exception thrown by the call.
+     */
+    void failed(RuntimeException failure) {
+      receivedAt = ticker.getAsLong();
+      responded = true;
+      if (failure instanceof TenantThrottledException) {
+        outcome = Outcome.THROTTLED;
+      } else if (failure instanceof HttpClientErrorException.NotFound) {
+        outcome = Outcome.NOT_FOUND;
+      } else if (failure instanceof HttpStatusCodeException) {
+        outcome = Outcome.HTTP_ERROR;
+      } else {
+        outcome = Outcome.CONNECT_ERROR;
+      }
+    }
+
+    /**
+     * Decodes a response body, timing the parse phase.
+     *
+     * @param reader The reader for the expected type.
+     * @param body   The response body.
+     * @param <T>    The decoded type.
+     * @return The decoded value.
+     * @throws JsonProcessingException If the body cannot be decoded.
+     */
+    public <T> T parse(ObjectReader reader, String body) throws JsonProcessingException {
+      long start = ticker.getAsLong();
+      try {
+        return reader.readValue(body);
+      } catch (JsonProcessingException e) {
+        outcome = Outcome.PARSE_ERROR;
+        throw e;
+      } finally {
+        phaseTimer("livesched.upstream.parse", "Time spent decoding LiveSched responses")
+            .record(ticker.getAsLong() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    /**
+     * Runs post-processing of decoded values, timing the post-processing phase.
+     *
+     * @param step The post-processing step.
+     * @param <T>  The type of the processed value.
+     * @return The processed value.
+     */
+    public <T> T process(Supplier<T> step) {
+      long start = ticker.getAsLong();
+      try {
+        return step.get();
+      } finally {
+        phaseTimer("livesched.upstream.postprocess",
+            "Time spent formatting decoded LiveSched values")
+            .record(ticker.getAsLong() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      Outcome result = outcome == null ? Outcome.SUCCESS : outcome;
+      long waited = (responded ? receivedAt : ticker.getAsLong()) - startedAt;
+      Timer.builder("livesched.upstream.wait")
+          .description("Time spent waiting for LiveSched responses")
+          .tag("endpoint", endpoint)
+          .tag("outcome", result.tag())
+          .publishPercentileHistogram()
+          .register(registry)
+          .record(waited, TimeUnit.NANOSECONDS);
+      Counter.builder("livesched.upstream.calls")
+          .description("LiveSched calls")
+          .tag("endpoint", endpoint)
+          .tag("outcome", result.tag())
+          .tag("tenant", tenant)
+          .register(registry)
+          .increment();
+    }
+
+    private Timer phaseTimer(String name, String description) {
+      return Timer.builder(name)
+          .description(description)
+          .tag("endpoint", endpoint)
+          .publishPercentileHistogram()
+          .register(registry);
+    }
+  }
+}
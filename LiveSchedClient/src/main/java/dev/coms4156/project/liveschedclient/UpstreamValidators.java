@@ -0,0 +1,82 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * UpstreamValidators remembers, per client and endpoint, the validator of the last response
+ * read from the LiveSched service together with the value decoded from it. The service's own
+ * {@code ETag} is sent back as {@code If-None-Match}, so an unchanged dataset comes back as a
+ * bodiless 304; when the service sends no {@code ETag}, a digest of the body stands in for it,
+ * so an unchanged body is at least not decoded and formatted again.
+ */
+@Component
+public class UpstreamValidators {
+
+  /**
+   * The validator of a response and the value decoded from it.
+   *
+   * @param etag         The entity tag, quoted as in an {@code ETag} header.
+   * @param fromUpstream Whether the service sent the tag; only those are sent back.
+   * @param value        The value decoded and formatted from the response body.
+   */
+  record Validator(String etag, boolean fromUpstream, Object value) {
+  }
+
+  private record Key(String clientId, String endpoint) {
+  }
+
+  private final Map<Key, Validator> validators;
+
+  /**
+   * Constructor to create the store.
+   *
+   * @param properties The cache settings; at most {@code maxEntries} validators are kept,
+   *                   and the least recently used is forgotten first.
+   */
+  public UpstreamValidators(LiveSchedCacheProperties properties) {
+    int maxEntries = properties.maxEntries();
+    this.validators = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Validator> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Returns the validator of the last response read for a client from an endpoint.
+   *
+   * @param clientId A {@code String} representing the ID of the client.
+   * @param endpoint The path of the endpoint.
+   * @return The validator, or {@code null} if none is known.
+   */
+  public synchronized Validator lookup(String clientId, String endpoint) {
+    return validators.get(new Key(clientId, endpoint));
+  }
+
+  /**
+   * Remembers the validator of a response just read for a client from an endpoint.
+   *
+   * @param clientId  A {@code String} representing the ID of the client.
+   * @param endpoint  The path of the endpoint.
+   * @param validator The validator and decoded value of the response.
+   */
+  public synchronized void store(String clientId, String endpoint, Validator validator) {
+    validators.put(new Key(clientId, endpoint), validator);
+  }
+
+  /**
+   * Synthesizes an entity tag from a response body.
+   *
+   * @param body The response body, or {@code null}.
+   * @return The quoted MD5 digest of the body.
+   */
+  static String digest(String body) {
+    byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+    return "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+  }
+}
@@ -0,0 +1,61 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BucketIndexTest {
+
+  private record Item(String id, int key) {
+  }
+
+  private final BucketIndex<Item> index = new BucketIndex<>(
+      List.of(new Item("a", 3), new Item("b", 1), new Item("c", 3), new Item("d", 2)),
+      Item::key, Item::id);
+
+  private static List<String> ids(List<Item> items) {
+    return items.stream().map(Item::id).toList();
+  }
+
+  @Test
+  void emitsInKeyOrderAndKeepsInsertionOrderForTies() {
+    assertEquals(List.of("b", "d", "a", "c"), ids(index.ascending()));
+    assertEquals(List.of("a", "c", "d", "b"), ids(index.descending()));
+  }
+
+  @Test
+  void put_AppendsToItsBucket() {
+    index.put(new Item("e", 1));
+
+    assertEquals(List.of("b", "e", "d", "a", "c"), ids(index.ascending()));
+    assertEquals(5, index.size());
+  }
+
+  @Test
+  void put_MovesItemWhoseKeyChanged() {
+    index.put(new Item("a", 0));
+
+    assertEquals(List.of("a", "b", "d", "c"), ids(index.ascending()));
+    assertEquals(4, index.size());
+  }
+
+  @Test
+  void remove_DropsItemAndEmptyBucket() {
+    index.remove("b");
+
+    assertEquals(List.of("d", "a", "c"), ids(index.ascending()));
+    assertFalse(index.remove("b"));
+  }
+
+  @Test
+  void ascending_IsReusedUntilIndexChanges() {
+    List<Item> first = index.ascending();
+
+    assertSame(first, index.ascending());
+    index.remove("a");
+    assertEquals(List.of("b", "d", "c"), ids(index.ascending()));
+  }
+}
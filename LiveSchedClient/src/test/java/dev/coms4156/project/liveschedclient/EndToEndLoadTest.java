@@ -0,0 +1,260 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Drives the real controller endpoints with concurrent browser-like sessions against the
+ * embedded LiveSched stub, and reports throughput, latency percentiles and response bytes per
+ * page. Runs only with {@code mvn -Pload test}; sizing comes from {@code load.*} and
+ * {@code stub.*} system properties, and {@code load.compression}, {@code load.http2} and
+ * {@code load.revalidate} choose whether sessions accept gzip, upgrade to HTTP/2 and revalidate
+ * pages they have seen with {@code If-None-Match}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EndToEndLoadTest {
+
+  private static LiveSchedStubServer stub;
+  private static LiveSchedStubServer.Settings settings;
+
+  @LocalServerPort
+  private int port;
+
+  @DynamicPropertySource
+  static void upstream(DynamicPropertyRegistry registry) throws IOException {
+    settings = LiveSchedStubServer.Settings.fromSystemProperties();
+    stub = LiveSchedStubServer.start(settings);
+    registry.add("livesched.http.base-url", stub::baseUrl);
+    // Sessions go to an in-memory store, so runs leave no session file behind
+    registry.add("spring.datasource.url", () -> "jdbc:h2:mem:load-sessions");
+  }
+
+  @AfterAll
+  static void stopStub() {
+    stub.close();
+  }
+
+  @Test
+  void dashboards_UnderConcurrentSessions() throws Exception {
+    // Prepare test data
+    int sessions = Integer.getInteger("load.sessions", 32);
+    int tenants = Integer.getInteger("load.tenants", 8);
+    Duration warmup = Duration.ofSeconds(Long.getLong("load.warmupSeconds", 10));
+    Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 20));
+    boolean compression = Boolean.parseBoolean(System.getProperty("load.compression", "true"));
+    boolean http2 = Boolean.parseBoolean(System.getProperty("load.http2", "true"));
+    boolean revalidate = Boolean.parseBoolean(System.getProperty("load.revalidate", "true"));
+    List<Step> steps = steps(settings.tasksPerClient());
+    Map<String, Samples> samples = new TreeMap<>();
+    steps.forEach(step -> samples.put(step.name(), new Samples()));
+
+    // Execute test
+    long measureFrom = System.nanoTime() + warmup.toNanos();
+    long measureUntil = measureFrom + duration.toNanos();
+    ExecutorService pool = Executors.newFixedThreadPool(sessions);
+    List<Future<?>> running = new ArrayList<>();
+    for (int i = 0; i < sessions; i++) {
+      String clientId = "load-" + (i % tenants);
+      long seed = i;
+      running.add(pool.submit(() -> {
+        session(clientId, new Random(seed), steps, samples, measureFrom, measureUntil,
+            compression, http2, revalidate);
+        return null;
+      }));
+    }
+    for (Future<?> session : running) {
+      session.get();
+    }
+    pool.shutdown();
+
+    // Verify results
+    long total = 0;
+    long errors = 0;
+    double seconds = duration.toNanos() / 1e9;
+    System.out.printf("%n%d sessions over %d tenants, %ds measured after %ds warm-up, "
+            + "compression=%b, http2=%b, revalidate=%b, %s%n", sessions, tenants,
+        duration.toSeconds(), warmup.toSeconds(), compression, http2, revalidate, settings);
+    System.out.printf("%-20s %8s %7s %9s %9s %9s %9s %10s%n",
+        "page", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "avg bytes");
+    Samples all = new Samples();
+    for (Map.Entry<String, Samples> entry : samples.entrySet()) {
+      Samples page = entry.getValue();
+      print(entry.getKey(), page, seconds);
+      all.addAll(page);
+      total += page.count();
+      errors += page.errors;
+    }
+    print("all", all, seconds);
+    System.out.printf("upstream requests served by the stub: %d (%d not modified), "
+            + "%d body bytes sent as %d%n", stub.requestCount(), stub.notModifiedCount(),
+        stub.bodyBytes(), stub.wireBytes());
+
+    double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+    assertTrue(total > 0, "no requests completed in the measurement window");
+    assertTrue(errors <= total * maxErrorRate,
+        errors + " of " + total + " requests failed");
+  }
+
+  private void session(String clientId, Random random, List<Step> steps,
+                       Map<String, Samples> samples, long measureFrom, long measureUntil,
+                       boolean compression, boolean http2, boolean revalidate)
+      throws IOException, InterruptedException {
+    // One cookie jar per session, so each worker holds its own HTTP session
+    HttpClient client = HttpClient.newBuilder()
+        .cookieHandler(new CookieManager())
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+        .build();
+    client.send(form("/login", "clientId=" + clientId), HttpResponse.BodyHandlers.discarding());
+
+    // The ETag of each page this session has seen, as a browser cache would keep it
+    Map<URI, String> etags = new HashMap<>();
+    int totalWeight = steps.stream().mapToInt(Step::weight).sum();
+    while (true) {
+      long start = System.nanoTime();
+      if (start >= measureUntil) {
+        return;
+      }
+      Step step = pick(steps, random.nextInt(totalWeight));
+      HttpRequest request = step.request().apply(random);
+      HttpRequest.Builder conditional = HttpRequest.newBuilder(request, (name, value) -> true);
+      if (compression) {
+        // The body is left encoded, so its length is what crossed the wire
+        conditional.header("Accept-Encoding", "gzip");
+      }
+      String etag = etags.get(request.uri());
+      if (revalidate && etag != null && "GET".equals(request.method())) {
+        conditional.header("If-None-Match", etag);
+      }
+      HttpResponse<byte[]> response =
+          client.send(conditional.build(), HttpResponse.BodyHandlers.ofByteArray());
+      long elapsed = System.nanoTime() - start;
+      response.headers().firstValue("ETag").ifPresent(tag -> etags.put(request.uri(), tag));
+      if (start >= measureFrom) {
+        samples.get(step.name()).add(elapsed, response.body().length,
+            response.statusCode() >= 400);
+      }
+    }
+  }
+
+  private List<Step> steps(int tasksPerClient) {
+    int pages = Math.max(1, (tasksPerClient + 49) / 50);
+    return List.of(
+        new Step("taskDashboard", 30,
+            random -> get("/taskDashboard?page=" + (1 + random.nextInt(pages)))),
+        new Step("taskDashboard desc", 10, random -> get("/taskDashboard?sort=desc")),
+        new Step("taskDetail", 25,
+            random -> get("/task/" + (1 + random.nextInt(tasksPerClient)))),
+        new Step("resourceDashboard", 15, random -> get("/resourceDashboard")),
+        new Step("scheduleDashboard", 15, random -> get("/scheduleDashboard")),
+        new Step("updateSchedule", 5, random -> form("/updateSchedule", "maxDistance=50")));
+  }
+
+  private static Step pick(List<Step> steps, int roll) {
+    for (Step step : steps) {
+      roll -= step.weight();
+      if (roll < 0) {
+        return step;
+      }
+    }
+    return steps.get(steps.size() - 1);
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+  }
+
+  private HttpRequest form(String path, String body) {
+    return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+        .header("Content-Type", "application/x-www-form-urlencoded")
+        .POST(HttpRequest.BodyPublishers.ofString(body))
+        .build();
+  }
+
+  private static void print(String name, Samples page, double seconds) {
+    long[] sorted = page.sorted();
+    System.out.printf("%-20s %8d %7d %9.1f %9.2f %9.2f %9.2f %10d%n", name, sorted.length,
+        page.errors, sorted.length / seconds, percentile(sorted, 0.50),
+        percentile(sorted, 0.99), percentile(sorted, 0.999),
+        sorted.length == 0 ? 0 : page.bytes / sorted.length);
+  }
+
+  private static double percentile(long[] sorted, double quantile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+    return sorted[Math.max(0, rank)] / 1e6;
+  }
+
+  private record Step(String name, int weight, Function<Random, HttpRequest> request) {
+  }
+
+  /**
+   * Latencies of one page, in nanoseconds, and the response bytes received. Appended to by
+   * every session.
+   */
+  private static final class Samples {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private long bytes;
+
+    synchronized void add(long latency, long received, boolean error) {
+      if (count == latencies.length) {
+        latencies = Arrays.copyOf(latencies, count * 2);
+      }
+      latencies[count++] = latency;
+      bytes += received;
+      if (error) {
+        errors++;
+      }
+    }
+
+    synchronized void addAll(Samples other) {
+      long[] theirs = other.sorted();
+      for (long latency : theirs) {
+        add(latency, 0, false);
+      }
+      errors += other.errors;
+      bytes += other.bytes;
+    }
+
+    synchronized int count() {
+      return count;
+    }
+
+    synchronized long[] sorted() {
+      long[] copy = Arrays.copyOf(latencies, count);
+      Arrays.sort(copy);
+      return copy;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+class FragmentCacheTest {
+
+  private static final String TEST_CLIENT_ID = "fragmentClient";
+
+  @Test
+  void render_ReusesMarkupForSameVersionAndView() {
+    // Prepare test data
+    FragmentCache cache = cache(DataSize.ofMegabytes(1));
+    List<Task> tasks = List.of(task("1"), task("2"));
+
+    // Execute test
+    String first = taskRows(cache, 1, tasks);
+    String second = taskRows(cache, 1, new ArrayList<>(tasks));
+
+    // Verify results
+    assertSame(first, second);
+    assertTrue(first.contains("data-href=\"/task/2\""));
+    assertTrue(first.contains("action=\"/task/1/delete\""));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+    assertEquals(1, registry.get("livesched.fragments.gets").tag("result", "hit")
+        .functionCounter().count());
+    assertEquals(1, registry.get("livesched.fragments.gets").tag("result", "miss")
+        .functionCounter().count());
+  }
+
+  @Test
+  void render_RendersAgainWhenVersionViewOrClientChanges() {
+    // Prepare test data
+    FragmentCache cache = cache(DataSize.ofMegabytes(1));
+    List<Task> tasks = List.of(task("1"));
+    String first = taskRows(cache, 1, tasks);
+
+    // Execute test
+    String changed = taskRows(cache, 2, List.of(task("3")));
+    String otherPage = cache.render("taskRows", "rows", TEST_CLIENT_ID, 1, "page 2",
+        Map.of("tasks", List.of(task("2"))));
+    String otherClient = cache.render("taskRows", "rows", "other", 1, "page 1",
+        Map.of("tasks", tasks));
+
+    // Verify results
+    assertTrue(changed.contains("data-href=\"/task/3\""));
+    assertTrue(otherPage.contains("data-href=\"/task/2\""));
+    assertEquals(first, otherClient);
+    assertTrue(first != otherClient);
+  }
+
+  @Test
+  void render_HighlightsScheduleRowsFromDiff() {
+    // Prepare test data
+    FragmentCache cache = cache(DataSize.ofMegabytes(1));
+    List<Schedule> schedules = List.of(schedule("1"), schedule("2"));
+    ScheduleDiff diff = ScheduleDiff.between(List.of(schedule("1")), schedules, 1, 2);
+    Map<String, Object> variables = new HashMap<>();
+    variables.put("schedules", schedules);
+    variables.put("diff", diff);
+
+    // Execute test
+    String html = cache.render("scheduleRows", "rows", TEST_CLIENT_ID, 1, "changes 1 to 2",
+        variables);
+
+    // Verify results
+    assertTrue(html.contains("class=\"table-success\""));
+    assertTrue(html.contains("name=\"clientId\" value=\"" + TEST_CLIENT_ID + "\""));
+  }
+
+  @Test
+  void render_EvictsLeastRecentlyUsedOverSizeBound() {
+    // Prepare test data
+    FragmentCache cache = cache(DataSize.ofMegabytes(1));
+    long oneTable = taskRows(cache, 1, List.of(task("1"))).length();
+    FragmentCache bounded = cache(DataSize.ofBytes(oneTable * 2 + oneTable / 2));
+
+    // Execute test
+    taskRows(bounded, 1, List.of(task("1")));
+    taskRows(bounded, 2, List.of(task("2")));
+    taskRows(bounded, 1, List.of(task("1")));
+    taskRows(bounded, 3, List.of(task("3")));
+    taskRows(bounded, 1, List.of(task("1")));
+
+    // Verify results
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    bounded.bindTo(registry);
+    assertEquals(1, registry.get("livesched.fragments.evictions").functionCounter().count());
+    assertEquals(2, registry.get("livesched.fragments.gets").tag("result", "hit")
+        .functionCounter().count());
+    assertTrue(bounded.bytes() <= oneTable * 2 + oneTable / 2);
+  }
+
+  @Test
+  void render_ReturnsNullWhenDisabled() {
+    // Prepare test data
+    FragmentCache cache = cache(DataSize.ofBytes(0));
+
+    // Execute test
+    String html = taskRows(cache, 1, List.of(task("1")));
+
+    // Verify results
+    assertNull(html);
+    assertEquals(0, cache.bytes());
+  }
+
+  @Test
+  void render_ReturnsNullForDataWithoutVersion() {
+    // Prepare test data
+    FragmentCache cache = cache(DataSize.ofMegabytes(1));
+
+    // Execute test
+    String html = taskRows(cache, 0, List.of(task("1")));
+
+    // Verify results
+    assertNull(html);
+    assertEquals(0, cache.bytes());
+  }
+
+  private static String taskRows(FragmentCache cache, long version, List<Task> tasks) {
+    return cache.render("taskRows", "rows", TEST_CLIENT_ID, version, "page 1",
+        Map.of("tasks", tasks));
+  }
+
+  private static FragmentCache cache(DataSize maxSize) {
+    ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+    resolver.setPrefix("templates/");
+    resolver.setSuffix(".html");
+    resolver.setTemplateMode(TemplateMode.HTML);
+    SpringTemplateEngine engine = new SpringTemplateEngine();
+    engine.setTemplateResolver(resolver);
+    return new FragmentCache(engine, new LiveSchedFragmentProperties(maxSize));
+  }
+
+  private static Task task(String taskId) {
+    return new Task(taskId, "Task " + taskId, 1, "2024-12-01 08:00", "2024-12-01 09:00",
+        null, Map.of());
+  }
+
+  private static Schedule schedule(String taskId) {
+    return new Schedule(task(taskId),
+        List.of(new AssignedResource("Nurse " + taskId, "2024-12-01 08:00")));
+  }
+}
@@ -0,0 +1,79 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HttpClientConfigTest {
+
+  private final HttpClientConfig config = new HttpClientConfig();
+  private PoolingHttpClientConnectionManager connectionManager;
+
+  @BeforeEach
+  void setUp() {
+    LiveSchedHttpProperties properties = new LiveSchedHttpProperties("http://localhost:8080",
+        40, 20, Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ofMillis(500),
+        Duration.ofSeconds(15), Duration.ofSeconds(10), Duration.ofSeconds(1));
+    connectionManager = config.liveSchedConnectionManager(properties);
+  }
+
+  @AfterEach
+  void tearDown() {
+    connectionManager.close();
+  }
+
+  @Test
+  void connectionManager_UsesConfiguredPoolLimits() {
+    assertEquals(40, connectionManager.getMaxTotal());
+    assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+  }
+
+  @Test
+  void poolMetrics_AreRegistered() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    config.liveSchedConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+    assertNotNull(registry.find("httpcomponents.httpclient.pool.total.max").gauge());
+    assertEquals(40.0,
+        registry.find("httpcomponents.httpclient.pool.total.max").gauge().value());
+  }
+
+  @Test
+  void contentDecoders_FollowConfiguredPreference() {
+    LiveSchedCompressionProperties compression =
+        new LiveSchedCompressionProperties(List.of("deflate", "GZIP"));
+
+    assertEquals(List.of("deflate", "gzip", "x-gzip"),
+        List.copyOf(HttpClientConfig.contentDecoders(compression).keySet()));
+  }
+
+  @Test
+  void contentDecoders_OfferBrotliOnlyWhenDecoderIsPresent() {
+    LiveSchedCompressionProperties compression =
+        new LiveSchedCompressionProperties(List.of("br", "gzip"));
+
+    assertEquals(List.of("br", "gzip", "x-gzip"),
+        List.copyOf(HttpClientConfig.contentDecoders(compression).keySet()));
+  }
+
+  @Test
+  void contentDecoders_EmptyListDisablesCompression() {
+    assertTrue(HttpClientConfig.contentDecoders(
+        new LiveSchedCompressionProperties(List.of())).isEmpty());
+  }
+
+  @Test
+  void contentDecoders_RejectUnknownEncoding() {
+    assertThrows(IllegalArgumentException.class, () -> HttpClientConfig.contentDecoders(
+        new LiveSchedCompressionProperties(List.of("zstd"))));
+  }
+}
@@ -2,30 +2,53 @@ package dev.coms4156.project.liveschedclient;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import dev.coms4156.project.liveschedclient.TenantCache.Dataset;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
 
 class LiveSchedServiceTest {
 
   private LiveSchedService liveSchedService;
   private RestTemplate restTemplate;
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicLong now = new AtomicLong();
+  // Twenty calls per client; time stands still, so no tokens come back, and none may wait
+  private final UpstreamLimiter limiter = new UpstreamLimiter(
+      new LiveSchedLimitProperties(1, 20, 10, 0, Duration.ZERO, 100, Map.of()), () -> 0L);
   private static final String TEST_CLIENT_ID = "testClient123";
 
   @BeforeEach
@@ -34,7 +57,18 @@ class LiveSchedServiceTest {
     RestTemplateBuilder builder = mock(RestTemplateBuilder.class);
     when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
     when(builder.build()).thenReturn(restTemplate);
-    liveSchedService = new LiveSchedService(builder);
+    TenantCache cache = new TenantCache(
+        new LiveSchedCacheProperties(Duration.ofSeconds(30), 100), now::get);
+    UpstreamExecutor executor = new UpstreamExecutor(new LiveSchedAsyncProperties(false, 4, 256));
+    UpstreamGuard guard = new UpstreamGuard(new LiveSchedResilienceProperties(
+        5, Duration.ofSeconds(10), 1, 2, Duration.ofMillis(1), Duration.ofMillis(10)));
+    liveSchedService = new LiveSchedService(
+        builder, new LiveSchedHttpProperties("http://localhost:8080", 100, 50,
+            Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(1),
+            Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(2)),
+        mock(CloseableHttpClient.class), cache, executor, limiter, guard,
+        new UpstreamMetrics(registry, new LiveSchedMetricsProperties(16)),
+        new UpstreamValidators(new LiveSchedCacheProperties(Duration.ofSeconds(30), 100)));
   }
 
   @Test
@@ -61,6 +95,34 @@ class LiveSchedServiceTest {
     assertEquals("newTask123", result.get("taskId"));
   }
 
+  @Test
+  void addTask_ReturnsCreatedTaskForHandoff() {
+    // Prepare test data
+    when(restTemplate.exchange(
+        contains("/addTask"),
+        eq(HttpMethod.PATCH),
+        isNull(),
+        eq(String.class)
+    )).thenReturn(new ResponseEntity<>("""
+        {"taskId": "7", "taskName": "New Task", "priority": 3,
+         "startTime": "2024-01-01T10:00:00", "endTime": "2024-01-01T11:00:00"}
+        """, HttpStatus.OK));
+
+    // Execute test
+    Map<String, Object> result = liveSchedService.addTask(
+        "New Task", 3, "2024-01-01 10:00",
+        "2024-01-01 11:00", 40.7128, -74.0060, TEST_CLIENT_ID
+    );
+
+    // Verify results
+    assertEquals("7", result.get("taskId"));
+    Task task = (Task) result.get("task");
+    assertEquals("2024-01-01 10:00", task.startTime());
+    assertEquals("2024-01-01 11:00", task.endTime());
+    assertEquals(1, registry.get("livesched.upstream.parse")
+        .tag("endpoint", "/addTask").timer().count());
+  }
+
   @Test
   void deleteTask_Success() {
     // Prepare test data
@@ -86,11 +148,37 @@ class LiveSchedServiceTest {
         .thenThrow(new RestClientException("Connection error"));
 
     // Execute test
-    Map<String, Object> result = liveSchedService.getTaskById("task1", TEST_CLIENT_ID);
+    LiveSchedResult<Task> result = liveSchedService.getTaskById("task1", TEST_CLIENT_ID);
 
     // Verify results
     assertNotNull(result);
-    assertEquals("Error connecting to the service.", result.get("error"));
+    assertEquals("Error connecting to the service.", result.error());
+  }
+
+  @Test
+  void getTaskById_ThrottledOnceClientIsOutOfTokens() {
+    // Prepare test data
+    when(restTemplate.getForEntity(anyString(), eq(String.class)))
+        .thenReturn(new ResponseEntity<>("""
+            {"taskId": "task1", "taskName": "Surgery", "priority": 1}
+            """, HttpStatus.OK));
+    for (int i = 0; i < 20; i++) {
+      liveSchedService.getTaskById("task1", "noisyClient");
+    }
+
+    // Execute test
+    TenantThrottledException throttled = assertThrows(TenantThrottledException.class,
+        () -> liveSchedService.getTaskById("task1", "noisyClient"));
+    // Mutations pass the rejection on too, rather than turning it into an error message
+    assertThrows(TenantThrottledException.class,
+        () -> liveSchedService.deleteTask("task1", "noisyClient"));
+    LiveSchedResult<Task> quietClient = liveSchedService.getTaskById("task1", TEST_CLIENT_ID);
+
+    // Verify results
+    assertTrue(throttled.retryAfter().toSeconds() >= 1);
+    assertEquals("Surgery", quietClient.value().taskName());
+    assertEquals(2, registry.get("livesched.upstream.calls")
+        .tag("outcome", "throttled").counters().stream().mapToDouble(c -> c.count()).sum());
   }
 
   @Test
@@ -112,13 +200,14 @@ class LiveSchedServiceTest {
     )).thenReturn(new ResponseEntity<>(jsonResponse, HttpStatus.OK));
 
     // Execute test
-    List<Map<String, Object>> result = liveSchedService.getAllResourceTypes(TEST_CLIENT_ID);
+    LiveSchedResult<List<ResourceType>> result =
+        liveSchedService.getAllResourceTypes(TEST_CLIENT_ID);
 
     // Verify results
     assertNotNull(result);
-    assertEquals(1, result.size());
-    assertEquals("Laptop", result.get(0).get("typeName"));
-    assertEquals(10, result.get(0).get("totalUnits"));
+    assertEquals(1, result.value().size());
+    assertEquals("Laptop", result.value().get(0).typeName());
+    assertEquals(10, result.value().get(0).totalUnits());
   }
 
   @Test
@@ -161,6 +250,77 @@ class LiveSchedServiceTest {
     assertEquals("Resource modified successfully", result.get("message"));
   }
 
+  @Test
+  void modifyResources_AggregatesErrorsAndRefetchesOnce() {
+    // Prepare test data
+    when(restTemplate.exchange(
+        contains("typeName=Laptop"),
+        eq(HttpMethod.PATCH),
+        isNull(),
+        eq(String.class)
+    )).thenReturn(new ResponseEntity<>("Resource modified successfully", HttpStatus.OK));
+    when(restTemplate.exchange(
+        contains("typeName=Monitor"),
+        eq(HttpMethod.PATCH),
+        isNull(),
+        eq(String.class)
+    )).thenThrow(new RestClientException("Connection error"));
+    when(restTemplate.getForEntity(
+        contains("/retrieveTask?taskId=task123"),
+        eq(String.class)
+    )).thenReturn(new ResponseEntity<>("""
+        {"taskId": "task123", "taskName": "Surgery", "priority": 1,
+         "startTime": "2024-01-01T10:00:00", "endTime": "2024-01-01T12:00:00",
+         "resources": {"Laptop": 2}}
+        """, HttpStatus.OK));
+
+    // Execute test
+    Map<String, Object> result = liveSchedService.modifyResources(
+        "task123", Map.of("Laptop", 2, "Monitor", 1), TEST_CLIENT_ID);
+
+    // Verify results
+    assertEquals("Monitor: Failed to modify resource: Connection error", result.get("error"));
+    Task task = (Task) result.get("task");
+    assertEquals(Map.of("Laptop", 2), task.resources());
+    verify(restTemplate, times(2)).exchange(
+        contains("/modifyResourceType"), eq(HttpMethod.PATCH), isNull(), eq(String.class));
+    verify(restTemplate, times(1)).getForEntity(contains("/retrieveTask?"), eq(String.class));
+  }
+
+  @Test
+  void reads_RecordPhaseTimersAndOutcomes() {
+    // Prepare test data
+    when(restTemplate.getForEntity(contains("/retrieveTasks"), eq(String.class)))
+        .thenReturn(new ResponseEntity<>("""
+            [{"taskId": "1", "taskName": "Surgery", "priority": 1,
+              "startTime": "2024-01-01T10:00:00", "endTime": "2024-01-01T12:00:00"}]
+            """, HttpStatus.OK));
+    when(restTemplate.getForEntity(contains("/retrieveResourceTypes"), eq(String.class)))
+        .thenReturn(new ResponseEntity<>("not json", HttpStatus.OK));
+    when(restTemplate.getForEntity(contains("/retrieveSchedule"), eq(String.class)))
+        .thenThrow(HttpClientErrorException.create(
+            HttpStatus.NOT_FOUND, "Not Found", null, null, null));
+
+    // Execute test
+    liveSchedService.getAllTasks(TEST_CLIENT_ID);
+    liveSchedService.getAllResourceTypes(TEST_CLIENT_ID);
+    liveSchedService.getSchedule(TEST_CLIENT_ID);
+
+    // Verify results
+    assertEquals(1, registry.get("livesched.upstream.wait")
+        .tags("endpoint", "/retrieveTasks", "outcome", "success").timer().count());
+    assertEquals(1, registry.get("livesched.upstream.parse")
+        .tag("endpoint", "/retrieveTasks").timer().count());
+    assertEquals(1, registry.get("livesched.upstream.postprocess")
+        .tag("endpoint", "/retrieveTasks").timer().count());
+    assertEquals(1, registry.get("livesched.upstream.wait")
+        .tags("endpoint", "/retrieveResourceTypes", "outcome", "parse-error").timer().count());
+    assertEquals(1, registry.get("livesched.upstream.wait")
+        .tags("endpoint", "/retrieveSchedule", "outcome", "not-found").timer().count());
+    assertEquals(8.0, registry.get("livesched.upstream.response.chars")
+        .tag("endpoint", "/retrieveResourceTypes").summary().totalAmount());
+  }
+
   @Test
   void unscheduleTask_Success() {
     // Prepare test data
@@ -179,4 +339,271 @@ class LiveSchedServiceTest {
     assertEquals("Task unscheduled successfully", result.get("message"));
   }
 
-}
\ No newline at end of file
+  @Test
+  void getAllTasks_DecodesTasksAndFormatsTimes() {
+    // Prepare test data
+    String jsonResponse = """
+        [
+            {
+                "taskId": "1",
+                "taskName": "Surgery",
+                "priority": 2,
+                "startTime": "2024-01-01T10:00:00",
+                "endTime": "2024-01-01T11:30:00",
+                "location": {"latitude": 40.7128, "longitude": -74.0060},
+                "resources": {"Nurse": 2},
+                "unknownField": true
+            }
+        ]
+        """;
+    when(restTemplate.getForEntity(
+        contains("/retrieveTasks"),
+        eq(String.class)
+    )).thenReturn(new ResponseEntity<>(jsonResponse, HttpStatus.OK));
+
+    // Execute test
+    LiveSchedResult<List<Task>> result = liveSchedService.getAllTasks(TEST_CLIENT_ID);
+
+    // Verify results
+    Task task = result.value().get(0);
+    assertEquals("Surgery", task.taskName());
+    assertEquals(2, task.priority());
+    assertEquals("2024-01-01 10:00", task.startTime());
+    assertEquals("2024-01-01 11:30", task.endTime());
+    assertEquals(40.7128, task.location().latitude());
+    assertEquals(2, task.resources().get("Nurse"));
+  }
+
+  @Test
+  void getSchedule_DecodesAssignedResources() {
+    // Prepare test data
+    String jsonResponse = """
+        [
+            {
+                "task": {
+                    "taskId": "1",
+                    "taskName": "Surgery",
+                    "priority": 1,
+                    "startTime": "2024-01-01T10:00:00",
+                    "endTime": "2024-01-01T11:00:00"
+                },
+                "assignedResources": [
+                    {"resourceId": "Nurse 1", "availableFrom": "2024-01-01T11:00:00"}
+                ]
+            }
+        ]
+        """;
+    when(restTemplate.getForEntity(
+        contains("/retrieveSchedule"),
+        eq(String.class)
+    )).thenReturn(new ResponseEntity<>(jsonResponse, HttpStatus.OK));
+
+    // Execute test
+    LiveSchedResult<List<Schedule>> result = liveSchedService.getSchedule(TEST_CLIENT_ID);
+
+    // Verify results
+    Schedule schedule = result.value().get(0);
+    assertEquals("2024-01-01 10:00", schedule.task().startTime());
+    assertEquals("Nurse 1", schedule.assignedResources().get(0).resourceId());
+    assertEquals("2024-01-01 11:00", schedule.assignedResources().get(0).availableFrom());
+  }
+
+  @Test
+  void getSchedule_ParseError() {
+    // Prepare test data
+    when(restTemplate.getForEntity(
+        contains("/retrieveSchedule"),
+        eq(String.class)
+    )).thenReturn(new ResponseEntity<>("not json", HttpStatus.OK));
+
+    // Execute test
+    LiveSchedResult<List<Schedule>> result = liveSchedService.getSchedule(TEST_CLIENT_ID);
+
+    // Verify results
+    assertTrue(result.isError());
+    assertEquals("Failed to parse JSON response.", result.error());
+  }
+
+  @Test
+  void getAllResourceTypes_ServedFromCacheUntilResourceTypeAdded() {
+    // Prepare test data
+    when(restTemplate.getForEntity(
+        contains("/retrieveResourceTypes"),
+        eq(String.class)
+    )).thenReturn(new ResponseEntity<>("[]", HttpStatus.OK));
+    when(restTemplate.exchange(
+        contains("/addResourceType"),
+        eq(HttpMethod.PATCH),
+        isNull(),
+        eq(String.class)
+    )).thenReturn(new ResponseEntity<>("Resource type added successfully", HttpStatus.OK));
+
+    // Execute test
+    liveSchedService.getAllResourceTypes(TEST_CLIENT_ID);
+    liveSchedService.getAllResourceTypes(TEST_CLIENT_ID);
+    liveSchedService.addResourceType("Printer", 5, 40.7128, -74.0060, TEST_CLIENT_ID);
+    liveSchedService.getAllResourceTypes(TEST_CLIENT_ID);
+
+    // Verify results
+    verify(restTemplate, times(2))
+        .getForEntity(contains("/retrieveResourceTypes"), eq(String.class));
+  }
+
+  @Test
+  void addTask_AddsCreatedTaskToCachedSnapshot() {
+    // Prepare test data
+    when(restTemplate.getForEntity(
+        contains("/retrieveTasks"),
+        eq(String.class)
+    )).thenReturn(new ResponseEntity<>("""
+        [{"taskId": "1", "taskName": "Old", "priority": 3,
+          "startTime": "2024-01-01T10:00:00", "endTime": "2024-01-01T11:00:00"}]
+        """, HttpStatus.OK));
+    when(restTemplate.exchange(
+        contains("/addTask"),
+        eq(HttpMethod.PATCH),
+        isNull(),
+        eq(String.class)
+    )).thenReturn(new ResponseEntity<>("""
+        {"taskId": "2", "taskName": "New", "priority": 1,
+         "startTime": "2024-01-02T10:00:00", "endTime": "2024-01-02T11:00:00"}
+        """, HttpStatus.OK));
+
+    // Execute test
+    liveSchedService.getTaskSnapshot(TEST_CLIENT_ID);
+    liveSchedService.addTask("New", 1, "2024-01-02 10:00",
+        "2024-01-02 11:00", 40.7128, -74.0060, TEST_CLIENT_ID);
+    List<Task> sorted = liveSchedService.getTaskSnapshot(TEST_CLIENT_ID).value()
+        .sorted(TaskSnapshot.Order.PRIORITY_ASC);
+
+    // Verify results
+    assertEquals(List.of("2", "1"), sorted.stream().map(Task::taskId).toList());
+    assertEquals("2024-01-02 10:00", sorted.get(0).startTime());
+    verify(restTemplate, times(1)).getForEntity(contains("/retrieveTasks"), eq(String.class));
+  }
+
+  @Test
+  void getTaskSnapshot_KeepsSnapshotAndVersionWhenReloadIsUnchanged() {
+    // Prepare test data
+    String body = """
+        [{"taskId": "1", "taskName": "Surgery", "priority": 1,
+          "startTime": "2024-01-01T10:00:00", "endTime": "2024-01-01T12:00:00"}]
+        """;
+    when(restTemplate.getForEntity(contains("/retrieveTasks"), eq(String.class)))
+        .thenReturn(new ResponseEntity<>(body, HttpStatus.OK))
+        .thenReturn(new ResponseEntity<>(body, HttpStatus.OK))
+        .thenReturn(new ResponseEntity<>(body.replace("Surgery", "Checkup"), HttpStatus.OK));
+    TaskSnapshot first = liveSchedService.getTaskSnapshot(TEST_CLIENT_ID).value();
+    final long version = liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.TASKS);
+
+    // Execute test
+    now.addAndGet(Duration.ofSeconds(31).toNanos());
+    TaskSnapshot unchanged = liveSchedService.getTaskSnapshot(TEST_CLIENT_ID).value();
+    long unchangedVersion = liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.TASKS);
+    now.addAndGet(Duration.ofSeconds(31).toNanos());
+    TaskSnapshot changed = liveSchedService.getTaskSnapshot(TEST_CLIENT_ID).value();
+
+    // Verify results
+    assertSame(first, unchanged);
+    assertEquals(version, unchangedVersion);
+    assertEquals("Checkup", changed.tasks().get(0).taskName());
+    assertTrue(liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.TASKS) > version);
+    verify(restTemplate, times(3)).getForEntity(contains("/retrieveTasks"), eq(String.class));
+  }
+
+  @Test
+  void getTaskSnapshot_UnchangedReloadServesCachedRows() {
+    // Prepare test data
+    when(restTemplate.getForEntity(contains("/retrieveTasks"), eq(String.class)))
+        .thenReturn(new ResponseEntity<>("""
+            [{"taskId": "1", "taskName": "Surgery", "priority": 1,
+              "startTime": "2024-01-01T10:00:00", "endTime": "2024-01-01T12:00:00"}]
+            """, HttpStatus.OK));
+    ITemplateEngine templateEngine = mock(ITemplateEngine.class);
+    when(templateEngine.process(anyString(), anySet(), any(IContext.class)))
+        .thenReturn("<tr></tr>");
+    FragmentCache fragments = new FragmentCache(templateEngine,
+        new LiveSchedFragmentProperties(DataSize.ofMegabytes(1)));
+
+    // Execute test
+    for (int load = 0; load < 2; load++) {
+      List<Task> tasks = liveSchedService.getTaskSnapshot(TEST_CLIENT_ID).value().tasks();
+      fragments.render("taskRows", "rows", TEST_CLIENT_ID,
+          liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.TASKS), "page 1",
+          Map.of("tasks", tasks));
+      now.addAndGet(Duration.ofSeconds(31).toNanos());
+    }
+
+    // Verify results
+    verify(restTemplate, times(2)).getForEntity(contains("/retrieveTasks"), eq(String.class));
+    verify(templateEngine, times(1)).process(anyString(), anySet(), any(IContext.class));
+  }
+
+  @Test
+  void getResourceSnapshot_KeepsVersionWhenReloadIsUnchanged() {
+    // Prepare test data
+    when(restTemplate.getForEntity(contains("/retrieveResourceTypes"), eq(String.class)))
+        .thenReturn(new ResponseEntity<>("""
+            [{"typeName": "Nurse", "totalUnits": 8}]
+            """, HttpStatus.OK));
+    ResourceSnapshot first = liveSchedService.getResourceSnapshot(TEST_CLIENT_ID).value();
+    long version = liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.RESOURCE_TYPES);
+
+    // Execute test
+    now.addAndGet(Duration.ofSeconds(31).toNanos());
+    ResourceSnapshot reloaded = liveSchedService.getResourceSnapshot(TEST_CLIENT_ID).value();
+
+    // Verify results
+    assertSame(first, reloaded);
+    assertEquals(version, liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.RESOURCE_TYPES));
+    verify(restTemplate, times(2))
+        .getForEntity(contains("/retrieveResourceTypes"), eq(String.class));
+  }
+
+  @Test
+  void getSchedule_ReusesDecodedScheduleWhenBodyIsUnchanged() {
+    // Prepare test data
+    when(restTemplate.getForEntity(contains("/retrieveSchedule"), eq(String.class)))
+        .thenReturn(new ResponseEntity<>("""
+            [{"task": {"taskId": "1", "taskName": "Surgery", "priority": 1,
+              "startTime": "2024-01-01T10:00:00", "endTime": "2024-01-01T12:00:00"},
+              "assignedResources": []}]
+            """, HttpStatus.OK));
+
+    // Execute test
+    LiveSchedResult<List<Schedule>> first = liveSchedService.getSchedule(TEST_CLIENT_ID);
+    LiveSchedResult<List<Schedule>> second = liveSchedService.refreshSchedule(TEST_CLIENT_ID);
+
+    // Verify results
+    assertSame(first.value(), second.value());
+    assertEquals(1, registry.get("livesched.upstream.parse")
+        .tag("endpoint", "/retrieveSchedule").timer().count());
+    assertEquals(1, registry.get("livesched.upstream.calls")
+        .tags("endpoint", "/retrieveSchedule", "outcome", "unchanged").counter().count());
+  }
+
+  @Test
+  void getSchedule_RevalidatesUpstreamEtag() {
+    // Prepare test data
+    HttpHeaders tagged = new HttpHeaders();
+    tagged.setETag("\"v1\"");
+    when(restTemplate.getForEntity(contains("/retrieveSchedule"), eq(String.class)))
+        .thenReturn(new ResponseEntity<>("[]", tagged, HttpStatus.OK));
+    when(restTemplate.exchange(contains("/retrieveSchedule"), eq(HttpMethod.GET),
+        any(HttpEntity.class), eq(String.class)))
+        .thenReturn(new ResponseEntity<>(HttpStatus.NOT_MODIFIED));
+
+    // Execute test
+    LiveSchedResult<List<Schedule>> first = liveSchedService.getSchedule(TEST_CLIENT_ID);
+    LiveSchedResult<List<Schedule>> second = liveSchedService.refreshSchedule(TEST_CLIENT_ID);
+
+    // Verify results
+    assertSame(first.value(), second.value());
+    ArgumentCaptor<HttpEntity> request = ArgumentCaptor.forClass(HttpEntity.class);
+    verify(restTemplate).exchange(contains("/retrieveSchedule"), eq(HttpMethod.GET),
+        request.capture(), eq(String.class));
+    assertEquals(List.of("\"v1\""), request.getValue().getHeaders().getIfNoneMatch());
+    assertEquals(1, registry.get("livesched.upstream.calls")
+        .tags("endpoint", "/retrieveSchedule", "outcome", "not-modified").counter().count());
+  }
+}
@@ -0,0 +1,391 @@
+package dev.coms4156.project.liveschedclient;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.util.DigestUtils;
+
+/**
+ * LiveSchedStubServer is an in-process stand-in for the LiveSched REST API, so the client can
+ * be exercised end to end without the real service. Each client ID gets its own reproducible
+ * dataset on first use, mutations are applied in memory, and every response can be delayed by
+ * a log-normal latency and replaced by an injected 500. Bodies are gzipped for clients that
+ * accept it, and the bytes before and after compression are counted. Reads can carry an
+ * {@code ETag} and answer a matching {@code If-None-Match} with a 304.
+ */
+final class LiveSchedStubServer implements AutoCloseable {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final int GZIP_MIN_SIZE = 256;
+
+  /**
+   * The stub's dataset size, latency distribution and error injection.
+   *
+   * @param tasksPerClient         The number of tasks generated for each client.
+   * @param resourceTypesPerClient The number of resource types generated for each client.
+   * @param medianLatency          The median delay added to each response.
+   * @param latencySigma           The log-normal shape of the delay; 0 makes it constant.
+   * @param errorRate              The fraction of requests answered with a 500.
+   * @param seed                   The seed the datasets are generated from.
+   * @param gzip                   Whether bodies are gzipped when the request accepts it.
+   * @param etags                  Whether reads are tagged and revalidated.
+   */
+  record Settings(int tasksPerClient, int resourceTypesPerClient, Duration medianLatency,
+                  double latencySigma, double errorRate, long seed, boolean gzip,
+                  boolean etags) {
+
+    static Settings defaults() {
+      return new Settings(200, 20, Duration.ZERO, 0, 0, 42, true, true);
+    }
+
+    /**
+     * Reads the settings from {@code stub.*} system properties, falling back to the defaults.
+     *
+     * @return The settings.
+     */
+    static Settings fromSystemProperties() {
+      Settings defaults = defaults();
+      return new Settings(
+          Integer.getInteger("stub.tasks", defaults.tasksPerClient()),
+          Integer.getInteger("stub.resourceTypes", defaults.resourceTypesPerClient()),
+          Duration.ofMillis(Long.getLong("stub.latencyMillis",
+              defaults.medianLatency().toMillis())),
+          Double.parseDouble(System.getProperty("stub.latencySigma",
+              String.valueOf(defaults.latencySigma()))),
+          Double.parseDouble(System.getProperty("stub.errorRate",
+              String.valueOf(defaults.errorRate()))),
+          defaults.seed(),
+          Boolean.parseBoolean(System.getProperty("stub.gzip",
+              String.valueOf(defaults.gzip()))),
+          Boolean.parseBoolean(System.getProperty("stub.etags",
+              String.valueOf(defaults.etags()))));
+    }
+  }
+
+  private final Settings settings;
+  private final HttpServer server;
+  private final ExecutorService workers = Executors.newCachedThreadPool();
+  private final Map<String, ClientData> clients = new ConcurrentHashMap<>();
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong bodyBytes = new AtomicLong();
+  private final AtomicLong wireBytes = new AtomicLong();
+  private final AtomicLong notModified = new AtomicLong();
+
+  private LiveSchedStubServer(Settings settings) throws IOException {
+    this.settings = settings;
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", this::handle);
+    server.setExecutor(workers);
+  }
+
+  /**
+   * Starts a stub server on an ephemeral local port.
+   *
+   * @param settings The dataset, latency and error settings.
+   * @return The running server.
+   * @throws IOException If the port cannot be bound.
+   */
+  static LiveSchedStubServer start(Settings settings) throws IOException {
+    LiveSchedStubServer stub = new LiveSchedStubServer(settings);
+    stub.server.start();
+    return stub;
+  }
+
+  String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  long requestCount() {
+    return requests.get();
+  }
+
+  /**
+   * Returns the response body bytes produced, before compression.
+   */
+  long bodyBytes() {
+    return bodyBytes.get();
+  }
+
+  /**
+   * Returns the response body bytes sent, after compression.
+   */
+  long wireBytes() {
+    return wireBytes.get();
+  }
+
+  /**
+   * Returns the number of reads answered with a 304.
+   */
+  long notModifiedCount() {
+    return notModified.get();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    workers.shutdownNow();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    try (exchange) {
+      delay();
+      if (settings.errorRate() > 0 && ThreadLocalRandom.current().nextDouble()
+          < settings.errorRate()) {
+        respond(exchange, 500, "Injected failure");
+        return;
+      }
+      Map<String, String> params = query(exchange.getRequestURI().getRawQuery());
+      String path = exchange.getRequestURI().getPath();
+      if ("/index".equals(path)) {
+        respond(exchange, 200, "Welcome to the LiveSched stub");
+        return;
+      }
+      ClientData data = clients.computeIfAbsent(String.valueOf(params.get("clientId")),
+          clientId -> new ClientData(settings, clientId));
+      synchronized (data) {
+        route(exchange, exchange.getRequestMethod(), path, params, data);
+      }
+    } catch (RuntimeException e) {
+      respond(exchange, 400, String.valueOf(e.getMessage()));
+    }
+  }
+
+  private void route(HttpExchange exchange, String method, String path,
+                     Map<String, String> params, ClientData data) throws IOException {
+    switch (method + " " + path) {
+      case "GET /retrieveTasks" -> json(exchange, data.tasks.values());
+      case "GET /retrieveTask" -> {
+        Task task = data.tasks.get(params.get("taskId"));
+        if (task == null) {
+          respond(exchange, 404, "Task not found");
+        } else {
+          json(exchange, task);
+        }
+      }
+      case "PATCH /addTask" -> {
+        double latitude = Double.parseDouble(params.get("latitude"));
+        double longitude = Double.parseDouble(params.get("longitude"));
+        Task task = new Task(String.valueOf(data.nextTaskId++), params.get("taskName"),
+            Integer.parseInt(params.get("priority")), isoTime(params.get("startTime")),
+            isoTime(params.get("endTime")),
+            new Location(latitude, longitude, latitude + ", " + longitude), Map.of());
+        data.tasks.put(task.taskId(), task);
+        json(exchange, task);
+      }
+      case "DELETE /deleteTask" -> {
+        if (data.tasks.remove(params.get("taskId")) == null) {
+          respond(exchange, 404, "Task not found");
+        } else {
+          data.unschedule(params.get("taskId"));
+          respond(exchange, 200, "Task deleted successfully");
+        }
+      }
+      case "GET /retrieveResourceTypes" -> json(exchange, data.resourceTypes.values());
+      case "PATCH /addResourceType" -> {
+        double latitude = Double.parseDouble(params.get("latitude"));
+        double longitude = Double.parseDouble(params.get("longitude"));
+        ResourceType resourceType = new ResourceType(params.get("typeName"),
+            Integer.parseInt(params.get("totalUnits")),
+            new Location(latitude, longitude, latitude + ", " + longitude));
+        data.resourceTypes.put(resourceType.typeName(), resourceType);
+        respond(exchange, 200, "Resource type added successfully");
+      }
+      case "PATCH /modifyResourceType" -> {
+        Task task = data.tasks.get(params.get("taskId"));
+        if (task == null) {
+          respond(exchange, 404, "Task not found");
+          return;
+        }
+        Map<String, Integer> resources = new LinkedHashMap<>(task.resources());
+        int quantity = Integer.parseInt(params.get("quantity"));
+        if (quantity <= 0) {
+          resources.remove(params.get("typeName"));
+        } else {
+          resources.put(params.get("typeName"), quantity);
+        }
+        data.tasks.put(task.taskId(), new Task(task.taskId(), task.taskName(), task.priority(),
+            task.startTime(), task.endTime(), task.location(), resources));
+        respond(exchange, 200, "Resource modified successfully");
+      }
+      case "DELETE /deleteResourceType" -> {
+        String typeName = params.get("typeName");
+        if (!data.resourceTypes.containsKey(typeName)) {
+          respond(exchange, 404, "Resource type not found");
+        } else if (data.tasks.values().stream()
+            .anyMatch(task -> task.resources().containsKey(typeName))) {
+          respond(exchange, 400, "Resource type in use");
+        } else {
+          data.resourceTypes.remove(typeName);
+          respond(exchange, 200, "Resource type deleted successfully");
+        }
+      }
+      case "GET /retrieveSchedule" -> json(exchange, data.schedule);
+      case "PATCH /updateSchedule" -> {
+        data.reschedule();
+        json(exchange, data.schedule);
+      }
+      case "PATCH /unscheduleTask" -> {
+        if (!data.unschedule(params.get("taskId"))) {
+          respond(exchange, 404, "Task not found");
+        } else {
+          respond(exchange, 200, "Task unscheduled successfully");
+        }
+      }
+      default -> respond(exchange, 404, "No such endpoint: " + method + " " + path);
+    }
+  }
+
+  private void delay() {
+    long median = settings.medianLatency().toNanos();
+    if (median <= 0) {
+      return;
+    }
+    double factor = Math.exp(settings.latencySigma() * ThreadLocalRandom.current().nextGaussian());
+    try {
+      TimeUnit.NANOSECONDS.sleep((long) (median * factor));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void json(HttpExchange exchange, Object body) throws IOException {
+    byte[] bytes;
+    try {
+      bytes = MAPPER.writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      respond(exchange, 500, e.getMessage());
+      return;
+    }
+    if (settings.etags() && "GET".equals(exchange.getRequestMethod())) {
+      String etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+      exchange.getResponseHeaders().set("ETag", etag);
+      if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+        notModified.incrementAndGet();
+        // The JDK server resets a connection reused after a bodiless 304, so it is not reused
+        exchange.getResponseHeaders().set("Connection", "close");
+        exchange.sendResponseHeaders(304, -1);
+        return;
+      }
+    }
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    write(exchange, 200, bytes);
+  }
+
+  private void respond(HttpExchange exchange, int status, String body)
+      throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "text/plain;charset=UTF-8");
+    write(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void write(HttpExchange exchange, int status, byte[] bytes) throws IOException {
+    bodyBytes.addAndGet(bytes.length);
+    if (settings.gzip() && bytes.length >= GZIP_MIN_SIZE && acceptsGzip(exchange)) {
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+      try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+        gzip.write(bytes);
+      }
+      bytes = compressed.toByteArray();
+      exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+    }
+    wireBytes.addAndGet(bytes.length);
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream body = exchange.getResponseBody()) {
+      body.write(bytes);
+    }
+  }
+
+  private static boolean acceptsGzip(HttpExchange exchange) {
+    for (String header : exchange.getRequestHeaders().getOrDefault("Accept-Encoding", List.of())) {
+      for (String coding : header.split(",")) {
+        if ("gzip".equalsIgnoreCase(coding.split(";")[0].trim())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static Map<String, String> query(String rawQuery) {
+    Map<String, String> params = new HashMap<>();
+    if (rawQuery == null) {
+      return params;
+    }
+    for (String pair : rawQuery.split("&")) {
+      int eq = pair.indexOf('=');
+      String name = eq < 0 ? pair : pair.substring(0, eq);
+      String value = eq < 0 ? "" : pair.substring(eq + 1);
+      params.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+          URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return params;
+  }
+
+  private static String isoTime(String displayTime) {
+    // The client sends "yyyy-MM-dd HH:mm"; the service stores ISO-8601 with seconds
+    return displayTime.replace(' ', 'T') + ":00";
+  }
+
+  /**
+   * The in-memory state of one client. Guarded by its own monitor.
+   */
+  private static final class ClientData {
+
+    private final Map<String, Task> tasks = new LinkedHashMap<>();
+    private final Map<String, ResourceType> resourceTypes = new LinkedHashMap<>();
+    private final List<Schedule> schedule = new ArrayList<>();
+    private int nextTaskId;
+
+    ClientData(Settings settings, String clientId) {
+      SyntheticData data = new SyntheticData(settings.seed() ^ clientId.hashCode());
+      for (Task task : data.serviceTasks(1, settings.tasksPerClient())) {
+        tasks.put(task.taskId(), task);
+      }
+      for (ResourceType resourceType : data.resourceTypes(settings.resourceTypesPerClient())) {
+        resourceTypes.put(resourceType.typeName(), resourceType);
+      }
+      nextTaskId = settings.tasksPerClient() + 1;
+      reschedule();
+    }
+
+    void reschedule() {
+      // Not the real solver: highest priority first, one unit of each required type at start
+      schedule.clear();
+      tasks.values().stream()
+          .sorted(Comparator.comparingInt(Task::priority)
+              .thenComparing(task -> LocalDateTime.parse(task.startTime())))
+          .forEach(task -> {
+            List<AssignedResource> assigned = new ArrayList<>();
+            task.resources().keySet().forEach(typeName ->
+                assigned.add(new AssignedResource(typeName + " 1", task.startTime())));
+            schedule.add(new Schedule(task, assigned));
+          });
+    }
+
+    boolean unschedule(String taskId) {
+      return schedule.removeIf(entry -> entry.task().taskId().equals(taskId));
+    }
+  }
+}
@@ -0,0 +1,144 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.RestClientException;
+
+class LiveSchedStubServerTest {
+
+  private static final String TEST_CLIENT_ID = "stubClient";
+
+  private LiveSchedStubServer stub;
+  private CloseableHttpClient httpClient;
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (httpClient != null) {
+      httpClient.close();
+    }
+    stub.close();
+  }
+
+  @Test
+  void reads_ServeGeneratedDataset() throws IOException {
+    // Prepare test data
+    LiveSchedService service = serviceAgainst(new LiveSchedStubServer.Settings(
+        25, 5, Duration.ZERO, 0, 0, 7, false, false));
+
+    // Execute test
+    LiveSchedResult<List<Task>> tasks = service.getAllTasks(TEST_CLIENT_ID);
+    LiveSchedResult<List<ResourceType>> resourceTypes =
+        service.getAllResourceTypes(TEST_CLIENT_ID);
+    LiveSchedResult<List<Schedule>> schedule = service.getSchedule(TEST_CLIENT_ID);
+
+    // Verify results
+    assertEquals(25, tasks.value().size());
+    assertEquals(5, resourceTypes.value().size());
+    assertEquals(25, schedule.value().size());
+    assertDoesNotThrow(service::pingServer);
+  }
+
+  @Test
+  void mutations_AreVisibleToLaterReads() throws IOException {
+    // Prepare test data
+    LiveSchedService service = serviceAgainst(new LiveSchedStubServer.Settings(
+        3, 2, Duration.ZERO, 0, 0, 7, false, false));
+
+    // Execute test
+    Map<String, Object> added = service.addTask("Stub Task", 2, "2024-12-01 09:00",
+        "2024-12-01 10:00", 40.7, -74.0, TEST_CLIENT_ID);
+    String taskId = (String) added.get("taskId");
+    service.modifyResource(taskId, "Nurse", 2, TEST_CLIENT_ID);
+    LiveSchedResult<Task> task = service.getTaskById(taskId, TEST_CLIENT_ID);
+
+    // Verify results
+    assertEquals("4", taskId);
+    assertEquals("2024-12-01 09:00", task.value().startTime());
+    assertEquals(Map.of("Nurse", 2), task.value().resources());
+    assertEquals("Task not found.", service.getTaskById("99", TEST_CLIENT_ID).error());
+  }
+
+  @Test
+  void injectedErrors_SurfaceAsConnectionFailures() throws IOException {
+    // Prepare test data
+    LiveSchedService service = serviceAgainst(new LiveSchedStubServer.Settings(
+        3, 2, Duration.ZERO, 0, 1.0, 7, false, false));
+
+    // Execute test
+    LiveSchedResult<List<Task>> tasks = service.getAllTasks(TEST_CLIENT_ID);
+
+    // Verify results
+    assertEquals("Error connecting to the service.", tasks.error());
+    assertThrows(RestClientException.class, service::pingServer);
+    // One attempt plus two retries for each read
+    assertEquals(6, stub.requestCount());
+  }
+
+  @Test
+  void largeReads_AreGzippedAndDecodedTransparently() throws IOException {
+    // Prepare test data
+    LiveSchedService service = serviceAgainst(new LiveSchedStubServer.Settings(
+        500, 5, Duration.ZERO, 0, 0, 7, true, false));
+
+    // Execute test
+    LiveSchedResult<List<Task>> tasks = service.getAllTasks(TEST_CLIENT_ID);
+
+    // Verify results
+    assertEquals(500, tasks.value().size());
+    assertEquals("1", tasks.value().get(0).taskId());
+    assertTrue(stub.wireBytes() * 4 < stub.bodyBytes(),
+        stub.wireBytes() + " bytes sent for " + stub.bodyBytes() + " bytes of JSON");
+  }
+
+  @Test
+  void unchangedReads_AreRevalidatedWithoutBodies() throws IOException {
+    // Prepare test data
+    LiveSchedService service = serviceAgainst(new LiveSchedStubServer.Settings(
+        25, 5, Duration.ZERO, 0, 0, 7, false, true));
+
+    // Execute test
+    LiveSchedResult<List<Task>> first = service.getAllTasks(TEST_CLIENT_ID);
+    LiveSchedResult<List<Task>> second = service.getAllTasks(TEST_CLIENT_ID);
+    service.addTask("Stub Task", 2, "2024-12-01 09:00", "2024-12-01 10:00", 40.7, -74.0,
+        TEST_CLIENT_ID);
+    LiveSchedResult<List<Task>> third = service.getAllTasks(TEST_CLIENT_ID);
+
+    // Verify results
+    assertEquals(first.value(), second.value());
+    assertEquals(26, third.value().size());
+    assertEquals(1, stub.notModifiedCount());
+  }
+
+  private LiveSchedService serviceAgainst(LiveSchedStubServer.Settings settings)
+      throws IOException {
+    stub = LiveSchedStubServer.start(settings);
+    LiveSchedHttpProperties properties = new LiveSchedHttpProperties(stub.baseUrl(), 10, 10,
+        Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(1),
+        Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(2));
+    HttpClientConfig config = new HttpClientConfig();
+    httpClient = config.liveSchedHttpClient(
+        config.liveSchedConnectionManager(properties), properties,
+        new LiveSchedCompressionProperties(List.of("gzip", "deflate")));
+    return new LiveSchedService(new RestTemplateBuilder(), properties, httpClient,
+        new TenantCache(new LiveSchedCacheProperties(Duration.ZERO, 100)),
+        new UpstreamExecutor(new LiveSchedAsyncProperties(false, 4, 256)),
+        new UpstreamLimiter(new LiveSchedLimitProperties(
+            0, 100, 100, 32, Duration.ofSeconds(5), 100, Map.of())),
+        new UpstreamGuard(new LiveSchedResilienceProperties(
+            5, Duration.ofSeconds(10), 1, 2, Duration.ofMillis(1), Duration.ofMillis(10))),
+        new UpstreamMetrics(new SimpleMeterRegistry(), new LiveSchedMetricsProperties(16)),
+        new UpstreamValidators(new LiveSchedCacheProperties(Duration.ZERO, 100)));
+  }
+}
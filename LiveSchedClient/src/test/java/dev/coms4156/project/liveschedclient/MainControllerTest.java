@@ -1,23 +1,37 @@
 package dev.coms4156.project.liveschedclient;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
 
+import dev.coms4156.project.liveschedclient.TenantCache.Dataset;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -26,6 +40,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @WebMvcTest(MainController.class)
 class MainControllerTest {
@@ -36,6 +51,24 @@ class MainControllerTest {
   @MockBean
   private LiveSchedService liveSchedService;
 
+  @MockBean
+  private TaskImporter taskImporter;
+
+  @MockBean
+  private UpstreamHealthMonitor healthMonitor;
+
+  @MockBean
+  private ScheduleTracker scheduleTracker;
+
+  @MockBean
+  private ScheduleStream scheduleStream;
+
+  @MockBean
+  private FragmentCache fragmentCache;
+
+  @MockBean
+  private ScheduleSimulator scheduleSimulator;
+
   private MockHttpSession session;
 
   private static final String TEST_CLIENT_ID = "testClient123";
@@ -54,6 +87,17 @@ class MainControllerTest {
             .andExpect(view().name("index"));
   }
 
+  @Test
+  void indexWarnsWhenServiceIsDownWithoutPinging() throws Exception {
+    when(healthMonitor.isDown()).thenReturn(true);
+
+    mockMvc.perform(get("/")
+            .session(session))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("serviceDown", true));
+    verify(liveSchedService, times(0)).pingServer();
+  }
+
   @Test
   void indexRedirectsToDashboardsWhenLoggedIn() throws Exception {
     session.setAttribute("clientId", TEST_CLIENT_ID);
@@ -99,13 +143,13 @@ class MainControllerTest {
   void taskDashboardShowsTasksWhenLoggedIn() throws Exception {
     // Setup
     session.setAttribute("clientId", TEST_CLIENT_ID);
-    List<Map<String, Object>> mockTasks = new ArrayList<>();
-    Map<String, Object> task = new HashMap<>();
-    task.put("taskId", "task1");
-    task.put("name", "Test Task");
+    List<Task> mockTasks = new ArrayList<>();
+    Task task = new Task("task1", "Test Task", 3, "2024-01-01 10:00", "2024-01-01 11:00",
+        null, Map.of());
     mockTasks.add(task);
     
-    when(liveSchedService.getAllTasks(TEST_CLIENT_ID)).thenReturn(mockTasks);
+    when(liveSchedService.getTaskSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new TaskSnapshot(mockTasks)));
 
     mockMvc.perform(get("/taskDashboard")
             .session(session))
@@ -114,6 +158,266 @@ class MainControllerTest {
             .andExpect(model().attribute("tasks", mockTasks));
   }
 
+  @Test
+  void taskDashboardWritesCachedRows() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    List<Task> mockTasks = List.of(new Task("task1", "Test Task", 3, null, null, null, Map.of()));
+    when(liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.TASKS)).thenReturn(5L);
+    when(liveSchedService.getTaskSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new TaskSnapshot(mockTasks)));
+    when(fragmentCache.render(eq("taskRows"), eq("rows"), eq(TEST_CLIENT_ID), eq(5L),
+        anyString(), Mockito.anyMap())).thenReturn("<tr id=\"cached\"></tr>");
+
+    mockMvc.perform(get("/taskDashboard")
+            .session(session))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("<tr id=\"cached\"></tr>")))
+            .andExpect(content().string(not(containsString("Test Task"))));
+  }
+
+  @Test
+  void taskDashboardAnswersRevalidationAfterUnchangedReloadWith304() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    List<Task> mockTasks = List.of(new Task("task1", "Test Task", 3, null, null, null, Map.of()));
+    when(liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.TASKS)).thenReturn(5L);
+    when(liveSchedService.getTaskSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new TaskSnapshot(mockTasks)))
+        .thenReturn(LiveSchedResult.ok(new TaskSnapshot(mockTasks)));
+    String etag = mockMvc.perform(get("/taskDashboard")
+            .session(session))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/taskDashboard")
+            .session(session)
+            .header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+  }
+
+  @Test
+  void taskDashboardSortsTasksByPriority() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    Task low = new Task("task1", "Low", 5, null, null, null, Map.of());
+    Task high = new Task("task2", "High", 1, null, null, null, Map.of());
+    when(liveSchedService.getTaskSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new TaskSnapshot(List.of(low, high))));
+
+    mockMvc.perform(get("/taskDashboard")
+            .session(session)
+            .param("sort", "asc"))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("tasks", List.of(high, low)));
+  }
+
+  @Test
+  void taskDashboardShowsRequestedPage() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    List<Task> mockTasks = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      mockTasks.add(new Task("task" + i, "Task " + i, 3, null, null, null, Map.of()));
+    }
+    when(liveSchedService.getTaskSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new TaskSnapshot(mockTasks)));
+
+    mockMvc.perform(get("/taskDashboard")
+            .session(session)
+            .param("size", "2")
+            .param("cursor", "task2"))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("tasks", mockTasks.subList(2, 4)))
+            .andExpect(model().attribute("taskPage",
+                new TaskPage(mockTasks.subList(2, 4), 2, 2, 5, "task4")));
+  }
+
+  @Test
+  void taskDetailShowsTaskAndResourceTypes() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    Task task = new Task("task1", "Surgery", 1, "2024-01-01 10:00", "2024-01-01 11:00",
+        new Location(40.7128, -74.0060, "40.7128, -74.006"), Map.of("Nurse", 2));
+    List<ResourceType> resourceTypes = List.of(new ResourceType("Nurse", 4, null));
+    when(liveSchedService.getTaskByIdAsync("task1", TEST_CLIENT_ID))
+        .thenReturn(CompletableFuture.completedFuture(LiveSchedResult.ok(task)));
+    when(liveSchedService.getAllResourceTypesAsync(TEST_CLIENT_ID))
+        .thenReturn(CompletableFuture.completedFuture(LiveSchedResult.ok(resourceTypes)));
+
+    mockMvc.perform(get("/task/task1")
+            .session(session))
+            .andExpect(status().isOk())
+            .andExpect(view().name("taskDetail"))
+            .andExpect(model().attribute("task", task))
+            .andExpect(model().attribute("resourceTypes", resourceTypes));
+  }
+
+  @Test
+  void throttledClientGetsTooManyRequests() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    when(liveSchedService.getTaskSnapshot(TEST_CLIENT_ID))
+        .thenThrow(new TenantThrottledException(TEST_CLIENT_ID, "queue full",
+            Duration.ofSeconds(3)));
+
+    mockMvc.perform(get("/taskDashboard")
+            .session(session))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "3"));
+  }
+
+  @Test
+  void throttledAsyncReadGetsTooManyRequests() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    when(liveSchedService.getTaskByIdAsync("task1", TEST_CLIENT_ID))
+        .thenReturn(CompletableFuture.failedFuture(new TenantThrottledException(
+            TEST_CLIENT_ID, "waited too long", Duration.ofSeconds(1))));
+    when(liveSchedService.getAllResourceTypesAsync(TEST_CLIENT_ID))
+        .thenReturn(CompletableFuture.completedFuture(LiveSchedResult.ok(List.of())));
+
+    mockMvc.perform(get("/task/task1")
+            .session(session))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", "1"));
+  }
+
+  @Test
+  void modifyResourcesHandsUpdatedTaskToDetailPage() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    Task task = new Task("task1", "Surgery", 1, "2024-01-01 10:00", "2024-01-01 11:00",
+        null, Map.of("Nurse", 3, "Bed", 1));
+    Map<String, Integer> changes = new LinkedHashMap<>();
+    changes.put("Nurse", 3);
+    changes.put("Bed", 1);
+    when(liveSchedService.modifyResources("task1", changes, TEST_CLIENT_ID))
+        .thenReturn(Map.of("message", "Updated 2 resource requirement(s).", "task", task));
+
+    mockMvc.perform(post("/task/task1/modifyResources")
+            .session(session)
+            .param("typeName", "Nurse", "Bed", "Monitor")
+            .param("quantity", "3", "1", ""))
+            .andExpect(redirectedUrl("/task/task1"))
+            .andExpect(flash().attribute("task", task));
+  }
+
+  @Test
+  void resourceDashboardSortsByTotalUnits() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    ResourceType nurse = new ResourceType("Nurse", 8, null);
+    ResourceType bed = new ResourceType("Bed", 2, null);
+    when(liveSchedService.getResourceSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new ResourceSnapshot(List.of(nurse, bed))));
+
+    mockMvc.perform(get("/resourceDashboard")
+            .session(session)
+            .param("sort", "desc"))
+            .andExpect(status().isOk())
+            .andExpect(view().name("resourceDashboard"))
+            .andExpect(model().attribute("resources", List.of(nurse, bed)));
+  }
+
+  @Test
+  void resourceDashboardAnswersUnchangedRevalidationWith304() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    ResourceType nurse = new ResourceType("Nurse", 8, null);
+    when(liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.RESOURCE_TYPES)).thenReturn(7L);
+    when(liveSchedService.getResourceSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new ResourceSnapshot(List.of(nurse))));
+    String etag = mockMvc.perform(get("/resourceDashboard")
+            .session(session))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "private, no-cache"))
+            .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/resourceDashboard")
+            .session(session)
+            .header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+  }
+
+  @Test
+  void resourceDashboardRendersAgainOnceResourcesChange() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    ResourceType nurse = new ResourceType("Nurse", 8, null);
+    ResourceType bed = new ResourceType("Bed", 2, null);
+    when(liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.RESOURCE_TYPES))
+        .thenReturn(7L)
+        .thenReturn(8L);
+    when(liveSchedService.getResourceSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new ResourceSnapshot(List.of(nurse))))
+        .thenReturn(LiveSchedResult.ok(new ResourceSnapshot(List.of(nurse, bed))));
+    String etag = mockMvc.perform(get("/resourceDashboard")
+            .session(session))
+            .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/resourceDashboard")
+            .session(session)
+            .header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("resources", List.of(nurse, bed)))
+            .andExpect(header().string("ETag", not(etag)));
+  }
+
+  @Test
+  void resourceDashboardTagsEachSearchApart() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    ResourceType nurse = new ResourceType("Nurse", 8, null);
+    when(liveSchedService.dataVersion(TEST_CLIENT_ID, Dataset.RESOURCE_TYPES)).thenReturn(7L);
+    when(liveSchedService.getResourceSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new ResourceSnapshot(List.of(nurse))));
+    // "Aa" and "BB" share a String hash code
+    String etag = mockMvc.perform(get("/resourceDashboard")
+            .session(session)
+            .param("typeName", "Aa"))
+            .andReturn().getResponse().getHeader("ETag");
+
+    mockMvc.perform(get("/resourceDashboard")
+            .session(session)
+            .param("typeName", "BB")
+            .header("If-None-Match", etag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", not(etag)));
+  }
+
+  @Test
+  void resourceDashboardIsNotTaggedBeforeResourcesAreCached() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    when(liveSchedService.getResourceSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new ResourceSnapshot(List.of())));
+
+    mockMvc.perform(get("/resourceDashboard")
+            .session(session))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("ETag"));
+  }
+
+  @Test
+  void resourceDashboardSearchMissShowsLoadedList() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    ResourceType nurse = new ResourceType("Nurse", 8, null);
+    ResourceType bed = new ResourceType("Bed", 2, null);
+    when(liveSchedService.getResourceSnapshot(TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(new ResourceSnapshot(List.of(nurse, bed))));
+
+    mockMvc.perform(get("/resourceDashboard")
+            .session(session)
+            .param("typeName", "doctor"))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("message", "No resource type found with name: doctor"))
+            .andExpect(model().attribute("resources", List.of(nurse, bed)));
+    verify(liveSchedService, times(1)).getResourceSnapshot(TEST_CLIENT_ID);
+  }
+
   @Test
   void addTaskSuccessfullyCreatesNewTask() throws Exception {
     // Setup
@@ -138,6 +442,30 @@ class MainControllerTest {
             .andExpect(redirectedUrl("/task/newTask123"));
   }
 
+  @Test
+  void addTaskHandsCreatedTaskToDetailPage() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    Task task = new Task("7", "New Task", 3, "2024-01-01 10:00", "2024-01-01 11:00",
+        null, Map.of());
+    when(liveSchedService.addTask(
+        anyString(), anyInt(), anyString(), anyString(),
+        anyDouble(), anyDouble(), anyString()
+    )).thenReturn(Map.of("taskId", "7", "task", task));
+
+    mockMvc.perform(post("/task/add")
+            .session(session)
+            .param("taskName", "New Task")
+            .param("priority", "3")
+            .param("startTime", "2024-01-01 10:00")
+            .param("endTime", "2024-01-01 11:00")
+            .param("latitude", "40.7128")
+            .param("longitude", "-74.0060"))
+            .andExpect(status().is3xxRedirection())
+            .andExpect(redirectedUrl("/task/7"))
+            .andExpect(flash().attribute("task", task));
+  }
+
   @Test
   void addTaskShowsErrorOnInvalidInput() throws Exception {
     // Setup
@@ -177,6 +505,195 @@ class MainControllerTest {
             .session(session))
             .andExpect(status().is3xxRedirection())
             .andExpect(redirectedUrl("/taskDashboard"));
+    verify(scheduleStream).refreshSoon(TEST_CLIENT_ID);
+  }
+
+  @Test
+  void updateScheduleRedirectsWithVersionToHighlightFrom() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    List<Schedule> updated = List.of(schedule("1", "Nurse 1"));
+    when(liveSchedService.updateSchedule(10.0, TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.ok(updated));
+    when(scheduleStream.publish(TEST_CLIENT_ID, updated))
+        .thenReturn(ScheduleDiff.between(List.of(), updated, 3, 4));
+
+    mockMvc.perform(post("/updateSchedule")
+            .session(session))
+            .andExpect(status().is3xxRedirection())
+            .andExpect(redirectedUrl("/scheduleDashboard?since=3"))
+            .andExpect(flash().attributeCount(0));
+  }
+
+  @Test
+  void previewScheduleSimulatesWithoutUpdating() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    List<Task> tasks = List.of(schedule("1", "Nurse 1").task(), schedule("2", "Bed 1").task());
+    List<ResourceType> resourceTypes = List.of(new ResourceType("Nurse", 2, null));
+    List<Schedule> current = List.of(schedule("1", "Nurse 1"));
+    List<Schedule> preview = List.of(schedule("1", "Nurse 1"), schedule("2", "Bed 1"));
+    when(liveSchedService.getAllTasksAsync(TEST_CLIENT_ID))
+        .thenReturn(CompletableFuture.completedFuture(LiveSchedResult.ok(tasks)));
+    when(liveSchedService.getAllResourceTypesAsync(TEST_CLIENT_ID))
+        .thenReturn(CompletableFuture.completedFuture(LiveSchedResult.ok(resourceTypes)));
+    when(liveSchedService.getScheduleAsync(TEST_CLIENT_ID))
+        .thenReturn(CompletableFuture.completedFuture(LiveSchedResult.ok(current)));
+    when(scheduleSimulator.preview(TEST_CLIENT_ID, tasks, resourceTypes, 25.0))
+        .thenReturn(preview);
+
+    mockMvc.perform(get("/scheduleDashboard/preview")
+            .session(session)
+            .param("maxDistance", "25"))
+            .andExpect(status().isOk())
+            .andExpect(view().name("scheduleDashboard"))
+            .andExpect(model().attribute("schedules", preview))
+            .andExpect(model().attribute("maxDistance", 25.0))
+            .andExpect(model().attribute("message", "Preview for 25.0 km: 2 of 2 tasks "
+                + "scheduled, 1 added, 0 changed, 0 removed. Nothing has been changed; "
+                + "use Update Schedule to apply it."))
+            .andExpect(content().string(containsString(
+                "<tr class=\"table-success\" data-task-id=\"2\">")))
+            .andExpect(content().string(not(containsString("/unscheduleTask"))));
+    verify(liveSchedService, times(0)).updateSchedule(anyDouble(), anyString());
+  }
+
+  @Test
+  void previewScheduleRequiresLogin() throws Exception {
+    mockMvc.perform(get("/scheduleDashboard/preview")
+            .session(session))
+            .andExpect(status().is3xxRedirection())
+            .andExpect(redirectedUrl("/"));
+  }
+
+  @Test
+  void updateScheduleFlashesOnlyFailureMessage() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    when(liveSchedService.updateSchedule(10.0, TEST_CLIENT_ID))
+        .thenReturn(LiveSchedResult.failure("Error connecting to the service."));
+
+    mockMvc.perform(post("/updateSchedule")
+            .session(session))
+            .andExpect(status().is3xxRedirection())
+            .andExpect(redirectedUrl("/scheduleDashboard"))
+            .andExpect(flash().attributeCount(1))
+            .andExpect(flash().attribute("message", "Failed to update schedule."));
+  }
+
+  @Test
+  void scheduleDashboardReportsUpdateThatChangedNothing() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    List<Schedule> stored = List.of(schedule("1", "Nurse 1"));
+    when(liveSchedService.getSchedule(TEST_CLIENT_ID)).thenReturn(LiveSchedResult.ok(stored));
+    when(scheduleTracker.baseline(TEST_CLIENT_ID, stored)).thenReturn(4L);
+    when(scheduleTracker.changesSince(TEST_CLIENT_ID, 4L)).thenReturn(ScheduleDiff.none(4));
+
+    mockMvc.perform(get("/scheduleDashboard")
+            .session(session)
+            .param("since", "4"))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("message", "Schedule updated: nothing changed."))
+            .andExpect(model().attributeDoesNotExist("diff"));
+  }
+
+  @Test
+  void scheduleDashboardReadsScheduleFromService() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    List<Schedule> stored = List.of(schedule("1", "Nurse 1"));
+    when(liveSchedService.getSchedule(TEST_CLIENT_ID)).thenReturn(LiveSchedResult.ok(stored));
+
+    mockMvc.perform(get("/scheduleDashboard")
+            .session(session))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("schedules", stored));
+    verify(liveSchedService, times(1)).getSchedule(TEST_CLIENT_ID);
+  }
+
+  @Test
+  void scheduleDashboardHighlightsRowsChangedSinceVersion() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    List<Schedule> previous = List.of(schedule("1", "Nurse 1"), schedule("2", "Bed 1"));
+    List<Schedule> current = List.of(schedule("1", "Nurse 1"), schedule("2", "Bed 2"));
+    when(liveSchedService.getSchedule(TEST_CLIENT_ID)).thenReturn(LiveSchedResult.ok(current));
+    when(scheduleTracker.baseline(TEST_CLIENT_ID, current)).thenReturn(4L);
+    when(scheduleTracker.changesSince(TEST_CLIENT_ID, 3L))
+        .thenReturn(ScheduleDiff.between(previous, current, 3, 4));
+
+    mockMvc.perform(get("/scheduleDashboard")
+            .session(session)
+            .param("since", "3"))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("scheduleVersion", 4L))
+            .andExpect(model().attribute("message",
+                "Schedule updated: 0 added, 1 changed, 0 removed."))
+            .andExpect(content().string(containsString(
+                "<tr class=\"table-warning\" data-task-id=\"2\">")));
+    verify(scheduleStream, never()).publish(any(), any());
+  }
+
+  @Test
+  void scheduleChangesRendersOnlyChangedRows() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    List<Schedule> previous = List.of(schedule("1", "Nurse 1"), schedule("2", "Bed 1"),
+        schedule("3", "Doctor 1"));
+    List<Schedule> current = List.of(schedule("1", "Nurse 1"), schedule("2", "Bed 2"),
+        schedule("4", "Doctor 1"));
+    when(scheduleTracker.changesSince(eq(TEST_CLIENT_ID), eq(3L)))
+        .thenReturn(ScheduleDiff.between(previous, current, 3, 4));
+
+    mockMvc.perform(get("/scheduleDashboard/changes")
+            .session(session)
+            .param("since", "3"))
+            .andExpect(status().isOk())
+            .andExpect(view().name("scheduleRows :: changes"))
+            .andExpect(content().string(containsString("data-removed=\"3\"")))
+            .andExpect(content().string(containsString("data-task-id=\"2\"")))
+            .andExpect(content().string(containsString("data-task-id=\"4\"")))
+            .andExpect(content().string(not(containsString("data-task-id=\"1\""))));
+  }
+
+  @Test
+  void scheduleChangesAsksForReloadWhenTooFarBehind() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+
+    mockMvc.perform(get("/scheduleDashboard/changes")
+            .session(session)
+            .param("since", "1"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("data-reload=\"true\"")));
+  }
+
+  @Test
+  void scheduleStreamRequiresLogin() throws Exception {
+    mockMvc.perform(get("/scheduleDashboard/stream")
+            .session(session)
+            .param("since", "1"))
+            .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void scheduleStreamSubscribesDashboard() throws Exception {
+    // Setup
+    session.setAttribute("clientId", TEST_CLIENT_ID);
+    when(scheduleStream.subscribe(TEST_CLIENT_ID, 4L)).thenReturn(new SseEmitter());
+
+    mockMvc.perform(get("/scheduleDashboard/stream")
+            .session(session)
+            .param("since", "4"))
+            .andExpect(status().isOk());
+    verify(scheduleStream).subscribe(TEST_CLIENT_ID, 4L);
+  }
+
+  private static Schedule schedule(String taskId, String resourceId) {
+    Task task = new Task(taskId, "Task " + taskId, 1, "2024-12-01 08:00", "2024-12-01 09:00",
+        null, Map.of());
+    return new Schedule(task, List.of(new AssignedResource(resourceId, "2024-12-01 08:00")));
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NgramIndexTest {
+
+  private final NgramIndex index =
+      new NgramIndex(List.of("Nurse", "Hospital Bed", "Ambulance", "Bedside Monitor", "Nursery"));
+
+  @Test
+  void search_MatchesSubstringsIgnoringCase() {
+    assertArrayEquals(new int[] {1, 3}, index.search("BED"));
+    assertArrayEquals(new int[] {0, 4}, index.search("nurs"));
+    assertArrayEquals(new int[] {2}, index.search("bulanc"));
+  }
+
+  @Test
+  void search_RejectsCandidatesWithNonAdjacentTrigrams() {
+    // "nurse" and "nursery" both contain "nur" and "ery" is only in "nursery",
+    // but neither contains "nurery"
+    assertArrayEquals(new int[0], index.search("nurery"));
+  }
+
+  @Test
+  void search_ScansForShortQueries() {
+    assertArrayEquals(new int[] {1, 3}, index.search("be"));
+    assertArrayEquals(new int[] {0, 1, 2, 3, 4}, index.search(""));
+  }
+}
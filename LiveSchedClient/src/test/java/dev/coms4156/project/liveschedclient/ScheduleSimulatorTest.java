@@ -0,0 +1,119 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ScheduleSimulatorTest {
+
+  private static final Location HOSPITAL = new Location(40.7128, -74.0060, "40.7128,-74.0060");
+  private static final Location CLINIC = new Location(40.7306, -73.9866, "40.7306,-73.9866");
+  private static final Location LOS_ANGELES =
+      new Location(34.0522, -118.2437, "34.0522,-118.2437");
+
+  private final ScheduleSimulator simulator =
+      new ScheduleSimulator(new LiveSchedCacheProperties(Duration.ofSeconds(30), 100));
+
+  @Test
+  void preview_SchedulesHigherPriorityFirstWhenUnitsRunOut() {
+    // Prepare test data
+    List<ResourceType> resourceTypes = List.of(new ResourceType("Nurse", 1, CLINIC));
+    List<Task> tasks = List.of(
+        task("1", 3, "2024-12-01 08:00", "2024-12-01 10:00", Map.of("Nurse", 1)),
+        task("2", 1, "2024-12-01 09:00", "2024-12-01 11:00", Map.of("Nurse", 1)),
+        task("3", 5, "2024-12-01 11:00", "2024-12-01 12:00", Map.of("Nurse", 1)));
+
+    // Execute test
+    List<Schedule> preview = simulator.preview("client", tasks, resourceTypes, 10);
+
+    // Verify results
+    assertEquals(List.of(
+        new Schedule(tasks.get(1), List.of(new AssignedResource("Nurse 1", "2024-12-01 09:00"))),
+        new Schedule(tasks.get(2), List.of(new AssignedResource("Nurse 1", "2024-12-01 11:00")))),
+        preview);
+  }
+
+  @Test
+  void preview_LeavesOutResourcesBeyondMaxDistance() {
+    // Prepare test data
+    List<ResourceType> resourceTypes = List.of(new ResourceType("Bed", 5, LOS_ANGELES));
+    List<Task> tasks = List.of(
+        task("1", 1, "2024-12-01 08:00", "2024-12-01 10:00", Map.of("Bed", 1)));
+
+    // Execute test
+    List<Schedule> near = simulator.preview("client", tasks, resourceTypes, 10);
+    List<Schedule> far = simulator.preview("client", tasks, resourceTypes, 5000);
+
+    // Verify results
+    assertTrue(near.isEmpty());
+    assertEquals(1, far.size());
+  }
+
+  @Test
+  void preview_TakesNextFreeUnitAndSchedulesTasksWhollyOrNotAtAll() {
+    // Prepare test data
+    List<ResourceType> resourceTypes = List.of(
+        new ResourceType("Nurse", 2, CLINIC), new ResourceType("Bed", 1, HOSPITAL));
+    List<Task> tasks = List.of(
+        task("1", 1, "2024-12-01 08:00", "2024-12-01 10:00", Map.of("Nurse", 1)),
+        task("2", 2, "2024-12-01 09:00", "2024-12-01 10:00", Map.of("Nurse", 1, "Bed", 1)),
+        task("3", 3, "2024-12-01 09:30", "2024-12-01 11:00", Map.of("Nurse", 1)),
+        task("4", 4, "2024-12-01 09:45", "2024-12-01 11:00", Map.of("Nurse", 2)));
+
+    // Execute test
+    List<Schedule> preview = simulator.preview("client", tasks, resourceTypes, 10);
+
+    // Verify results
+    assertEquals(List.of("1", "2"),
+        preview.stream().map(schedule -> schedule.task().taskId()).toList());
+    assertEquals(List.of(new AssignedResource("Nurse 1", "2024-12-01 08:00")),
+        preview.get(0).assignedResources());
+    assertEquals(List.of("Bed 1", "Nurse 2"), preview.get(1).assignedResources().stream()
+        .map(AssignedResource::resourceId).sorted().toList());
+  }
+
+  @Test
+  void preview_ReusesPreparedTasksUntilTheyChange() {
+    // Prepare test data
+    List<ResourceType> resourceTypes = List.of(new ResourceType("Nurse", 1, CLINIC));
+    List<Task> tasks = List.of(
+        task("1", 1, "2024-12-01 08:00", "2024-12-01 10:00", Map.of("Nurse", 1)));
+    List<Task> edited = List.of(
+        task("1", 2, "2024-12-01 08:00", "2024-12-01 10:00", Map.of("Nurse", 1)));
+
+    // Execute test
+    simulator.preview("client", tasks, resourceTypes, 1);
+    simulator.preview("client", tasks, resourceTypes, 5);
+    simulator.preview("client", List.copyOf(tasks), resourceTypes, 10);
+    simulator.preview("client", edited, resourceTypes, 10);
+
+    // Verify results
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    simulator.bindTo(registry);
+    assertEquals(2, registry.get("livesched.preview.workspaces").tag("result", "reused")
+        .functionCounter().count());
+    assertEquals(2, registry.get("livesched.preview.workspaces").tag("result", "built")
+        .functionCounter().count());
+  }
+
+  @Test
+  void haversine_MeasuresGreatCircleDistance() {
+    // Execute test
+    double acrossCountry = ScheduleSimulator.haversine(HOSPITAL, LOS_ANGELES);
+    double samePlace = ScheduleSimulator.haversine(HOSPITAL, HOSPITAL);
+
+    // Verify results
+    assertEquals(3936, acrossCountry, 1);
+    assertEquals(0, samePlace, 1e-9);
+  }
+
+  private static Task task(String taskId, int priority, String startTime, String endTime,
+                           Map<String, Integer> resources) {
+    return new Task(taskId, "Task " + taskId, priority, startTime, endTime, HOSPITAL, resources);
+  }
+}
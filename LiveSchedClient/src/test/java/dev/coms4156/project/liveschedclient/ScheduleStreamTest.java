@@ -0,0 +1,140 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+class ScheduleStreamTest {
+
+  private final LiveSchedService liveSchedService = mock(LiveSchedService.class);
+  private final ScheduleTracker tracker =
+      new ScheduleTracker(new LiveSchedCacheProperties(Duration.ofSeconds(30), 100));
+  private final ScheduleStream stream = new ScheduleStream(liveSchedService, tracker,
+      templateEngine(), new UpstreamExecutor(new LiveSchedAsyncProperties(false, 2, 256)),
+      new LiveSchedStreamProperties(Duration.ofSeconds(15), Duration.ofMinutes(30)));
+
+  @Test
+  void publish_SendsOneRenderedFragmentToEverySubscriber() {
+    // Prepare test data
+    stream.publish("client", List.of(schedule("1", "Nurse 1"), schedule("2", "Bed 1")));
+    RecordingEmitter first = new RecordingEmitter();
+    RecordingEmitter second = new RecordingEmitter();
+    RecordingEmitter otherClient = new RecordingEmitter();
+    stream.register("client", first);
+    stream.register("client", second);
+    stream.register("other", otherClient);
+
+    // Execute test
+    ScheduleDiff diff =
+        stream.publish("client", List.of(schedule("1", "Nurse 1"), schedule("2", "Bed 2")));
+
+    // Verify results
+    assertEquals(2, diff.toVersion());
+    assertEquals(1, first.events.size());
+    assertEquals(first.events, second.events);
+    String event = first.events.get(0);
+    assertTrue(event.startsWith("event:changes\nid:2\ndata:"));
+    assertTrue(event.contains("data-task-id=\"2\""));
+    assertTrue(event.contains("data-from-version=\"1\""));
+    assertTrue(otherClient.events.isEmpty());
+  }
+
+  @Test
+  void publish_SendsNothingWhenScheduleDidNotMove() {
+    // Prepare test data
+    stream.publish("client", List.of(schedule("1", "Nurse 1")));
+    RecordingEmitter emitter = new RecordingEmitter();
+    stream.register("client", emitter);
+
+    // Execute test
+    stream.publish("client", List.of(schedule("1", "Nurse 1")));
+
+    // Verify results
+    assertTrue(emitter.events.isEmpty());
+  }
+
+  @Test
+  void poll_RefreshesOncePerClientWithOpenDashboards() {
+    // Prepare test data
+    stream.publish("client", List.of(schedule("1", "Nurse 1")));
+    RecordingEmitter first = new RecordingEmitter();
+    RecordingEmitter second = new RecordingEmitter();
+    stream.register("client", first);
+    stream.register("client", second);
+    when(liveSchedService.refreshSchedule("client"))
+        .thenReturn(LiveSchedResult.ok(List.of(schedule("1", "Nurse 2"))));
+
+    // Execute test
+    stream.poll();
+
+    // Verify results
+    verify(liveSchedService, timeout(1000).times(1)).refreshSchedule("client");
+    verify(liveSchedService, never()).refreshSchedule("idle");
+    // A keep-alive comment, then the change found by the poll
+    waitFor(() -> first.events.size() == 2 && second.events.size() == 2);
+    assertTrue(first.events.get(1).contains("data-task-id=\"1\""));
+  }
+
+  @Test
+  void refreshSoon_SkipsClientsWithoutDashboards() {
+    // Execute test
+    stream.refreshSoon("idle");
+
+    // Verify results
+    verify(liveSchedService, never()).refreshSchedule("idle");
+  }
+
+  private static void waitFor(java.util.function.BooleanSupplier condition) {
+    long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.onSpinWait();
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+
+  private static SpringTemplateEngine templateEngine() {
+    ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+    resolver.setPrefix("templates/");
+    resolver.setSuffix(".html");
+    resolver.setTemplateMode(TemplateMode.HTML);
+    SpringTemplateEngine engine = new SpringTemplateEngine();
+    engine.setTemplateResolver(resolver);
+    return engine;
+  }
+
+  private static Schedule schedule(String taskId, String resourceId) {
+    Task task = new Task(taskId, "Task " + taskId, 1, "2024-12-01 08:00", "2024-12-01 09:00",
+        null, Map.of());
+    return new Schedule(task, List.of(new AssignedResource(resourceId, "2024-12-01 08:00")));
+  }
+
+  /**
+   * Keeps the wire form of each event instead of writing it to a response.
+   */
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(SseEventBuilder builder) {
+      events.add(builder.build().stream()
+          .map(part -> String.valueOf(part.getData()))
+          .collect(Collectors.joining()));
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ScheduleTrackerTest {
+
+  private final ScheduleTracker tracker =
+      new ScheduleTracker(new LiveSchedCacheProperties(Duration.ofSeconds(30), 2));
+
+  @Test
+  void between_KeysEntriesByTaskId() {
+    // Prepare test data
+    List<Schedule> previous = List.of(schedule("1", "Nurse 1"), schedule("2", "Bed 1"),
+        schedule("3", "Doctor 1"));
+    List<Schedule> current = List.of(schedule("4", "Doctor 1"), schedule("2", "Bed 2"),
+        schedule("1", "Nurse 1"));
+
+    // Execute test
+    ScheduleDiff diff = ScheduleDiff.between(previous, current, 1, 2);
+
+    // Verify results
+    assertEquals(List.of(schedule("4", "Doctor 1")), diff.added());
+    assertEquals(List.of(schedule("2", "Bed 2")), diff.changed());
+    assertEquals(List.of("3"), diff.removed());
+    assertTrue(diff.isAdded("4"));
+    assertTrue(diff.isChanged("2"));
+    assertFalse(diff.isChanged("1"));
+    assertEquals("1 added, 1 changed, 1 removed", diff.summary());
+  }
+
+  @Test
+  void record_BumpsVersionOnlyWhenScheduleMoves() {
+    // Execute test
+    ScheduleDiff first = tracker.record("client", List.of(schedule("1", "Nurse 1")));
+    ScheduleDiff same = tracker.record("client", List.of(schedule("1", "Nurse 1")));
+    ScheduleDiff moved = tracker.record("client", List.of(schedule("1", "Nurse 2")));
+
+    // Verify results
+    assertEquals(1, first.toVersion());
+    assertEquals(1, same.toVersion());
+    assertEquals(2, moved.toVersion());
+    assertEquals(List.of(schedule("1", "Nurse 1")), first.added());
+    assertTrue(same.isEmpty());
+    assertEquals(1, moved.fromVersion());
+    assertEquals(2, tracker.version("client"));
+  }
+
+  @Test
+  void changesSince_ServesOnlyTheLastStep() {
+    // Prepare test data
+    tracker.record("client", List.of(schedule("1", "Nurse 1")));
+    tracker.record("client", List.of(schedule("1", "Nurse 2")));
+    tracker.record("client", List.of(schedule("1", "Nurse 3")));
+
+    // Execute test and verify results
+    assertEquals(List.of(schedule("1", "Nurse 3")),
+        tracker.changesSince("client", 2).changed());
+    assertTrue(tracker.changesSince("client", 3).isEmpty());
+    assertNull(tracker.changesSince("client", 1));
+    assertNull(tracker.changesSince("unknown", 0));
+  }
+
+  @Test
+  void baseline_RecordsOnlyAnUntrackedClient() {
+    // Prepare test data
+    tracker.record("client", List.of(schedule("1", "Nurse 1")));
+
+    // Execute test
+    long tracked = tracker.baseline("client", List.of(schedule("1", "Nurse 2")));
+    long untracked = tracker.baseline("other", List.of(schedule("1", "Nurse 1")));
+
+    // Verify results
+    assertEquals(1, tracked);
+    assertTrue(tracker.changesSince("client", 1).isEmpty());
+    assertEquals(2, untracked);
+    assertEquals(2, tracker.version("other"));
+  }
+
+  @Test
+  void record_ForgetsLeastRecentlySeenClientWithoutReusingVersions() {
+    // Execute test
+    tracker.record("a", List.of());
+    tracker.record("b", List.of());
+    tracker.record("c", List.of());
+    tracker.record("a", List.of());
+
+    // Verify results
+    assertEquals(0, tracker.version("b"));
+    assertEquals(3, tracker.version("c"));
+    assertEquals(4, tracker.version("a"));
+  }
+
+  private static Schedule schedule(String taskId, String resourceId) {
+    Task task = new Task(taskId, "Task " + taskId, 1, "2024-12-01 08:00", "2024-12-01 09:00",
+        null, Map.of());
+    return new Schedule(task, List.of(new AssignedResource(resourceId, "2024-12-01 08:00")));
+  }
+}
@@ -0,0 +1,139 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.FlashMap;
+
+class SessionCodecTest {
+
+  private final SessionCodec codec = new SessionCodec();
+
+  @Test
+  void clientId_IsStoredInFewerBytesThanJavaSerialization() throws IOException {
+    // Prepare test data
+    String clientId = "client-42";
+    ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+    try (ObjectOutputStream objects = new ObjectOutputStream(serialized)) {
+      objects.writeObject(clientId);
+    }
+
+    // Execute test
+    byte[] encoded = codec.encode(clientId);
+
+    // Verify results
+    assertEquals(clientId, codec.decode(encoded));
+    assertEquals(1 + 1 + 4 + clientId.length(), encoded.length);
+    assertTrue(encoded.length < serialized.size());
+  }
+
+  @Test
+  void flashMap_RoundTripsWithRecordsInside() {
+    // Prepare test data
+    Task task = new Task("7", "Surgery", 1, "2024-12-01 08:00", "2024-12-01 09:00",
+        new Location(40.7, -74.0, "(40.7, -74.0)"), Map.of("Nurse", 2));
+    Schedule schedule = new Schedule(task, List.of(new AssignedResource("Nurse 1", null)));
+    FlashMap flashMap = new FlashMap();
+    flashMap.setTargetRequestPath("/scheduleDashboard");
+    flashMap.addTargetRequestParam("since", "3");
+    flashMap.startExpirationPeriod(180);
+    flashMap.put("message", "Schedule updated successfully.");
+    flashMap.put("task", task);
+    flashMap.put("schedules", List.of(schedule));
+
+    // Execute test
+    Object decoded = codec.decode(codec.encode(List.of(flashMap)));
+
+    // Verify results
+    FlashMap copy = (FlashMap) ((List<?>) decoded).get(0);
+    assertEquals(flashMap, copy);
+    assertEquals("/scheduleDashboard", copy.getTargetRequestPath());
+    assertEquals(List.of("3"), copy.getTargetRequestParams().get("since"));
+    assertEquals(flashMap.getExpirationTime(), copy.getExpirationTime());
+  }
+
+  @Test
+  void otherSerializableValues_FallBackToJavaSerialization() {
+    // Prepare test data
+    Duration timeout = Duration.ofMinutes(5);
+
+    // Execute test
+    Object decoded = codec.decode(codec.encode(timeout));
+
+    // Verify results
+    assertEquals(timeout, decoded);
+    assertNull(codec.decode(codec.encode(null)));
+  }
+
+  @Test
+  void unsupportedValues_AreRejected() {
+    // Execute test
+    IllegalArgumentException encoding =
+        assertThrows(IllegalArgumentException.class, () -> codec.encode(new Object()));
+    IllegalArgumentException decoding =
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[] {1, 99}));
+
+    // Verify results
+    assertTrue(encoding.getMessage().contains("java.lang.Object"));
+    assertTrue(decoding.getMessage().contains("99"));
+  }
+
+  @Test
+  void sessionSavedByOneNode_IsReadByAnother() {
+    // Prepare test data
+    EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .addScript("org/springframework/session/jdbc/schema-h2.sql")
+        .build();
+    JdbcIndexedSessionRepository first = repository(database);
+    JdbcIndexedSessionRepository second = repository(database);
+
+    try {
+      // Execute test
+      String sessionId = login(first, "client-42");
+      Session found = second.findById(sessionId);
+
+      // Verify results
+      assertInstanceOf(String.class, found.getAttribute("clientId"));
+      assertEquals("client-42", found.getAttribute("clientId"));
+    } finally {
+      database.shutdown();
+    }
+  }
+
+  private static <S extends Session> String login(SessionRepository<S> repository,
+                                                   String clientId) {
+    S session = repository.createSession();
+    session.setAttribute("clientId", clientId);
+    repository.save(session);
+    return session.getId();
+  }
+
+  private static JdbcIndexedSessionRepository repository(EmbeddedDatabase database) {
+    JdbcIndexedSessionRepository repository = new JdbcIndexedSessionRepository(
+        new JdbcTemplate(database),
+        new TransactionTemplate(new DataSourceTransactionManager(database)));
+    repository.setConversionService(new SessionConfig().springSessionConversionService());
+    return repository;
+  }
+}
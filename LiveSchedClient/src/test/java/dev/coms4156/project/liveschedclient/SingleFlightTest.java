@@ -0,0 +1,78 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private static final int CALLERS = 8;
+
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+  private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void execute_ConcurrentCallersShareOneCall() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      results.add(executor.submit(() -> singleFlight.execute("schedule/client", () -> {
+        calls.incrementAndGet();
+        await(release);
+        return "schedule";
+      })));
+    }
+    // Wait until every other caller has joined the running call
+    while (singleFlight.coalescedCount() < CALLERS - 1) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+
+    for (Future<String> result : results) {
+      assertEquals("schedule", result.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void execute_RunsAgainOnceCallCompleted() {
+    AtomicInteger calls = new AtomicInteger();
+
+    singleFlight.execute("key", () -> "v" + calls.incrementAndGet());
+    String second = singleFlight.execute("key", () -> "v" + calls.incrementAndGet());
+
+    assertEquals("v2", second);
+  }
+
+  @Test
+  void execute_PropagatesFailureToCaller() {
+    assertThrows(IllegalStateException.class, () -> singleFlight.execute("key", () -> {
+      throw new IllegalStateException("boom");
+    }));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,192 @@
+package dev.coms4156.project.liveschedclient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * SyntheticData generates reproducible LiveSched payloads and records for the benchmarks and
+ * the LiveSched stub server. The same calls on the same seed always produce the same data.
+ */
+final class SyntheticData {
+
+  private static final String[] TASK_NAMES = {
+      "Checkup", "Surgery", "Emergency", "Vaccination", "Consultation", "Physical Therapy"};
+  private static final String[] TYPE_NAMES = {
+      "Nurse", "Doctor", "Bed", "Ventilator", "Ambulance", "Wheelchair", "Monitor"};
+  private static final LocalDateTime EPOCH = LocalDateTime.of(2024, 12, 1, 8, 0);
+
+  private final Random random;
+
+  SyntheticData(long seed) {
+    this.random = new Random(seed);
+  }
+
+  /**
+   * Builds a retrieveTasks response body.
+   *
+   * @param rows The number of tasks.
+   * @return A JSON array of tasks with ISO-8601 times.
+   */
+  String tasksJson(int rows) {
+    StringBuilder json = new StringBuilder(rows * 260).append('[');
+    for (int i = 0; i < rows; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      appendTask(json, i + 1);
+    }
+    return json.append(']').toString();
+  }
+
+  /**
+   * Builds a retrieveSchedule response body.
+   *
+   * @param rows The number of schedule entries.
+   * @return A JSON array of schedule entries, each with one to three assigned resources.
+   */
+  String scheduleJson(int rows) {
+    StringBuilder json = new StringBuilder(rows * 420).append('[');
+    for (int i = 0; i < rows; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append("{\"task\":");
+      appendTask(json, i + 1);
+      json.append(",\"assignedResources\":[");
+      int assigned = 1 + random.nextInt(3);
+      for (int r = 0; r < assigned; r++) {
+        if (r > 0) {
+          json.append(',');
+        }
+        json.append("{\"resourceId\":\"").append(typeName()).append(' ').append(r + 1)
+            .append("\",\"availableFrom\":\"").append(time()).append("\"}");
+      }
+      json.append("]}");
+    }
+    return json.append(']').toString();
+  }
+
+  /**
+   * Builds tasks as stored by the service, with ISO-8601 times.
+   *
+   * @param firstId The ID of the first task; the rest are numbered consecutively.
+   * @param rows    The number of tasks.
+   * @return The tasks, in ID order.
+   */
+  List<Task> serviceTasks(int firstId, int rows) {
+    List<Task> tasks = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      String start = time();
+      tasks.add(new Task(String.valueOf(firstId + i), taskName(), 1 + random.nextInt(5), start,
+          LocalDateTime.parse(start).plusMinutes(30) + ":00", location(),
+          Map.of(typeName(), 1 + random.nextInt(3))));
+    }
+    return tasks;
+  }
+
+  /**
+   * Builds an ISO-8601 timestamp as sent by the service.
+   *
+   * @return The timestamp.
+   */
+  String timestamp() {
+    return time();
+  }
+
+  /**
+   * Builds decoded tasks as held by a task snapshot, with display-formatted times.
+   *
+   * @param rows The number of tasks.
+   * @return The tasks, in service order.
+   */
+  List<Task> tasks(int rows) {
+    List<Task> tasks = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      String start = LiveSchedService.formatTime(time());
+      tasks.add(new Task(String.valueOf(i + 1), taskName(), 1 + random.nextInt(5), start, start,
+          location(), Map.of(typeName(), 1 + random.nextInt(3))));
+    }
+    return tasks;
+  }
+
+  /**
+   * Builds decoded schedule entries with display-formatted times.
+   *
+   * @param rows The number of schedule entries.
+   * @return The schedule entries.
+   */
+  List<Schedule> schedules(int rows) {
+    List<Schedule> schedules = new ArrayList<>(rows);
+    for (Task task : tasks(rows)) {
+      schedules.add(new Schedule(task, List.of(new AssignedResource(
+          typeName() + " 1", LiveSchedService.formatTime(time())))));
+    }
+    return schedules;
+  }
+
+  /**
+   * Builds resource types.
+   *
+   * @param rows The number of resource types.
+   * @return The resource types, with unique names.
+   */
+  List<ResourceType> resourceTypes(int rows) {
+    List<ResourceType> resourceTypes = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      resourceTypes.add(new ResourceType(typeName() + " " + i, 1 + random.nextInt(100),
+          location()));
+    }
+    return resourceTypes;
+  }
+
+  /**
+   * Builds ISO-8601 timestamps as sent by the service.
+   *
+   * @param count The number of timestamps.
+   * @return The timestamps.
+   */
+  String[] timestamps(int count) {
+    String[] timestamps = new String[count];
+    for (int i = 0; i < count; i++) {
+      timestamps[i] = time();
+    }
+    return timestamps;
+  }
+
+  private void appendTask(StringBuilder json, int taskId) {
+    String start = time();
+    Location location = location();
+    json.append("{\"taskId\":\"").append(taskId)
+        .append("\",\"taskName\":\"").append(taskName())
+        .append("\",\"priority\":").append(1 + random.nextInt(5))
+        .append(",\"startTime\":\"").append(start)
+        .append("\",\"endTime\":\"").append(LocalDateTime.parse(start).plusMinutes(30))
+        .append(":00\",\"location\":{\"latitude\":").append(location.latitude())
+        .append(",\"longitude\":").append(location.longitude())
+        .append(",\"coordinates\":\"").append(location.coordinates())
+        .append("\"},\"resources\":{\"").append(typeName()).append("\":")
+        .append(1 + random.nextInt(3)).append("}}");
+  }
+
+  private String taskName() {
+    return TASK_NAMES[random.nextInt(TASK_NAMES.length)];
+  }
+
+  private String typeName() {
+    return TYPE_NAMES[random.nextInt(TYPE_NAMES.length)];
+  }
+
+  private String time() {
+    // Whole minutes with explicit seconds, the shape the service sends
+    return EPOCH.plusMinutes(random.nextInt(60 * 24 * 30)) + ":00";
+  }
+
+  private Location location() {
+    double latitude = 40.70 + random.nextInt(2000) / 10000.0;
+    double longitude = -74.00 + random.nextInt(2000) / 10000.0;
+    return new Location(latitude, longitude, latitude + ", " + longitude);
+  }
+}
@@ -0,0 +1,138 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Checks that the task detail page's two upstream reads run concurrently through the
+ * asynchronous API, and that reads the executor has no room for fail instead of queueing.
+ * The latency gain itself is measured by {@code FanOutBenchmark} in the benchmark profile.
+ */
+class TaskDetailFanOutTest {
+
+  private RestTemplate restTemplate;
+  private RestTemplateBuilder builder;
+  private UpstreamExecutor executor;
+  // Upstream reads in progress, and the most seen at once
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    restTemplate = mock(RestTemplate.class);
+    builder = mock(RestTemplateBuilder.class);
+    when(builder.requestFactory(any(Supplier.class))).thenReturn(builder);
+    when(builder.build()).thenReturn(restTemplate);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.destroy();
+  }
+
+  @Test
+  void asyncReadsOverlap() {
+    // Prepare test data
+    executor = new UpstreamExecutor(new LiveSchedAsyncProperties(false, 4, 256));
+    LiveSchedService liveSchedService = service(executor);
+    // Each read waits until both have started, so they only finish if they overlap
+    CountDownLatch bothStarted = new CountDownLatch(2);
+    when(restTemplate.getForEntity(contains("/retrieveTask?"), eq(String.class)))
+        .thenAnswer(invocation -> whenBothStarted(bothStarted, """
+            {"taskId": "task1", "taskName": "Surgery", "priority": 1}
+            """));
+    when(restTemplate.getForEntity(contains("/retrieveResourceTypes"), eq(String.class)))
+        .thenAnswer(invocation -> whenBothStarted(bothStarted, """
+            [{"typeName": "Nurse", "totalUnits": 4}]
+            """));
+
+    // Execute test
+    CompletableFuture<LiveSchedResult<Task>> taskFuture =
+        liveSchedService.getTaskByIdAsync("task1", "client");
+    CompletableFuture<LiveSchedResult<List<ResourceType>>> typesFuture =
+        liveSchedService.getAllResourceTypesAsync("client");
+
+    // Verify results
+    assertFalse(taskFuture.join().isError());
+    assertFalse(typesFuture.join().isError());
+    assertEquals(2, maxInFlight.get());
+  }
+
+  @Test
+  void asyncReadFailsWhenExecutorQueueIsFull() throws Exception {
+    // Prepare test data
+    executor = new UpstreamExecutor(new LiveSchedAsyncProperties(false, 1, 1));
+    LiveSchedService liveSchedService = service(executor);
+    CountDownLatch release = new CountDownLatch(1);
+    executor.supply(() -> await(release));
+    executor.supply(() -> await(release));
+
+    // Execute test
+    LiveSchedResult<List<ResourceType>> rejected =
+        liveSchedService.getAllResourceTypesAsync("client").get(5, TimeUnit.SECONDS);
+    release.countDown();
+
+    // Verify results
+    assertTrue(rejected.isError());
+    assertTrue(rejected.error().contains("try again"));
+  }
+
+  private LiveSchedService service(UpstreamExecutor executor) {
+    // Caching is disabled so every read reaches the upstream
+    return new LiveSchedService(
+        builder, new LiveSchedHttpProperties("http://localhost:8080", 100, 50,
+            Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(1),
+            Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(2)),
+        mock(CloseableHttpClient.class),
+        new TenantCache(new LiveSchedCacheProperties(Duration.ZERO, 100)), executor,
+        new UpstreamLimiter(new LiveSchedLimitProperties(
+            0, 100, 100, 32, Duration.ofSeconds(5), 100, Map.of())),
+        new UpstreamGuard(new LiveSchedResilienceProperties(
+            5, Duration.ofSeconds(10), 1, 0, Duration.ZERO, Duration.ZERO)),
+        new UpstreamMetrics(new SimpleMeterRegistry(), new LiveSchedMetricsProperties(16)),
+        new UpstreamValidators(new LiveSchedCacheProperties(Duration.ZERO, 100)));
+  }
+
+  private ResponseEntity<String> whenBothStarted(CountDownLatch bothStarted, String body)
+      throws InterruptedException {
+    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    bothStarted.countDown();
+    boolean overlapped = bothStarted.await(5, TimeUnit.SECONDS);
+    inFlight.decrementAndGet();
+    return new ResponseEntity<>(overlapped ? body : "", HttpStatus.OK);
+  }
+
+  private static Void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+}
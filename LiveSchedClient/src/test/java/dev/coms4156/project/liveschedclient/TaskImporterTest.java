@@ -0,0 +1,182 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TaskImporterTest {
+
+  private static final String TEST_CLIENT_ID = "testClient123";
+
+  private final LiveSchedService liveSchedService = mock(LiveSchedService.class);
+  private final UpstreamExecutor executor =
+      new UpstreamExecutor(new LiveSchedAsyncProperties(false, 8, 256));
+
+  @AfterEach
+  void tearDown() {
+    executor.destroy();
+  }
+
+  private List<String> runImport(TaskImporter importer, String upload,
+                                 TaskImporter.Format format) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    importer.importTasks(new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)),
+        format, TEST_CLIENT_ID, out);
+    return Arrays.asList(out.toString(StandardCharsets.UTF_8).split("\n"));
+  }
+
+  @Test
+  void importTasks_ReportsEachCsvRow() throws Exception {
+    // Prepare test data
+    when(liveSchedService.addTask(eq("Surgery"), anyInt(), anyString(), anyString(),
+        anyDouble(), anyDouble(), eq(TEST_CLIENT_ID))).thenReturn(Map.of("taskId", "t1"));
+    when(liveSchedService.addTask(eq("Checkup"), anyInt(), anyString(), anyString(),
+        anyDouble(), anyDouble(), eq(TEST_CLIENT_ID))).thenReturn(Map.of("error", "rejected"));
+    TaskImporter importer = new TaskImporter(
+        liveSchedService, executor, new LiveSchedImportProperties(2));
+    String upload = """
+        taskName,priority,startTime,endTime,latitude,longitude
+        Surgery,1,2024-01-01 10:00,2024-01-01 12:00,40.7,-73.9
+        Checkup,notANumber,2024-01-01 10:00,2024-01-01 12:00,40.7,-73.9
+        Checkup,2,2024-01-01 10:00,2024-01-01 12:00,40.7,-73.9
+        """;
+
+    // Execute test
+    List<String> report = runImport(importer, upload, TaskImporter.Format.CSV);
+
+    // Verify results
+    assertEquals(4, report.size());
+    assertTrue(report.contains("{\"row\":2,\"taskId\":\"t1\"}"));
+    assertTrue(report.stream().anyMatch(line -> line.startsWith("{\"row\":3,\"error\":")));
+    assertTrue(report.contains("{\"row\":4,\"error\":\"rejected\"}"));
+    assertEquals("{\"imported\":1,\"failed\":2}", report.get(3));
+  }
+
+  @Test
+  void importTasks_ReadsNdjsonRows() throws Exception {
+    // Prepare test data
+    when(liveSchedService.addTask(eq("Surgery"), eq(1), eq("2024-01-01 10:00"),
+        eq("2024-01-01 12:00"), eq(40.7), eq(-73.9), eq(TEST_CLIENT_ID)))
+        .thenReturn(Map.of("taskId", "t1"));
+    TaskImporter importer = new TaskImporter(
+        liveSchedService, executor, new LiveSchedImportProperties(2));
+    String upload = """
+        {"taskName":"Surgery","priority":1,"startTime":"2024-01-01 10:00",\
+        "endTime":"2024-01-01 12:00","latitude":40.7,"longitude":-73.9}
+        {"taskName":"Surgery"}
+        """;
+
+    // Execute test
+    List<String> report = runImport(importer, upload, TaskImporter.Format.NDJSON);
+
+    // Verify results
+    assertEquals(3, report.size());
+    assertTrue(report.contains("{\"row\":1,\"taskId\":\"t1\"}"));
+    assertTrue(report.contains("{\"row\":2,\"error\":\"Invalid row: missing field\"}"));
+    assertEquals("{\"imported\":1,\"failed\":1}", report.get(2));
+  }
+
+  @Test
+  void importTasks_KeepsCallsWithinTheWindow() throws Exception {
+    // Prepare test data
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    when(liveSchedService.addTask(anyString(), anyInt(), anyString(), anyString(),
+        anyDouble(), anyDouble(), eq(TEST_CLIENT_ID))).thenAnswer(invocation -> {
+          peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          Thread.sleep(5);
+          inFlight.decrementAndGet();
+          return Map.of("taskId", "t");
+        });
+    TaskImporter importer = new TaskImporter(
+        liveSchedService, executor, new LiveSchedImportProperties(3));
+    StringBuilder upload = new StringBuilder();
+    for (int i = 0; i < 60; i++) {
+      upload.append("Task").append(i).append(",1,2024-01-01 10:00,2024-01-01 12:00,0,0\n");
+    }
+
+    // Execute test
+    List<String> report = runImport(importer, upload.toString(), TaskImporter.Format.CSV);
+
+    // Verify results
+    assertEquals(61, report.size());
+    assertEquals("{\"imported\":60,\"failed\":0}", report.get(60));
+    assertTrue(peak.get() <= 3, "peak in-flight calls was " + peak.get());
+  }
+
+  @Test
+  void importTasks_AddsEveryRowWhenExecutorIsSaturated() throws Exception {
+    // Prepare test data
+    UpstreamExecutor saturated = new UpstreamExecutor(new LiveSchedAsyncProperties(false, 1, 1));
+    CountDownLatch release = new CountDownLatch(1);
+    saturated.supply(() -> await(release));
+    saturated.supply(() -> await(release));
+    when(liveSchedService.addTask(eq("Surgery"), anyInt(), anyString(), anyString(),
+        anyDouble(), anyDouble(), eq(TEST_CLIENT_ID))).thenReturn(Map.of("taskId", "t1"));
+    when(liveSchedService.addTask(eq("Checkup"), anyInt(), anyString(), anyString(),
+        anyDouble(), anyDouble(), eq(TEST_CLIENT_ID))).thenThrow(
+            new TenantThrottledException(TEST_CLIENT_ID, "rate limit", Duration.ofSeconds(1)));
+    TaskImporter importer = new TaskImporter(
+        liveSchedService, saturated, new LiveSchedImportProperties(2));
+    String upload = """
+        Surgery,1,2024-01-01 10:00,2024-01-01 12:00,40.7,-73.9
+        Surgery,1,2024-01-01 10:00,2024-01-01 12:00,40.7,-73.9
+        Checkup,2,2024-01-01 10:00,2024-01-01 12:00,40.7,-73.9
+        """;
+
+    // Execute test
+    List<String> report;
+    try {
+      report = runImport(importer, upload, TaskImporter.Format.CSV);
+    } finally {
+      release.countDown();
+      saturated.destroy();
+    }
+
+    // Verify results
+    assertEquals(4, report.size());
+    assertTrue(report.contains("{\"row\":1,\"taskId\":\"t1\"}"));
+    assertTrue(report.contains("{\"row\":2,\"taskId\":\"t1\"}"));
+    assertTrue(report.contains("{\"row\":3,\"error\":\"Failed to add task: "
+        + "Too many requests for client " + TEST_CLIENT_ID + ": rate limit\"}"));
+    assertEquals("{\"imported\":2,\"failed\":1}", report.get(3));
+  }
+
+  private static Object await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+
+  @Test
+  void parseCsv_HandlesQuotedFields() {
+    TaskImporter.ImportRow row = TaskImporter.parseCsv(
+        "\"Ward \"\"A\"\", bed 2\",3,2024-01-01 10:00,2024-01-01 12:00,1.5,-2.5");
+
+    assertEquals("Ward \"A\", bed 2", row.taskName());
+    assertEquals(3, row.priority());
+    assertEquals(-2.5, row.longitude());
+    assertThrows(IllegalArgumentException.class, () -> TaskImporter.parseCsv("a,b"));
+  }
+}
@@ -0,0 +1,84 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.coms4156.project.liveschedclient.TaskSnapshot.Order;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TaskSnapshotTest {
+
+  private static Task task(String taskId, int priority) {
+    return new Task(taskId, "Task " + taskId, priority, null, null, null, Map.of());
+  }
+
+  private final TaskSnapshot snapshot = new TaskSnapshot(List.of(
+      task("a", 3), task("b", 1), task("c", 5), task("d", 1), task("e", 3)));
+
+  private static List<String> ids(List<Task> tasks) {
+    return tasks.stream().map(Task::taskId).toList();
+  }
+
+  @Test
+  void sorted_OrdersByPriorityAndKeepsServiceOrderForTies() {
+    assertEquals(List.of("b", "d", "a", "e", "c"), ids(snapshot.sorted(Order.PRIORITY_ASC)));
+    assertEquals(List.of("c", "a", "e", "b", "d"), ids(snapshot.sorted(Order.PRIORITY_DESC)));
+    assertEquals(List.of("a", "b", "c", "d", "e"), ids(snapshot.sorted(Order.NONE)));
+  }
+
+  @Test
+  void sorted_ComputesEachOrderOnce() {
+    assertSame(snapshot.sorted(Order.PRIORITY_ASC), snapshot.sorted(Order.PRIORITY_ASC));
+  }
+
+  @Test
+  void page_SlicesByPageNumber() {
+    TaskPage page = snapshot.page(Order.PRIORITY_ASC, 2, 2, null);
+
+    assertEquals(List.of("a", "e"), ids(page.tasks()));
+    assertEquals(3, page.totalPages());
+    assertEquals(3, page.firstPosition());
+    assertTrue(page.hasPrevious());
+    assertEquals("e", page.nextCursor());
+  }
+
+  @Test
+  void page_CursorStartsAfterNamedTask() {
+    TaskPage page = snapshot.page(Order.PRIORITY_ASC, 1, 2, "e");
+
+    assertEquals(List.of("c"), ids(page.tasks()));
+    assertEquals(3, page.page());
+    assertFalse(page.hasNext());
+    assertNull(page.nextCursor());
+  }
+
+  @Test
+  void page_UnknownCursorFallsBackToPageNumber() {
+    TaskPage page = snapshot.page(Order.NONE, 1, 2, "deleted");
+
+    assertEquals(List.of("a", "b"), ids(page.tasks()));
+  }
+
+  @Test
+  void add_PlacesTaskLastAmongEqualPriorities() {
+    snapshot.sorted(Order.PRIORITY_ASC);
+    snapshot.add(task("f", 1));
+
+    assertEquals(List.of("b", "d", "f", "a", "e", "c"), ids(snapshot.sorted(Order.PRIORITY_ASC)));
+    assertEquals(List.of("a", "b", "c", "d", "e", "f"), ids(snapshot.tasks()));
+  }
+
+  @Test
+  void remove_DropsTaskFromEveryView() {
+    snapshot.remove("d");
+
+    assertEquals(List.of("b", "a", "e", "c"), ids(snapshot.sorted(Order.PRIORITY_ASC)));
+    assertEquals(List.of("a", "b", "c", "e"), ids(snapshot.tasks()));
+    assertFalse(snapshot.remove("d"));
+  }
+}
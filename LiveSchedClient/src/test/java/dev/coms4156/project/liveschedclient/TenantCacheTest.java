@@ -0,0 +1,144 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.coms4156.project.liveschedclient.TenantCache.Dataset;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TenantCacheTest {
+
+  private static final String TEST_CLIENT_ID = "testClient123";
+
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+  private TenantCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new TenantCache(new LiveSchedCacheProperties(Duration.ofSeconds(30), 2), now::get);
+  }
+
+  private LiveSchedResult<List<String>> load() {
+    loads.incrementAndGet();
+    return LiveSchedResult.ok(List.of("value" + loads.get()));
+  }
+
+  @Test
+  void getOrLoad_ServesRepeatedReadsFromCache() {
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.TASKS, this::load);
+    LiveSchedResult<List<String>> result =
+        cache.getOrLoad(TEST_CLIENT_ID, Dataset.TASKS, this::load);
+
+    assertEquals(1, loads.get());
+    assertEquals(List.of("value1"), result.value());
+  }
+
+  @Test
+  void getOrLoad_ReloadsAfterTtl() {
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.TASKS, this::load);
+    now.addAndGet(Duration.ofSeconds(31).toNanos());
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.TASKS, this::load);
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  void getOrLoad_DoesNotCacheErrors() {
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.TASKS, () -> LiveSchedResult.failure("down"));
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void version_ChangesOnlyWhenTheValueDoes() {
+    assertEquals(0, cache.version(TEST_CLIENT_ID, Dataset.SCHEDULE));
+
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.SCHEDULE, () -> LiveSchedResult.ok(List.of("a")));
+    long loaded = cache.version(TEST_CLIENT_ID, Dataset.SCHEDULE);
+    assertTrue(loaded > 0);
+
+    now.addAndGet(Duration.ofSeconds(31).toNanos());
+    assertEquals(0, cache.version(TEST_CLIENT_ID, Dataset.SCHEDULE));
+
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.SCHEDULE, () -> LiveSchedResult.ok(List.of("a")));
+    assertEquals(loaded, cache.version(TEST_CLIENT_ID, Dataset.SCHEDULE));
+
+    cache.put(TEST_CLIENT_ID, Dataset.SCHEDULE, List.of("b"));
+    long stored = cache.version(TEST_CLIENT_ID, Dataset.SCHEDULE);
+    assertTrue(stored > loaded);
+
+    cache.<List<String>>update(TEST_CLIENT_ID, Dataset.SCHEDULE, value -> { });
+    assertTrue(cache.version(TEST_CLIENT_ID, Dataset.SCHEDULE) > stored);
+  }
+
+  @Test
+  void peek_ReturnsExpiredValueForReload() {
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.TASKS, this::load);
+    now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+    assertEquals(List.of("value1"), cache.peek(TEST_CLIENT_ID, Dataset.TASKS));
+    cache.invalidate(TEST_CLIENT_ID, Dataset.TASKS);
+    assertNull(cache.peek(TEST_CLIENT_ID, Dataset.TASKS));
+  }
+
+  @Test
+  void invalidate_RemovesOnlyTheGivenDatasets() {
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.TASKS, this::load);
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.SCHEDULE, this::load);
+    cache.invalidate(TEST_CLIENT_ID, Dataset.TASKS);
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.TASKS, this::load);
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.SCHEDULE, this::load);
+
+    assertEquals(3, loads.get());
+  }
+
+  @Test
+  void getOrLoad_EvictsLeastRecentlyUsedEntryWhenFull() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+
+    cache.getOrLoad("clientA", Dataset.TASKS, this::load);
+    cache.getOrLoad("clientB", Dataset.TASKS, this::load);
+    cache.getOrLoad("clientA", Dataset.TASKS, this::load);
+    cache.getOrLoad("clientC", Dataset.TASKS, this::load);
+    cache.getOrLoad("clientA", Dataset.TASKS, this::load);
+    cache.getOrLoad("clientB", Dataset.TASKS, this::load);
+
+    assertEquals(4, loads.get());
+    assertEquals(2, cache.size());
+    assertTrue(registry.get("livesched.cache.evictions").functionCounter().count() >= 1);
+    assertEquals(2.0, registry.get("livesched.cache.gets").tag("result", "hit")
+        .functionCounter().count());
+  }
+
+  @Test
+  void getOrLoad_DoesNotCacheLoadOvertakenByMutation() {
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.SCHEDULE, () -> {
+      // A mutation completes while the read is still in flight
+      cache.invalidate(TEST_CLIENT_ID, Dataset.SCHEDULE);
+      return load();
+    });
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void put_ReplacesValueAndIsNotOverwrittenByOlderLoad() {
+    cache.getOrLoad(TEST_CLIENT_ID, Dataset.SCHEDULE, () -> {
+      cache.put(TEST_CLIENT_ID, Dataset.SCHEDULE, List.of("updated"));
+      return load();
+    });
+    LiveSchedResult<List<String>> result =
+        cache.getOrLoad(TEST_CLIENT_ID, Dataset.SCHEDULE, this::load);
+
+    assertEquals(List.of("updated"), result.value());
+  }
+}
@@ -0,0 +1,63 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.junit.jupiter.api.Test;
+
+class TimestampTranscoderTest {
+
+  private static final DateTimeFormatter FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+  private final TimestampTranscoder transcoder = new TimestampTranscoder(64);
+
+  @Test
+  void transcode_CopiesCommonLayouts() {
+    assertEquals("2024-12-01 08:30", transcoder.transcode("2024-12-01T08:30"));
+    assertEquals("2024-12-01 08:30", transcoder.transcode("2024-12-01T08:30:59"));
+    assertEquals("2024-12-01 08:30", transcoder.transcode("2024-12-01T08:30:00.123456789"));
+    assertEquals("2024-02-29 23:59", transcoder.transcode("2024-02-29T23:59:00"));
+    assertNull(transcoder.transcode(null));
+  }
+
+  @Test
+  void transcode_MatchesLocalDateTimeFormatting() {
+    for (String timestamp : new SyntheticData(7).timestamps(2000)) {
+      assertEquals(LocalDateTime.parse(timestamp).format(FORMATTER),
+          transcoder.transcode(timestamp));
+    }
+  }
+
+  @Test
+  void transcode_ReusesResultForRepeatedTimestamps() {
+    // Prepare test data; distinct instances, as each decoded row carries its own string
+    String first = new String("2024-12-01T08:30:00");
+    String second = new String("2024-12-01T08:30:00");
+
+    // Execute test and verify results
+    assertSame(transcoder.transcode(first), transcoder.transcode(second));
+  }
+
+  @Test
+  void transcode_FallsBackForOtherLayouts() {
+    assertFalse(TimestampTranscoder.isCommonLayout("+12024-12-01T08:30"));
+    assertEquals("+12024-12-01 08:30", transcoder.transcode("+12024-12-01T08:30"));
+    assertTrue(TimestampTranscoder.isCommonLayout("2024-12-01T08:30:00.5"));
+  }
+
+  @Test
+  void transcode_RejectsInvalidDateTimes() {
+    assertThrows(DateTimeParseException.class, () -> transcoder.transcode("2023-02-29T08:30"));
+    assertThrows(DateTimeParseException.class, () -> transcoder.transcode("2024-04-31T08:30"));
+    assertThrows(DateTimeParseException.class, () -> transcoder.transcode("2024-12-01T24:00"));
+    assertThrows(DateTimeParseException.class, () -> transcoder.transcode("2024-12-01 08:30"));
+  }
+}
@@ -0,0 +1,136 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import dev.coms4156.project.liveschedclient.CircuitBreaker.State;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+class UpstreamGuardTest {
+
+  private final AtomicLong now = new AtomicLong();
+  private final AtomicInteger sleeps = new AtomicInteger();
+  private UpstreamGuard guard;
+
+  @BeforeEach
+  void setUp() {
+    guard = new UpstreamGuard(new LiveSchedResilienceProperties(
+            2, Duration.ofSeconds(10), 1, 2, Duration.ofMillis(100), Duration.ofSeconds(1)),
+        now::get, nanos -> sleeps.incrementAndGet());
+  }
+
+  private static String failing() {
+    throw new ResourceAccessException("Read timed out");
+  }
+
+  @Test
+  void call_RetriesIdempotentCallsOnly() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertEquals("ok", guard.call("/retrieveTasks", true, () ->
+        attempts.incrementAndGet() < 2 ? failing() : "ok"));
+    assertEquals(2, attempts.get());
+    assertEquals(1, sleeps.get());
+
+    attempts.set(0);
+    assertThrows(ResourceAccessException.class, () -> guard.call("/addTask", false, () -> {
+      attempts.incrementAndGet();
+      return failing();
+    }));
+    assertEquals(1, attempts.get());
+  }
+
+  @Test
+  void call_FailsFastWhileOpenAndClosesAfterSuccessfulProbe() {
+    assertThrows(ResourceAccessException.class,
+        () -> guard.call("/addTask", false, UpstreamGuardTest::failing));
+    assertThrows(ResourceAccessException.class,
+        () -> guard.call("/addTask", false, UpstreamGuardTest::failing));
+    assertEquals(State.OPEN, guard.states().get("/addTask"));
+
+    AtomicInteger attempts = new AtomicInteger();
+    assertThrows(CircuitOpenException.class, () -> guard.call("/addTask", false, () -> {
+      attempts.incrementAndGet();
+      return "ok";
+    }));
+    assertEquals(0, attempts.get());
+
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+    assertEquals("ok", guard.call("/addTask", false, () -> "ok"));
+    assertEquals(State.CLOSED, guard.states().get("/addTask"));
+  }
+
+  @Test
+  void call_ReopensWhenProbeFails() {
+    CircuitBreaker breaker = guard.breaker("/retrieveSchedule");
+    breaker.onFailure(breaker.tryAcquire());
+    breaker.onFailure(breaker.tryAcquire());
+    now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+    assertThrows(ResourceAccessException.class,
+        () -> guard.call("/retrieveSchedule", false, UpstreamGuardTest::failing));
+
+    assertEquals(State.OPEN, breaker.state());
+    assertEquals(2, breaker.transitionCount(State.OPEN));
+    assertEquals(1, breaker.transitionCount(State.HALF_OPEN));
+  }
+
+  @Test
+  void call_AdmittedBeforeHalfOpenDoesNotDecideProbe() {
+    CircuitBreaker breaker = guard.breaker("/retrieveSchedule");
+    AtomicReference<CircuitBreaker.Permit> probe = new AtomicReference<>();
+
+    // While this call runs, other calls open the circuit and it turns half-open
+    assertEquals("late", guard.call("/retrieveSchedule", false, () -> {
+      breaker.onFailure(breaker.tryAcquire());
+      breaker.onFailure(breaker.tryAcquire());
+      now.addAndGet(Duration.ofSeconds(10).toNanos());
+      probe.set(breaker.tryAcquire());
+      return "late";
+    }));
+
+    assertEquals(State.HALF_OPEN, breaker.state());
+    assertNull(breaker.tryAcquire());
+    breaker.onFailure(probe.get());
+    assertEquals(State.OPEN, breaker.state());
+    assertEquals(0, breaker.transitionCount(State.CLOSED));
+  }
+
+  @Test
+  void call_TreatsClientErrorsAsHealthy() {
+    for (int i = 0; i < 3; i++) {
+      assertThrows(HttpClientErrorException.class, () -> guard.call("/retrieveTask", true, () -> {
+        throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+      }));
+    }
+
+    assertEquals(State.CLOSED, guard.states().get("/retrieveTask"));
+    assertEquals(0, sleeps.get());
+  }
+
+  @Test
+  void bindTo_ExposesCircuitMetrics() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    guard.breaker("/retrieveTasks");
+    guard.bindTo(registry);
+    guard.breaker("/addTask").onFailure(guard.breaker("/addTask").tryAcquire());
+    guard.breaker("/addTask").onFailure(guard.breaker("/addTask").tryAcquire());
+
+    assertEquals(2.0, registry.get("livesched.circuit.state")
+        .tag("endpoint", "/addTask").gauge().value());
+    assertEquals(1.0, registry.get("livesched.circuit.transitions")
+        .tag("endpoint", "/addTask").tag("state", "open").functionCounter().count());
+    assertEquals(0.0, registry.get("livesched.circuit.state")
+        .tag("endpoint", "/retrieveTasks").gauge().value());
+  }
+}
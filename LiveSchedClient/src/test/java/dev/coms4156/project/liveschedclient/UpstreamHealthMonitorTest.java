@@ -0,0 +1,62 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.web.client.ResourceAccessException;
+
+class UpstreamHealthMonitorTest {
+
+  private static final long MILLI = Duration.ofMillis(1).toNanos();
+
+  private final LiveSchedService liveSchedService = mock(LiveSchedService.class);
+  private final AtomicLong now = new AtomicLong();
+  // Each ping advances the clock by the current latency
+  private final AtomicLong latency = new AtomicLong();
+  private final UpstreamHealthMonitor monitor = new UpstreamHealthMonitor(liveSchedService,
+      new LiveSchedHealthProperties(Duration.ofSeconds(10), 0.5),
+      () -> now.addAndGet(latency.get()));
+
+  @Test
+  void health_IsUnknownBeforeFirstCheck() {
+    assertEquals(Status.UNKNOWN, monitor.health().getStatus());
+    assertFalse(monitor.isDown());
+  }
+
+  @Test
+  void check_TracksLatencyMovingAverage() {
+    doNothing().when(liveSchedService).pingServer();
+
+    latency.set(10 * MILLI);
+    monitor.check();
+    assertEquals(10.0, monitor.latencyEwmaMillis(), 1e-9);
+
+    latency.set(30 * MILLI);
+    monitor.check();
+    assertEquals(20.0, monitor.latencyEwmaMillis(), 1e-9);
+    assertEquals(Status.UP, monitor.health().getStatus());
+  }
+
+  @Test
+  void check_ReportsDownAndKeepsLastAverage() {
+    latency.set(10 * MILLI);
+    monitor.check();
+    doThrow(new ResourceAccessException("Connection refused"))
+        .when(liveSchedService).pingServer();
+
+    monitor.check();
+
+    assertTrue(monitor.isDown());
+    assertEquals(Status.DOWN, monitor.health().getStatus());
+    assertEquals("Connection refused", monitor.health().getDetails().get("error"));
+    assertEquals(10.0, monitor.latencyEwmaMillis(), 1e-9);
+  }
+}
@@ -0,0 +1,156 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class UpstreamLimiterTest {
+
+  private final ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void call_RejectsOnceBurstIsSpentAndRefillsAtRate() {
+    // Prepare test data
+    AtomicLong now = new AtomicLong();
+    UpstreamLimiter limiter = new UpstreamLimiter(
+        new LiveSchedLimitProperties(2, 3, 10, 0, Duration.ZERO, 100, Map.of()), now::get);
+    for (int i = 0; i < 3; i++) {
+      limiter.call("noisy", () -> "ok");
+    }
+
+    // Execute test
+    TenantThrottledException throttled =
+        assertThrows(TenantThrottledException.class, () -> limiter.call("noisy", () -> "ok"));
+    String otherClient = limiter.call("quiet", () -> "ok");
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    String afterRefill = limiter.call("noisy", () -> "ok");
+
+    // Verify results
+    assertEquals(Duration.ofSeconds(1), throttled.retryAfter());
+    assertEquals("ok", otherClient);
+    assertEquals("ok", afterRefill);
+    assertThrows(TenantThrottledException.class, () -> limiter.call("noisy", () -> "ok"));
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    limiter.bindTo(registry);
+    assertEquals(2, registry.get("livesched.limits.throttled").tag("reason", "queue-full")
+        .functionCounter().count());
+  }
+
+  @Test
+  void call_WithoutClientIsNeverLimited() {
+    // Prepare test data
+    UpstreamLimiter limiter = new UpstreamLimiter(
+        new LiveSchedLimitProperties(1, 1, 1, 0, Duration.ZERO, 100, Map.of()), () -> 0L);
+
+    // Execute test
+    List<String> results = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      results.add(limiter.call(null, () -> "pong"));
+    }
+
+    // Verify results
+    assertEquals(Collections.nCopies(5, "pong"), results);
+  }
+
+  @Test
+  void call_ServesWaitingClientsInWeightedRoundRobin() throws Exception {
+    // Prepare test data
+    UpstreamLimiter limiter = new UpstreamLimiter(new LiveSchedLimitProperties(
+        0, 1, 1, 10, Duration.ofSeconds(10), 100, Map.of("heavy", 2)));
+    CountDownLatch release = new CountDownLatch(1);
+    final Future<?> holder = executor.submit(() -> limiter.call("holder", () -> {
+      await(release);
+      return null;
+    }));
+    awaitInFlight(limiter);
+    List<String> order = Collections.synchronizedList(new ArrayList<>());
+    List<Future<?>> waiting = new ArrayList<>();
+    String[] arrivals = {"heavy", "heavy", "light", "heavy", "light", "heavy", "light", "light"};
+    for (String clientId : arrivals) {
+      int queued = limiter.queued();
+      waiting.add(executor.submit(() -> limiter.call(clientId, () -> order.add(clientId))));
+      awaitQueued(limiter, queued + 1);
+    }
+
+    // Execute test
+    release.countDown();
+    holder.get(5, TimeUnit.SECONDS);
+    for (Future<?> call : waiting) {
+      call.get(5, TimeUnit.SECONDS);
+    }
+
+    // Verify results
+    assertEquals(
+        List.of("heavy", "heavy", "light", "heavy", "heavy", "light", "light", "light"), order);
+    assertEquals(0, limiter.inFlight());
+    assertEquals(0, limiter.queued());
+  }
+
+  @Test
+  void call_RejectsCallThatWaitsTooLong() throws Exception {
+    // Prepare test data
+    UpstreamLimiter limiter = new UpstreamLimiter(new LiveSchedLimitProperties(
+        0, 1, 1, 10, Duration.ofMillis(50), 100, Map.of()));
+    CountDownLatch release = new CountDownLatch(1);
+    Future<?> holder = executor.submit(() -> limiter.call("holder", () -> {
+      await(release);
+      return null;
+    }));
+    awaitInFlight(limiter);
+
+    // Execute test
+    TenantThrottledException throttled =
+        assertThrows(TenantThrottledException.class, () -> limiter.call("late", () -> "ok"));
+    release.countDown();
+    holder.get(5, TimeUnit.SECONDS);
+
+    // Verify results
+    assertTrue(throttled.getMessage().contains("late"));
+    assertEquals(0, limiter.queued());
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    limiter.bindTo(registry);
+    assertEquals(1, registry.get("livesched.limits.throttled").tag("reason", "timeout")
+        .functionCounter().count());
+  }
+
+  private static void awaitInFlight(UpstreamLimiter limiter) throws InterruptedException {
+    while (limiter.inFlight() == 0) {
+      Thread.sleep(1);
+    }
+  }
+
+  private static void awaitQueued(UpstreamLimiter limiter, int queued)
+      throws InterruptedException {
+    while (limiter.queued() < queued) {
+      Thread.sleep(1);
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
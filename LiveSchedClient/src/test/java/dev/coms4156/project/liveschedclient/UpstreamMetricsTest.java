@@ -0,0 +1,52 @@
+package dev.coms4156.project.liveschedclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+class UpstreamMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicLong now = new AtomicLong();
+  private final UpstreamMetrics metrics =
+      new UpstreamMetrics(registry, new LiveSchedMetricsProperties(4), now::get);
+
+  @Test
+  void tenant_HashesClientIdsIntoBoundedBuckets() {
+    Set<String> tenants = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      tenants.add(metrics.tenant("client" + i));
+    }
+
+    assertTrue(tenants.size() <= 4);
+    assertEquals(metrics.tenant("client7"), metrics.tenant("client7"));
+    assertEquals("none", metrics.tenant(null));
+  }
+
+  @Test
+  void close_RecordsWaitUntilFailureAsConnectError() {
+    try (UpstreamMetrics.Call call = metrics.start("/retrieveTasks", "client1")) {
+      now.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+      assertThrows(ResourceAccessException.class, () -> {
+        ResourceAccessException failure = new ResourceAccessException("Read timed out");
+        call.failed(failure);
+        throw failure;
+      });
+      now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    assertEquals(250.0, registry.get("livesched.upstream.wait")
+        .tags("endpoint", "/retrieveTasks", "outcome", "connect-error").timer()
+        .totalTime(TimeUnit.MILLISECONDS));
+    assertEquals(1.0, registry.get("livesched.upstream.calls")
+        .tags("outcome", "connect-error", "tenant", metrics.tenant("client1")).counter().count());
+  }
+}